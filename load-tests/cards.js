@@ -0,0 +1,72 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERS = Number(__ENV.USERS || 50);
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+export const options = {
+    scenarios: {
+        cards: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 200),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+function post(path, body, token) {
+    const headers = token ? Object.assign({ Authorization: `Bearer ${token}` }, JSON_HEADERS) : JSON_HEADERS;
+    return http.post(`${BASE_URL}${path}`, JSON.stringify(body), { headers });
+}
+
+function login(login, password) {
+    const res = post('/login', { login, password });
+    check(res, { 'login 200': (r) => r.status === 200 });
+    return res.json('token');
+}
+
+export function setup() {
+    const adminToken = login(__ENV.ADMIN_LOGIN || 'admin', __ENV.ADMIN_PASSWORD || 'admin');
+    const run = Date.now();
+    const users = [];
+    for (let i = 0; i < USERS; i++) {
+        const credentials = { login: `load_${run}_${i}`, password: 'load-password' };
+        const registered = post('/register', Object.assign({ phone: `+7900${String(i).padStart(7, '0')}` }, credentials));
+        check(registered, { 'register 201': (r) => r.status === 201 });
+        const cards = [];
+        for (let c = 0; c < 2; c++) {
+            const card = post('/api/v1/admin/cards/create',
+                { ownerId: registered.json('id'), expiryDate: '2099-12-31', balance: 1000000 }, adminToken);
+            check(card, { 'card created': (r) => r.status === 200 });
+            cards.push(card.json('id'));
+        }
+        users.push({ token: registered.json('token'), cards });
+    }
+    return { users };
+}
+
+export default function (data) {
+    const user = data.users[(__VU - 1) % data.users.length];
+    const auth = { headers: { Authorization: `Bearer ${user.token}` } };
+    const roll = Math.random();
+    if (roll < 0.5) {
+        const res = http.get(`${BASE_URL}/api/v1/cards/${user.cards[0]}/balance`, auth);
+        check(res, { 'balance 200': (r) => r.status === 200 });
+    } else if (roll < 0.8) {
+        const res = http.get(`${BASE_URL}/api/v1/users/me/summary`, auth);
+        check(res, { 'summary 200': (r) => r.status === 200 });
+    } else {
+        const forward = Math.random() < 0.5;
+        const res = post('/api/v1/cards/transfer', {
+            fromCardId: user.cards[forward ? 0 : 1],
+            toCardId: user.cards[forward ? 1 : 0],
+            amount: 1,
+        }, user.token);
+        check(res, { 'transfer 200': (r) => r.status === 200 });
+    }
+}
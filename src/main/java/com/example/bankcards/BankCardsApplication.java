@@ -1,10 +1,36 @@
 package com.example.bankcards;
 
+import com.example.bankcards.config.aot.NativeRuntimeHints;
+import com.example.bankcards.service.audit.AuditQueryTool;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
-@SpringBootApplication
+import java.util.Arrays;
+
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class BankCardsApplication {
+    static final String MIGRATE_COMMAND = "migrate";
+
     public static void main(String[] args) {
-        SpringApplication.run(BankCardsApplication.class, args);}
+        if (args.length > 0 && AuditQueryTool.COMMAND.equals(args[0])) {
+            System.exit(AuditQueryTool.run(Arrays.copyOfRange(args, 1, args.length), System.out, System.err));
+        }
+        if (args.length > 0 && MIGRATE_COMMAND.equals(args[0])) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(BankCardsApplication.class)
+                    .profiles(MIGRATE_COMMAND)
+                    .run(Arrays.copyOfRange(args, 1, args.length));
+            System.exit(SpringApplication.exit(context));
+        }
+
+        ConfigurableApplicationContext context = SpringApplication.run(BankCardsApplication.class, args);
+        if (context.getEnvironment().getProperty("app.startup.exit-after-refresh", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.bankcards.config.aot;
+
+import com.example.bankcards.service.outbox.OutboxMessage;
+import org.jasypt.salt.RandomSaltGenerator;
+import org.jasypt.salt.ZeroSaltGenerator;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Reflection and resource hints for the native image that Spring AOT cannot infer. MapStruct mappers use the
+ * {@code spring} component model and entities are picked up from the persistence unit, so neither needs an entry here.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Jasypt instantiates app.crypto.salt-generator by class name.
+        hints.reflection().registerTypes(TypeReference.listOf(RandomSaltGenerator.class, ZeroSaltGenerator.class),
+                hint -> hint.withMembers(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+
+        // Looked up reflectively by VirtualThreads so the code still compiles for Java 17.
+        hints.reflection().registerType(Executors.class,
+                hint -> hint.withMethod("newVirtualThreadPerTaskExecutor", List.of(), ExecutableMode.INVOKE));
+
+        // Serialized by Jackson only inside the outbox sinks, which AOT does not see.
+        hints.reflection().registerType(OutboxMessage.class,
+                hint -> hint.withMembers(MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS));
+
+        hints.resources()
+                .registerPattern("db/changelog/*")
+                .registerPattern("db/changelog/changeset/*")
+                .registerPattern("ehcache.xml");
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.bankcards.config.audit;
+
+import com.example.bankcards.repository.jdbc.AuditEventJdbcSink;
+import com.example.bankcards.service.audit.AuditAspect;
+import com.example.bankcards.service.audit.AuditLog;
+import com.example.bankcards.service.audit.AuditLogWriter;
+import com.example.bankcards.service.audit.AuditRingBuffer;
+import com.example.bankcards.service.audit.AuditSegmentWriter;
+import com.example.bankcards.service.audit.AuditSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Audit trail for admin and money-moving actions: {@code @Audited} calls go through a ring buffer to a background
+ * writer appending to memory-mapped segments under {@code app.audit.dir}, optionally copied into
+ * {@code audit_events}. Segments are read offline with {@code java -jar app.jar audit}.
+ */
+@Configuration
+@ConditionalOnProperty(value = "app.audit.enabled", havingValue = "true")
+public class AuditConfig {
+
+    @Bean
+    public AuditRingBuffer auditRingBuffer(@Value("${app.audit.buffer-size}") int bufferSize) {
+        return new AuditRingBuffer(bufferSize);
+    }
+
+    @Bean
+    public AuditLog auditLog(AuditRingBuffer auditRingBuffer, MeterRegistry meterRegistry) {
+        return new AuditLog(auditRingBuffer, meterRegistry);
+    }
+
+    @Bean
+    public AuditAspect auditAspect(AuditLog auditLog) {
+        return new AuditAspect(auditLog);
+    }
+
+    @Bean
+    public AuditLogWriter auditLogWriter(AuditRingBuffer auditRingBuffer,
+                                         ObjectProvider<AuditSink> sinks,
+                                         @Value("${app.audit.dir}") Path dir,
+                                         @Value("${app.audit.segment-size}") DataSize segmentSize,
+                                         @Value("${app.audit.max-segments}") int maxSegments,
+                                         @Value("${app.audit.batch-size}") int batchSize,
+                                         @Value("${app.audit.force-interval}") Duration forceInterval) throws IOException {
+        return new AuditLogWriter(auditRingBuffer, new AuditSegmentWriter(dir, (int) segmentSize.toBytes(), maxSegments),
+                sinks.orderedStream().toList(), batchSize, forceInterval);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "app.audit.db-sink.enabled", havingValue = "true")
+    public AuditEventJdbcSink auditEventJdbcSink(JdbcTemplate jdbcTemplate) {
+        return new AuditEventJdbcSink(jdbcTemplate);
+    }
+}
@@ -3,18 +3,22 @@ package com.example.bankcards.config.auth;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.UserRole;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
+@ConditionalOnProperty(value = "app.startup.migrate-on-boot", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 public class AdminConfig {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final StatisticsService statisticsService;
 
     @Bean
     public CommandLineRunner createAdmin() {
@@ -30,7 +34,7 @@ public class AdminConfig {
                         .banned(false)
                         .build();
 
-                userRepository.save(admin);
+                statisticsService.userCreated(userRepository.save(admin));
             }
         };
     }
@@ -0,0 +1,55 @@
+package com.example.bankcards.config.cache;
+
+import com.example.bankcards.repository.shard.ShardDirectory;
+import com.example.bankcards.service.CardOwnershipIndex;
+import com.example.bankcards.service.cache.CacheInvalidationChannel;
+import com.example.bankcards.service.cache.LocalCacheInvalidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+/**
+ * Cross-node cache invalidation over PostgreSQL {@code LISTEN/NOTIFY} on the primary (directory) database. The
+ * channel opens its own connections from the datasource settings instead of borrowing from the pool, since a
+ * listening connection is held for the life of the node.
+ */
+@Configuration
+@ConditionalOnProperty(value = "app.cache.invalidation.enabled", havingValue = "true")
+public class CacheInvalidationConfig {
+
+    @Bean
+    public LocalCacheInvalidator localCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                                       CardOwnershipIndex cardOwnershipIndex,
+                                                       ObjectProvider<ShardDirectory> shardDirectory) {
+        return new LocalCacheInvalidator(entityManagerFactory, cardOwnershipIndex, shardDirectory.getIfAvailable());
+    }
+
+    @Bean
+    public CacheInvalidationChannel cacheInvalidationChannel(
+            DataSourceProperties properties,
+            LocalCacheInvalidator localCacheInvalidator,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.invalidation.channel}") String channel,
+            @Value("${app.cache.invalidation.node-id}") String nodeId,
+            @Value("${app.cache.invalidation.queue-size}") int queueSize,
+            @Value("${app.cache.invalidation.health-check-interval}") Duration healthCheckInterval,
+            @Value("${app.cache.invalidation.reconnect-delay}") Duration reconnectDelay,
+            @Value("${app.cache.invalidation.max-reconnect-delay}") Duration maxReconnectDelay) {
+        SimpleDriverDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build();
+        return new CacheInvalidationChannel(dataSource, channel,
+                nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId,
+                localCacheInvalidator, queueSize, healthCheckInterval, reconnectDelay, maxReconnectDelay,
+                meterRegistry);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.bankcards.config.concurrency;
+
+import com.example.bankcards.dto.ErrorDto;
+import com.example.bankcards.service.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.bankcards.service.concurrency.RequestPriority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Admits requests through the {@link AdaptiveConcurrencyLimiter} before authentication, so a shed request costs
+ * neither a thread for long nor a connection. Rejected requests fail fast with 503 and {@code Retry-After}. The
+ * whole request, response writing included, counts as one latency sample. Actuator endpoints bypass the limiter so
+ * health checks and scraping keep working under overload.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestPriority priority = classify(request);
+        if (priority == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        int inFlight = limiter.tryAcquire(priority);
+        if (inFlight == AdaptiveConcurrencyLimiter.REJECTED) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorDto("Server is overloaded, retry later"));
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(priority, inFlight, System.nanoTime() - startedAt);
+        }
+    }
+
+    static RequestPriority classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        if (path.startsWith("/actuator/")) {
+            return null;
+        }
+        if ("POST".equals(method) && path.equals("/api/v1/cards/transfer")) {
+            return RequestPriority.CRITICAL;
+        }
+        if ("GET".equals(method)) {
+            if (path.startsWith("/api/v1/cards/") && path.endsWith("/balance")) {
+                return RequestPriority.CRITICAL;
+            }
+            if (path.startsWith("/api/v1/admin/") || path.equals("/api/v1/cards/search")) {
+                return RequestPriority.SHEDDABLE;
+            }
+        }
+        return RequestPriority.NORMAL;
+    }
+}
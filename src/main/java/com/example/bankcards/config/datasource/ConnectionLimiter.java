@@ -0,0 +1,19 @@
+package com.example.bankcards.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Decides what sits in front of one physical pool. Each pool (primary, replica, shard) gets its own limiter so
+ * that waiting on one database never uses up permits meant for another.
+ */
+@FunctionalInterface
+public interface ConnectionLimiter {
+
+    DataSource limit(HikariDataSource pool);
+
+    static ConnectionLimiter none() {
+        return pool -> pool;
+    }
+}
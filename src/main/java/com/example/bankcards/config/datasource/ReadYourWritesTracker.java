@@ -0,0 +1,36 @@
+package com.example.bankcards.config.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReadYourWritesTracker {
+
+    private final Map<String, Long> writeDeadlines = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String login) {
+        writeDeadlines.put(login, System.nanoTime() + windowNanos);
+    }
+
+    public boolean hasRecentWrite(String login) {
+        Long deadline = writeDeadlines.get(login);
+        if (deadline == null) {
+            return false;
+        }
+        if (deadline - System.nanoTime() > 0) {
+            return true;
+        }
+        writeDeadlines.remove(login, deadline);
+        return false;
+    }
+
+    public void evictExpired() {
+        long now = System.nanoTime();
+        writeDeadlines.entrySet().removeIf(entry -> entry.getValue() - now <= 0);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.bankcards.config.datasource;
+
+import com.example.bankcards.dto.UserDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+
+    private static final String REPLICATION_LAG_QUERY =
+            "SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) " +
+            "WHERE pg_is_in_recovery()";
+
+    private final Map<String, DataSource> replicas;
+    private final Map<String, Boolean> replicaHealth = new LinkedHashMap<>();
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Duration maxReplicationLag;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private volatile List<String> healthyReplicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReadYourWritesTracker readYourWritesTracker, Duration maxReplicationLag) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxReplicationLag = maxReplicationLag;
+        this.healthyReplicas = List.copyOf(replicas.keySet());
+        replicas.keySet().forEach(key -> replicaHealth.put(key, true));
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+
+        String login = currentLogin();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (login != null) {
+                readYourWritesTracker.recordWrite(login);
+            }
+            return PRIMARY;
+        }
+
+        if (login != null && readYourWritesTracker.hasRecentWrite(login)) {
+            return PRIMARY;
+        }
+        return nextHealthyReplica();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return getResolvedDefaultDataSource().getConnection();
+        }
+
+        try {
+            return replicas.get(key).getConnection();
+        } catch (SQLException e) {
+            log.warn("Replica '{}' is unavailable, falling back to primary: {}", key, e.getMessage());
+            markHealth((String) key, false);
+            return getResolvedDefaultDataSource().getConnection();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval-ms}")
+    public void checkReplicas() {
+        replicas.forEach((key, dataSource) -> markHealth(key, isHealthy(key, dataSource)));
+        readYourWritesTracker.evictExpired();
+    }
+
+    private boolean isHealthy(String key, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(REPLICATION_LAG_QUERY)) {
+            if (resultSet.next() && resultSet.getDouble(1) > maxReplicationLag.toSeconds()) {
+                log.warn("Replica '{}' lags {} s behind primary", key, resultSet.getDouble(1));
+                return false;
+            }
+            return true;
+        } catch (SQLException e) {
+            log.warn("Replica '{}' health check failed: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    private synchronized void markHealth(String key, boolean healthy) {
+        Boolean previous = replicaHealth.put(key, healthy);
+        if (previous != null && previous == healthy) {
+            return;
+        }
+        log.info("Replica '{}' is now {}", key, healthy ? "healthy" : "unhealthy");
+
+        List<String> available = new ArrayList<>();
+        replicaHealth.forEach((replica, isHealthy) -> {
+            if (isHealthy) {
+                available.add(replica);
+            }
+        });
+        healthyReplicas = List.copyOf(available);
+    }
+
+    private String nextHealthyReplica() {
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+
+    private String currentLogin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDto userDto) {
+            return userDto.getLogin();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.bankcards.config.datasource;
+
+import com.example.bankcards.repository.shard.OwnerHashShardRouter;
+import com.example.bankcards.repository.shard.ShardDataSources;
+import com.example.bankcards.repository.shard.ShardDirectory;
+import com.example.bankcards.repository.shard.ShardProvisioner;
+import com.example.bankcards.repository.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Value("${app.sharding.urls}")
+    private List<String> shardUrls;
+
+    @Value("${app.sharding.username}")
+    private String shardUsername;
+
+    @Value("${app.sharding.password}")
+    private String shardPassword;
+
+    @Value("${app.sharding.pool-size}")
+    private int shardPoolSize;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource directoryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("shard-0");
+        return dataSource;
+    }
+
+    @Bean
+    public ShardDataSources shardDataSources(@Qualifier("directoryDataSource") HikariDataSource directoryDataSource,
+                                             DataSourceProperties properties,
+                                             ObjectProvider<ConnectionLimiter> connectionLimiter) {
+        ConnectionLimiter limiter = connectionLimiter.getIfAvailable(ConnectionLimiter::none);
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(limiter.limit(directoryDataSource));
+        for (String url : shardUrls) {
+            HikariDataSource shard = new HikariDataSource();
+            shard.setPoolName("shard-" + shards.size());
+            shard.setDriverClassName(properties.getDriverClassName());
+            shard.setJdbcUrl(url);
+            shard.setUsername(shardUsername);
+            shard.setPassword(shardPassword);
+            shard.setMaximumPoolSize(shardPoolSize);
+            shards.add(limiter.limit(shard));
+        }
+        return new ShardDataSources(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(shardDataSources.shards());
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ShardDirectory shardDirectory(ShardDataSources shardDataSources,
+                                         @Value("${app.sharding.directory-cache-ttl}") Duration cacheTtl) {
+        return new ShardDirectory(shardDataSources.get(0), cacheTtl);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService shardFanOutExecutor(@Value("${app.sharding.fan-out-threads}") int threads) {
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    @Bean
+    public OwnerHashShardRouter shardRouter(ShardDataSources shardDataSources,
+                                            ShardDirectory shardDirectory,
+                                            PlatformTransactionManager transactionManager,
+                                            @Qualifier("shardFanOutExecutor") ExecutorService shardFanOutExecutor) {
+        return new OwnerHashShardRouter(shardDataSources, shardDirectory, transactionManager, shardFanOutExecutor);
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @ConditionalOnProperty(value = "app.startup.migrate-on-boot", havingValue = "true", matchIfMissing = true)
+    public ShardProvisioner shardProvisioner(ShardDataSources shardDataSources,
+                                             ShardDirectory shardDirectory,
+                                             ResourceLoader resourceLoader,
+                                             @Value("${spring.liquibase.change-log}") String changeLog,
+                                             @Value("${app.sharding.rebalance-batch-size}") int batchSize) {
+        return new ShardProvisioner(shardDataSources, shardDirectory, resourceLoader,
+                changeLog, batchSize);
+    }
+}
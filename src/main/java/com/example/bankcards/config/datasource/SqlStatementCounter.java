@@ -0,0 +1,78 @@
+package com.example.bankcards.config.datasource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-thread count of JDBC statements executed through {@link StatementCountingDataSource}. Recordings nest: a
+ * statement counts towards every recording open on the thread. Work handed to other threads (shard fan-out) is not
+ * attributed to the caller.
+ */
+public final class SqlStatementCounter {
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {}
+
+    public static Recording start() {
+        return start(false);
+    }
+
+    /**
+     * @param captureSql also keep the statement texts, for assertion messages in tests
+     */
+    public static Recording start(boolean captureSql) {
+        Recording recording = new Recording(CURRENT.get(), captureSql);
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    public static int current() {
+        Recording recording = CURRENT.get();
+        return recording != null ? recording.count : 0;
+    }
+
+    static void statementExecuted(String sql) {
+        for (Recording recording = CURRENT.get(); recording != null; recording = recording.parent) {
+            recording.count++;
+            if (recording.statements != null) {
+                recording.statements.add(sql);
+            }
+        }
+    }
+
+    public static final class Recording implements AutoCloseable {
+        private final Recording parent;
+        private final List<String> statements;
+        private int count;
+        private boolean closed;
+
+        private Recording(Recording parent, boolean captureSql) {
+            this.parent = parent;
+            this.statements = captureSql ? new ArrayList<>() : null;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public List<String> statements() {
+            return statements != null ? Collections.unmodifiableList(statements) : List.of();
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (CURRENT.get() == this) {
+                if (parent != null) {
+                    CURRENT.set(parent);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        }
+    }
+}
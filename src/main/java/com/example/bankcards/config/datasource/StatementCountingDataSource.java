@@ -0,0 +1,74 @@
+package com.example.bankcards.config.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reports every statement execution to {@link SqlStatementCounter}. Covers Hibernate and {@code JdbcTemplate}
+ * alike, since both go through the connection's statements; a batch counts as one round trip.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingStatements(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingStatements(super.getConnection(username, password));
+    }
+
+    private static Connection countingStatements(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                            yield countingExecutions(statement, method.getReturnType(), sql);
+                        }
+                        yield result;
+                    }
+                });
+    }
+
+    private static Statement countingExecutions(Statement statement, Class<?> type, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            if (method.getName().startsWith("execute")) {
+                                SqlStatementCounter.statementExecuted(preparedSql != null ? preparedSql
+                                        : args != null && args.length > 0 && args[0] instanceof String sql ? sql : null);
+                            }
+                            return invoke(statement, method, args);
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
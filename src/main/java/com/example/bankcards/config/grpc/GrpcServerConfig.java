@@ -0,0 +1,53 @@
+package com.example.bankcards.config.grpc;
+
+import com.example.bankcards.controller.grpc.CardGrpcService;
+import com.example.bankcards.security.UserAuthenticationProvider;
+import com.example.bankcards.security.filter.GrpcAuthInterceptor;
+import com.example.bankcards.service.CardService;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Binary endpoint for internal clients on its own port. Calls run on a dedicated pool so a burst of gRPC traffic
+ * cannot take Tomcat's request threads, and vice versa; the JDBC pool is still shared.
+ */
+@Configuration
+@ConditionalOnProperty(value = "app.grpc.enabled", havingValue = "true")
+public class GrpcServerConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService grpcExecutor(@Value("${app.grpc.threads}") int threads) {
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("grpc-"));
+    }
+
+    @Bean
+    public CardGrpcService cardGrpcService(CardService cardService, Validator validator) {
+        return new CardGrpcService(cardService, validator);
+    }
+
+    @Bean
+    public GrpcServer grpcServer(CardGrpcService cardGrpcService,
+                                 UserAuthenticationProvider userAuthenticationProvider,
+                                 ExecutorService grpcExecutor,
+                                 @Value("${app.grpc.port}") int port,
+                                 @Value("${app.grpc.max-inbound-message-size}") DataSize maxInboundMessageSize,
+                                 @Value("${app.grpc.shutdown-grace}") Duration shutdownGrace) {
+        return new GrpcServer(NettyServerBuilder.forPort(port)
+                .executor(grpcExecutor)
+                .maxInboundMessageSize((int) maxInboundMessageSize.toBytes())
+                .addService(ServerInterceptors.intercept(cardGrpcService,
+                        new GrpcAuthInterceptor(userAuthenticationProvider)))
+                .build(), shutdownGrace);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.bankcards.config.json;
+
+import com.example.bankcards.dto.card.CardDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Follows the {@code NON_NULL} inclusion of {@link CardDto}, so sparse fieldsets only carry the requested fields.
+ */
+public class CardDtoSerializer extends StdSerializer<CardDto> {
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString MASKED_CARD_NUMBER = new SerializedString("maskedCardNumber");
+    private static final SerializableString EXPIRY_DATE = new SerializedString("expiryDate");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString BALANCE = new SerializedString("balance");
+
+    public CardDtoSerializer() {
+        super(CardDto.class);
+    }
+
+    @Override
+    public void serialize(CardDto card, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(card);
+        if (card.getId() != null) {
+            generator.writeFieldName(ID);
+            generator.writeNumber(card.getId());
+        }
+        if (card.getMaskedCardNumber() != null) {
+            generator.writeFieldName(MASKED_CARD_NUMBER);
+            generator.writeString(card.getMaskedCardNumber());
+        }
+        if (card.getExpiryDate() != null) {
+            generator.writeFieldName(EXPIRY_DATE);
+            generator.writeString(card.getExpiryDate().toString());
+        }
+        if (card.getStatus() != null) {
+            generator.writeFieldName(STATUS);
+            generator.writeString(card.getStatus().name());
+        }
+        if (card.getBalance() != null) {
+            generator.writeFieldName(BALANCE);
+            generator.writeNumber(card.getBalance());
+        }
+        generator.writeEndObject();
+    }
+}
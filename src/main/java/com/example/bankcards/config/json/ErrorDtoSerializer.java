@@ -0,0 +1,26 @@
+package com.example.bankcards.config.json;
+
+import com.example.bankcards.dto.ErrorDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public class ErrorDtoSerializer extends StdSerializer<ErrorDto> {
+    private static final SerializableString MESSAGE = new SerializedString("message");
+
+    public ErrorDtoSerializer() {
+        super(ErrorDto.class);
+    }
+
+    @Override
+    public void serialize(ErrorDto error, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(error);
+        generator.writeFieldName(MESSAGE);
+        generator.writeString(error.getMessage());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.bankcards.config.json;
+
+import com.example.bankcards.dto.ErrorDto;
+import com.example.bankcards.dto.PageResponse;
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.dto.card.CardDto;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hand-written serializers for the hottest response types; Boot registers the module with the shared
+ * {@code ObjectMapper}, so MVC, the reactive API and the auth entry point all use them.
+ */
+@Configuration
+public class JsonConfig {
+
+    @Bean
+    public Module leanDtoModule() {
+        return leanDtoSerializers();
+    }
+
+    public static SimpleModule leanDtoSerializers() {
+        SimpleModule module = new SimpleModule("lean-dto");
+        module.addSerializer(CardDto.class, new CardDtoSerializer());
+        module.addSerializer(UserDto.class, new UserDtoSerializer());
+        module.addSerializer(ErrorDto.class, new ErrorDtoSerializer());
+        module.addSerializer(PageResponse.class, new PageResponseSerializer());
+        return module;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.bankcards.config.json;
+
+import com.example.bankcards.dto.PageResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class PageResponseSerializer extends StdSerializer<PageResponse> {
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString PAGE = new SerializedString("page");
+    private static final SerializableString SIZE = new SerializedString("size");
+    private static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializableString NEXT_AFTER_ID = new SerializedString("nextAfterId");
+
+    public PageResponseSerializer() {
+        super(PageResponse.class);
+    }
+
+    @Override
+    public void serialize(PageResponse page, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(page);
+        generator.writeFieldName(CONTENT);
+        writeContent(page.getContent(), generator, provider);
+        generator.writeFieldName(PAGE);
+        generator.writeNumber(page.getPage());
+        generator.writeFieldName(SIZE);
+        generator.writeNumber(page.getSize());
+        generator.writeFieldName(TOTAL_ELEMENTS);
+        generator.writeNumber(page.getTotalElements());
+        generator.writeFieldName(TOTAL_PAGES);
+        generator.writeNumber(page.getTotalPages());
+        if (page.getNextAfterId() != null) {
+            generator.writeFieldName(NEXT_AFTER_ID);
+            generator.writeNumber(page.getNextAfterId());
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeContent(List<?> content, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (content == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray(content, content.size());
+        Class<?> elementType = null;
+        JsonSerializer elementSerializer = null;
+        for (Object element : content) {
+            if (element == null) {
+                generator.writeNull();
+                continue;
+            }
+            if (element.getClass() != elementType) {
+                elementType = element.getClass();
+                elementSerializer = provider.findValueSerializer(elementType);
+            }
+            elementSerializer.serialize(element, generator, provider);
+        }
+        generator.writeEndArray();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.bankcards.config.json;
+
+import com.example.bankcards.dto.UserDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public class UserDtoSerializer extends StdSerializer<UserDto> {
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString LOGIN = new SerializedString("login");
+    private static final SerializableString PHONE = new SerializedString("phone");
+    private static final SerializableString TOKEN = new SerializedString("token");
+
+    public UserDtoSerializer() {
+        super(UserDto.class);
+    }
+
+    @Override
+    public void serialize(UserDto user, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(user);
+        generator.writeFieldName(ID);
+        LeanJson.writeNumber(generator, user.getId());
+        generator.writeFieldName(LOGIN);
+        generator.writeString(user.getLogin());
+        generator.writeFieldName(PHONE);
+        generator.writeString(user.getPhone());
+        generator.writeFieldName(TOKEN);
+        generator.writeString(user.getToken());
+        generator.writeEndObject();
+    }
+}
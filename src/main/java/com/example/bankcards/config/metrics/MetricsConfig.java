@@ -0,0 +1,20 @@
+package com.example.bankcards.config.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Timed} on beans. Timers are named per layer ({@code bankcards.service}, {@code bankcards.repository},
+ * {@code bankcards.crypto}, {@code bankcards.auth}) and tagged with class and method, so SLOs are set per operation
+ * by filtering on those tags. Histogram buckets are configured under {@code management.metrics.distribution}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
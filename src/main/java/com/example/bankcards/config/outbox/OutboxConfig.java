@@ -0,0 +1,54 @@
+package com.example.bankcards.config.outbox;
+
+import com.example.bankcards.repository.OutboxRepository;
+import com.example.bankcards.repository.shard.ShardRouter;
+import com.example.bankcards.service.outbox.FileOutboxSink;
+import com.example.bankcards.service.outbox.HttpOutboxSink;
+import com.example.bankcards.service.outbox.OutboxPublisher;
+import com.example.bankcards.service.outbox.OutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Publishing side of the card event outbox; the sink is a JSON-lines file ({@code app.outbox.sink.type=file}) or
+ * an HTTP endpoint ({@code http}). Events are recorded whenever {@code app.outbox.enabled} is set, see
+ * {@link com.example.bankcards.service.outbox.OutboxService}.
+ */
+@Configuration
+@ConditionalOnProperty(value = "app.outbox.enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(value = "app.outbox.sink.type", havingValue = "file", matchIfMissing = true)
+    public OutboxSink fileOutboxSink(@Value("${app.outbox.sink.file}") Path file, ObjectMapper objectMapper) {
+        return new FileOutboxSink(file, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "app.outbox.sink.type", havingValue = "http")
+    public OutboxSink httpOutboxSink(@Value("${app.outbox.sink.url}") URI url,
+                                     @Value("${app.outbox.sink.timeout}") Duration timeout,
+                                     ObjectMapper objectMapper) {
+        return new HttpOutboxSink(url, timeout, objectMapper);
+    }
+
+    @Bean
+    public OutboxPublisher outboxPublisher(OutboxRepository outboxRepository, ShardRouter shardRouter,
+                                           PlatformTransactionManager transactionManager, OutboxSink outboxSink,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${app.outbox.partitions}") int partitions,
+                                           @Value("${app.outbox.batch-size}") int batchSize) {
+        return new OutboxPublisher(outboxRepository, shardRouter, new TransactionTemplate(transactionManager),
+                outboxSink, meterRegistry, partitions, batchSize);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.bankcards.config.ratelimit;
+
+import com.example.bankcards.repository.jdbc.JdbcRateLimitStore;
+import com.example.bankcards.service.ratelimit.BucketSpec;
+import com.example.bankcards.service.ratelimit.RateLimitClass;
+import com.example.bankcards.service.ratelimit.RateLimiter;
+import com.example.bankcards.service.ratelimit.SharedRateLimitStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-caller token buckets for login, transfer and search, plus per-account ones for login; the filter itself is added to the security chain by
+ * {@link com.example.bankcards.config.auth.SecurityConfig}. {@code app.rate-limit.shared} adds cluster-wide buckets
+ * in PostgreSQL on top of the per-node ones.
+ */
+@Configuration
+@ConditionalOnProperty(value = "app.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(@Value("${app.rate-limit.login.capacity}") int loginCapacity,
+                                   @Value("${app.rate-limit.login.refill-period}") Duration loginRefill,
+                                   @Value("${app.rate-limit.login-account.capacity}") int loginAccountCapacity,
+                                   @Value("${app.rate-limit.login-account.refill-period}") Duration loginAccountRefill,
+                                   @Value("${app.rate-limit.transfer.capacity}") int transferCapacity,
+                                   @Value("${app.rate-limit.transfer.refill-period}") Duration transferRefill,
+                                   @Value("${app.rate-limit.search.capacity}") int searchCapacity,
+                                   @Value("${app.rate-limit.search.refill-period}") Duration searchRefill,
+                                   @Value("${app.rate-limit.max-keys}") int maxKeys,
+                                   ObjectProvider<SharedRateLimitStore> sharedStore,
+                                   MeterRegistry meterRegistry) {
+        return new RateLimiter(Map.of(
+                RateLimitClass.LOGIN, new BucketSpec(loginCapacity, loginRefill),
+                RateLimitClass.LOGIN_ACCOUNT, new BucketSpec(loginAccountCapacity, loginAccountRefill),
+                RateLimitClass.TRANSFER, new BucketSpec(transferCapacity, transferRefill),
+                RateLimitClass.SEARCH, new BucketSpec(searchCapacity, searchRefill)),
+                maxKeys, sharedStore.getIfAvailable(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "app.rate-limit.shared", havingValue = "true")
+    public JdbcRateLimitStore jdbcRateLimitStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcRateLimitStore(jdbcTemplate);
+    }
+}
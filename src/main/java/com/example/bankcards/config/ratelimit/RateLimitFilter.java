@@ -0,0 +1,80 @@
+package com.example.bankcards.config.ratelimit;
+
+import com.example.bankcards.dto.ErrorDto;
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.service.ratelimit.RateLimitClass;
+import com.example.bankcards.service.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests over their {@link RateLimitClass} budget with 429 and {@code Retry-After} before any BCrypt or
+ * decryption runs. Sits right after the JWT filter so authenticated calls are keyed by login; anonymous ones, the
+ * login and registration attempts, are keyed by client IP. Behind a proxy the IP is only meaningful with
+ * {@code server.forward-headers-strategy} set.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitClass limitClass = classify(request);
+        if (limitClass != null) {
+            long waitNanos = rateLimiter.tryAcquire(limitClass, clientKey(request));
+            if (waitNanos != RateLimiter.ALLOWED) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+                response.setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), new ErrorDto("Too many requests"));
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    static RateLimitClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        if ("POST".equals(method)) {
+            if (path.equals("/login") || path.equals("/register")) {
+                return RateLimitClass.LOGIN;
+            }
+            if (path.equals("/api/v1/cards/transfer")) {
+                return RateLimitClass.TRANSFER;
+            }
+        } else if ("GET".equals(method) && path.equals("/api/v1/cards/search")) {
+            return RateLimitClass.SEARCH;
+        }
+        return null;
+    }
+
+    public static long retryAfterSeconds(long waitNanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        return Math.max(1, (waitNanos + second - 1) / second);
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDto user) {
+            return user.getLogin();
+        }
+        return request.getRemoteAddr();
+    }
+}
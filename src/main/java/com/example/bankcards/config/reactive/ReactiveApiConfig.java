@@ -0,0 +1,109 @@
+package com.example.bankcards.config.reactive;
+
+import com.example.bankcards.controller.card.ReactiveCardHandler;
+import com.example.bankcards.dto.ErrorDto;
+import com.example.bankcards.exception.AppException;
+import com.example.bankcards.mapper.CardMapper;
+import com.example.bankcards.mapper.UserMapper;
+import com.example.bankcards.repository.reactive.ReactiveCardsRepository;
+import com.example.bankcards.repository.reactive.ReactiveUserRepository;
+import com.example.bankcards.security.UserAuthenticationProvider;
+import com.example.bankcards.security.filter.ReactiveJwtAuthFilter;
+import com.example.bankcards.service.ReactiveCardService;
+import com.example.bankcards.util.CardNumberCryptoUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking read API (WebFlux on Netty + R2DBC) served on its own port next to the servlet application.
+ * It reads the primary database directly, so it is not available together with sharding.
+ */
+@Configuration
+@ConditionalOnExpression("${app.reactive.enabled:false} and !${app.sharding.enabled:false}")
+public class ReactiveApiConfig {
+
+    @Bean
+    public ReactiveDatabase reactiveDatabase(
+            @Value("${app.reactive.r2dbc.url}") String url,
+            @Value("${app.reactive.r2dbc.username}") String username,
+            @Value("${app.reactive.r2dbc.password}") String password,
+            @Value("${app.reactive.r2dbc.pool-size}") int poolSize,
+            @Value("${app.reactive.r2dbc.acquire-timeout}") Duration acquireTimeout) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return new ReactiveDatabase(new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive")
+                .maxSize(poolSize)
+                .maxAcquireTime(acquireTimeout)
+                .build()));
+    }
+
+    @Bean
+    public ReactiveCardsRepository reactiveCardsRepository(ReactiveDatabase reactiveDatabase,
+                                                           @Value("${app.reactive.fetch-size}") int fetchSize) {
+        return new ReactiveCardsRepository(reactiveDatabase.getDatabaseClient(), fetchSize);
+    }
+
+    @Bean
+    public ReactiveUserRepository reactiveUserRepository(ReactiveDatabase reactiveDatabase) {
+        return new ReactiveUserRepository(reactiveDatabase.getDatabaseClient());
+    }
+
+    @Bean
+    public ReactiveCardService reactiveCardService(ReactiveCardsRepository reactiveCardsRepository,
+                                                   CardMapper cardMapper,
+                                                   CardNumberCryptoUtil cryptoUtil) {
+        return new ReactiveCardService(reactiveCardsRepository, cardMapper, cryptoUtil);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveCardRoutes(ReactiveCardService reactiveCardService,
+                                                             UserAuthenticationProvider userAuthenticationProvider,
+                                                             ReactiveUserRepository reactiveUserRepository,
+                                                             UserMapper userMapper) {
+        ReactiveCardHandler handler = new ReactiveCardHandler(reactiveCardService);
+        return RouterFunctions.route()
+                .path("/api/v1/cards", cards -> cards
+                        .GET("", handler::getUserCards)
+                        .GET("/search", handler::searchCardsByLastFourDigits)
+                        .GET("/{cardId}/balance", handler::getBalance))
+                .filter(new ReactiveJwtAuthFilter(userAuthenticationProvider, reactiveUserRepository, userMapper))
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(AppException.class, e -> ServerResponse.status(e.getStatus())
+                                .bodyValue(ErrorDto.builder().message(e.getMessage()).build())))
+                .build();
+    }
+
+    @Bean
+    public ReactiveApiServer reactiveApiServer(RouterFunction<ServerResponse> reactiveCardRoutes,
+                                               ObjectMapper objectMapper,
+                                               @Value("${app.reactive.port}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(reactiveCardRoutes, strategies);
+        return new ReactiveApiServer(httpHandler, port);
+    }
+}
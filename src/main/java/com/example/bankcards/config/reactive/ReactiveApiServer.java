@@ -0,0 +1,46 @@
+package com.example.bankcards.config.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+
+/**
+ * The servlet container stays the primary web server; this starts a second, Netty-based one for the
+ * reactive routes.
+ */
+@Slf4j
+public class ReactiveApiServer implements SmartLifecycle {
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private WebServer webServer;
+
+    public ReactiveApiServer(HttpHandler httpHandler, int port) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        webServer = new NettyReactiveWebServerFactory(port).getWebServer(httpHandler);
+        webServer.start();
+        log.info("Reactive read API started on port {}", webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        webServer.stop();
+        webServer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return webServer != null;
+    }
+
+    public int getPort() {
+        return webServer != null ? webServer.getPort() : port;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.bankcards.config.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Owns the R2DBC pool. The pool is deliberately not a {@code ConnectionFactory} bean: Boot's JDBC
+ * {@code DataSource} auto-configuration backs off as soon as one exists.
+ */
+public class ReactiveDatabase implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveDatabase(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    public DatabaseClient getDatabaseClient() {
+        return databaseClient;
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.bankcards.config.sql;
+
+import com.example.bankcards.config.datasource.SqlStatementCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements of each request, authentication included. Responses with a body get the count from
+ * {@link SqlStatementCountAdvice} just before it is written; the log line also covers anything run afterwards,
+ * such as lazy loading during serialization.
+ */
+@Slf4j
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-SQL-Count";
+
+    private final int warnThreshold;
+
+    public SqlStatementCountFilter(int warnThreshold) {
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Recording recording = SqlStatementCounter.start()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                int statements = recording.count();
+                if (!response.isCommitted()) {
+                    response.setHeader(HEADER, String.valueOf(statements));
+                }
+                if (statements > warnThreshold) {
+                    log.warn("{} {} -> {}: {} SQL statements", request.getMethod(), request.getRequestURI(),
+                            response.getStatus(), statements);
+                } else {
+                    log.debug("{} {} -> {}: {} SQL statements", request.getMethod(), request.getRequestURI(),
+                            response.getStatus(), statements);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.bankcards.config.threads;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Looks up the Java 21 virtual thread API reflectively so the application still compiles and runs on Java 17
+ * when the virtual thread mode is off.
+ */
+final class VirtualThreads {
+    private VirtualThreads() {}
+
+    static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads require Java 21, running on " + Runtime.version(), e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Virtual threads are not available on " + Runtime.version(), e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
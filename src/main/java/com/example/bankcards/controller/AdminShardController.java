@@ -0,0 +1,26 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.ShardRebalanceReport;
+import com.example.bankcards.service.ShardRebalanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/shards")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class AdminShardController {
+
+    private final ShardRebalanceService shardRebalanceService;
+
+    @PostMapping("/rebalance")
+    public ResponseEntity<ShardRebalanceReport> rebalance() {
+        return ResponseEntity.ok(shardRebalanceService.rebalance());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.AdminStatisticsDto;
+import com.example.bankcards.service.StatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/statistics")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminStatisticsController {
+
+    private final StatisticsService statisticsService;
+
+    @GetMapping
+    public ResponseEntity<AdminStatisticsDto> getStatistics() {
+        return ResponseEntity.ok(statisticsService.getStatistics());
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.bankcards.controller;
 
+import com.example.bankcards.dto.BulkBanRequest;
+import com.example.bankcards.dto.BulkUpdateResult;
+import com.example.bankcards.dto.PageResponse;
 import com.example.bankcards.dto.UserDto;
 import com.example.bankcards.service.UserService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,8 +21,12 @@ public class AdminUserController {
     private final UserService userService;
 
     @GetMapping
-    public ResponseEntity<Page<UserDto>> getAllUsers(Pageable pageable) {
-        return ResponseEntity.ok(userService.findAll(pageable));
+    public ResponseEntity<PageResponse<UserDto>> getAllUsers(@RequestParam(required = false) Long afterId,
+                                                             Pageable pageable) {
+        if (afterId != null) {
+            return ResponseEntity.ok(PageResponse.of(userService.findAllAfter(afterId, pageable.getPageSize()), UserDto::getId));
+        }
+        return ResponseEntity.ok(PageResponse.of(userService.findAll(pageable)));
     }
 
     @DeleteMapping("/{id}")
@@ -33,4 +40,9 @@ public class AdminUserController {
         userService.setBanned(id, banned);
         return ResponseEntity.ok().build();
     }
+
+    @PutMapping("/ban")
+    public ResponseEntity<BulkUpdateResult> setBanned(@RequestBody @Valid BulkBanRequest request) {
+        return ResponseEntity.ok(userService.setBanned(request.getUserIds(), request.isBanned()));
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.service.CardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +12,8 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("api/v1/users")
 @RequiredArgsConstructor
 public class UserController {
+    private final CardService cardService;
+
     @GetMapping
     public ResponseEntity<?> getUserInfo(@AuthenticationPrincipal UserDto userDto) {
         if (userDto == null) {
@@ -19,6 +22,14 @@ public class UserController {
         return ResponseEntity.ok(userDto);
     }
 
+    @GetMapping("/me/summary")
+    public ResponseEntity<?> getUserSummary(@AuthenticationPrincipal UserDto userDto) {
+        if (userDto == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User is not authenticated");
+        }
+        return ResponseEntity.ok(cardService.getUserSummary(userDto));
+    }
+
     @PutMapping
     public ResponseEntity<?> updateUserInfo(@AuthenticationPrincipal UserDto userDto, @RequestBody UserDto updatedUserDto) {
         if (userDto == null) {
@@ -1,19 +1,26 @@
 package com.example.bankcards.controller.auth;
 
+import com.example.bankcards.config.ratelimit.RateLimitFilter;
+import com.example.bankcards.dto.ErrorDto;
 import com.example.bankcards.dto.UserDto;
 import com.example.bankcards.dto.auth.CredentialsDto;
 import com.example.bankcards.dto.auth.SignUpDto;
 import com.example.bankcards.security.UserAuthenticationProvider;
 import com.example.bankcards.service.UserService;
+import com.example.bankcards.service.ratelimit.RateLimitClass;
+import com.example.bankcards.service.ratelimit.RateLimiter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
-
 import java.net.URI;
+import java.util.Locale;
 
 @RequiredArgsConstructor
 @RestController
@@ -21,9 +28,16 @@ public class AuthController {
 
     private final UserService userService;
     private final UserAuthenticationProvider userAuthenticationProvider;
+    private final ObjectProvider<RateLimiter> rateLimiter;
 
     @PostMapping("/login")
-    public ResponseEntity<UserDto> login(@RequestBody @Valid CredentialsDto credentialsDto) {
+    public ResponseEntity<?> login(@RequestBody @Valid CredentialsDto credentialsDto) {
+        long waitNanos = acquireLoginAttempt(credentialsDto.getLogin());
+        if (waitNanos != RateLimiter.ALLOWED) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimitFilter.retryAfterSeconds(waitNanos)))
+                    .body(new ErrorDto("Too many requests"));
+        }
         UserDto userDto = userService.login(credentialsDto);
         userDto.setToken(userAuthenticationProvider.createToken(userDto.getLogin()));
         return ResponseEntity.ok(userDto);
@@ -36,4 +50,16 @@ public class AuthController {
         return ResponseEntity.created(URI.create("/users/" + createdUser.getId())).body(createdUser);
     }
 
+    /**
+     * The filter limits {@code /login} per client IP before the body is read; this bucket is keyed by the account
+     * being logged into, so guessing one password from many addresses is limited too. Logins match
+     * case-insensitively, so the key is lower-cased.
+     */
+    private long acquireLoginAttempt(String login) {
+        RateLimiter limiter = rateLimiter.getIfAvailable();
+        if (limiter == null || login == null) {
+            return RateLimiter.ALLOWED;
+        }
+        return limiter.tryAcquire(RateLimitClass.LOGIN_ACCOUNT, login.toLowerCase(Locale.ROOT));
+    }
 }
@@ -1,9 +1,15 @@
 package com.example.bankcards.controller.card;
 
+import com.example.bankcards.dto.BulkUpdateResult;
+import com.example.bankcards.dto.PageResponse;
+import com.example.bankcards.dto.card.BulkCardStatusRequest;
 import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardExpiryReport;
 import com.example.bankcards.dto.card.CreateCardRequest;
 import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.service.CardExpiryService;
 import com.example.bankcards.service.CardService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,12 +17,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/v1/admin/cards")
 @PreAuthorize("hasRole('ADMIN')")
 @RequiredArgsConstructor
 public class AdminCardController {
     private final CardService cardService;
+    private final CardExpiryService cardExpiryService;
 
     @PostMapping("/create")
     public ResponseEntity<CardDto> createCard(@RequestBody CreateCardRequest request) {
@@ -25,11 +34,16 @@ public class AdminCardController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<CardDto>> getAllCards(
+    public ResponseEntity<PageResponse<CardDto>> getAllCards(
             @RequestParam(required = false) CardStatus status,
+            @RequestParam(required = false) Long afterId,
             Pageable pageable) {
+        if (afterId != null) {
+            Page<CardDto> cards = cardService.getAllCardsAfter(status, afterId, pageable.getPageSize());
+            return ResponseEntity.ok(PageResponse.of(cards, CardDto::getId));
+        }
         Page<CardDto> cards = cardService.getAllCards(status, pageable);
-        return ResponseEntity.ok(cards);
+        return ResponseEntity.ok(PageResponse.of(cards));
     }
 
     @DeleteMapping("/{id}")
@@ -50,4 +64,19 @@ public class AdminCardController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/bulk/block")
+    public ResponseEntity<BulkUpdateResult> blockCards(@RequestBody @Valid BulkCardStatusRequest request) {
+        return ResponseEntity.ok(cardService.blockCards(request));
+    }
+
+    @PostMapping("/bulk/activate")
+    public ResponseEntity<BulkUpdateResult> activateCards(@RequestBody @Valid BulkCardStatusRequest request) {
+        return ResponseEntity.ok(cardService.activateCards(request));
+    }
+
+    @PostMapping("/expire")
+    public ResponseEntity<CardExpiryReport> expireCards() {
+        return ResponseEntity.ok(cardExpiryService.expireCards(LocalDate.now()));
+    }
+
 }
@@ -1,6 +1,8 @@
 package com.example.bankcards.controller.card;
 
 import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardField;
+import com.example.bankcards.dto.PageResponse;
 import com.example.bankcards.dto.UserDto;
 import com.example.bankcards.dto.card.TransferRequest;
 import com.example.bankcards.entity.card.CardStatus;
@@ -9,13 +11,16 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("api/v1/cards")
@@ -26,24 +31,34 @@ public class CardController {
     private final CardService cardService;
 
     @GetMapping
-    public ResponseEntity<Page<CardDto>> getUserCards(
+    public ResponseEntity<PageResponse<CardDto>> getUserCards(
             @RequestParam(required = false) CardStatus status,
+            @RequestParam(required = false) String fields,
             Pageable pageable,
-            @AuthenticationPrincipal UserDto userDto) {
+            @AuthenticationPrincipal UserDto userDto,
+            WebRequest webRequest) {
 
-        Page<CardDto> cards = cardService.getUserCards(userDto.getLogin(), status, pageable);
-        return ResponseEntity.ok(cards);
+        Set<CardField> cardFields = CardField.parse(fields);
+        String eTag = cardService.getUserCardsETag(userDto.getId(), status, pageable, cardFields);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        Page<CardDto> cards = cardFields != null
+                ? cardService.getUserCards(userDto.getLogin(), status, pageable, cardFields)
+                : cardService.getUserCards(userDto.getLogin(), status, pageable);
+        return ResponseEntity.ok().eTag(eTag).body(PageResponse.of(cards));
     }
 
     @GetMapping("/search")
     public ResponseEntity<List<CardDto>> searchCardsByLastFourDigits(
             @RequestParam String lastFourDigits,
+            @RequestParam(required = false) String fields,
             @AuthenticationPrincipal UserDto userDto) {
 
-        List<CardDto> cards = cardService.getUserCardsByLastFourDigits(
-                userDto.getLogin(),
-                lastFourDigits
-        );
+        Set<CardField> cardFields = CardField.parse(fields);
+        List<CardDto> cards = cardFields != null
+                ? cardService.getUserCardsByLastFourDigits(userDto.getLogin(), lastFourDigits, cardFields)
+                : cardService.getUserCardsByLastFourDigits(userDto.getLogin(), lastFourDigits);
         return ResponseEntity.ok(cards);
     }
 
@@ -59,10 +74,15 @@ public class CardController {
     @GetMapping("{cardId}/balance")
     public ResponseEntity<BigDecimal> getBalance(
             @PathVariable Long cardId,
-            @AuthenticationPrincipal UserDto userDto) {
+            @AuthenticationPrincipal UserDto userDto,
+            WebRequest webRequest) {
 
+        String eTag = cardService.getBalanceETag(cardId, userDto);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         BigDecimal balance = cardService.getBalance(cardId, userDto.getLogin());
-        return ResponseEntity.ok(balance);
+        return ResponseEntity.ok().eTag(eTag).body(balance);
     }
 
     @PostMapping("/transfer")
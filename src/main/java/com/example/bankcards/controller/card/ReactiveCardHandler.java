@@ -0,0 +1,70 @@
+package com.example.bankcards.controller.card;
+
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.exception.AppException;
+import com.example.bankcards.security.filter.ReactiveJwtAuthFilter;
+import com.example.bankcards.service.ReactiveCardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Reactive mirror of the read endpoints of {@link CardController}. Lists are streamed as a JSON array, or as
+ * newline-delimited JSON when the client accepts {@code application/x-ndjson}.
+ */
+@RequiredArgsConstructor
+public class ReactiveCardHandler {
+
+    private final ReactiveCardService cardService;
+
+    public Mono<ServerResponse> getUserCards(ServerRequest request) {
+        CardStatus status = request.queryParam("status").map(value -> parse(value, CardStatus::valueOf)).orElse(null);
+        Integer page = intParam(request, "page");
+        Integer size = intParam(request, "size");
+        return stream(request, cardService.getUserCards(user(request), status, page, size));
+    }
+
+    public Mono<ServerResponse> searchCardsByLastFourDigits(ServerRequest request) {
+        String lastFourDigits = request.queryParam("lastFourDigits").orElse(null);
+        return stream(request, cardService.getUserCardsByLastFourDigits(user(request), lastFourDigits));
+    }
+
+    public Mono<ServerResponse> getBalance(ServerRequest request) {
+        Long cardId = parse(request.pathVariable("cardId"), Long::valueOf);
+        return cardService.getBalance(cardId, user(request))
+                .flatMap(balance -> ServerResponse.ok().bodyValue(balance));
+    }
+
+    private static Mono<ServerResponse> stream(ServerRequest request, Flux<CardDto> cards) {
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType).body(cards, CardDto.class);
+    }
+
+    private static UserDto user(ServerRequest request) {
+        return (UserDto) request.attribute(ReactiveJwtAuthFilter.USER_ATTRIBUTE).orElseThrow();
+    }
+
+    private static Integer intParam(ServerRequest request, String name) {
+        Optional<String> value = request.queryParam(name);
+        return value.map(v -> parse(v, Integer::valueOf)).orElse(null);
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException e) {
+            throw new AppException("Invalid parameter value: " + value, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.bankcards.controller.grpc;
+
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardField;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.exception.AppException;
+import com.example.bankcards.grpc.BalanceReply;
+import com.example.bankcards.grpc.BalancesRequest;
+import com.example.bankcards.grpc.CardMessage;
+import com.example.bankcards.grpc.CardOperationsGrpc;
+import com.example.bankcards.grpc.ListCardsRequest;
+import com.example.bankcards.grpc.TransferReply;
+import com.example.bankcards.grpc.TransferRequest;
+import com.example.bankcards.security.filter.GrpcAuthInterceptor;
+import com.example.bankcards.service.CardService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC front for the user card operations; business rules stay in {@link CardService}, this class only maps
+ * messages and errors. Requests must pass {@link GrpcAuthInterceptor} first.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CardGrpcService extends CardOperationsGrpc.CardOperationsImplBase {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 2000;
+    private static final int MAX_BALANCE_CARDS = 100;
+    private static final Set<CardField> ALL_FIELDS = EnumSet.allOf(CardField.class);
+
+    private final CardService cardService;
+    private final Validator validator;
+
+    @Override
+    public void transfer(TransferRequest request, StreamObserver<TransferReply> responseObserver) {
+        try {
+            transfer(request, GrpcAuthInterceptor.USER.get());
+            responseObserver.onNext(TransferReply.newBuilder().setSuccess(true).build());
+            responseObserver.onCompleted();
+        } catch (AppException e) {
+            responseObserver.onError(toStatus(e));
+        } catch (RuntimeException e) {
+            log.error("gRPC transfer failed", e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Internal server error").asRuntimeException());
+        }
+    }
+
+    @Override
+    public StreamObserver<TransferRequest> transferStream(StreamObserver<TransferReply> responseObserver) {
+        UserDto user = GrpcAuthInterceptor.USER.get();
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(TransferRequest request) {
+                TransferReply.Builder reply = TransferReply.newBuilder();
+                try {
+                    transfer(request, user);
+                    reply.setSuccess(true);
+                } catch (AppException e) {
+                    reply.setError(e.getMessage());
+                } catch (RuntimeException e) {
+                    log.error("gRPC transfer failed", e);
+                    reply.setError("Internal server error");
+                }
+                responseObserver.onNext(reply.build());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("Transfer stream cancelled by client: {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    public void getBalances(BalancesRequest request, StreamObserver<BalanceReply> responseObserver) {
+        if (request.getCardIdsCount() > MAX_BALANCE_CARDS) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("At most " + MAX_BALANCE_CARDS + " cards per request").asRuntimeException());
+            return;
+        }
+        UserDto user = GrpcAuthInterceptor.USER.get();
+        ServerCallStreamObserver<BalanceReply> serverObserver = (ServerCallStreamObserver<BalanceReply>) responseObserver;
+        try {
+            for (long cardId : request.getCardIdsList()) {
+                if (serverObserver.isCancelled()) {
+                    return;
+                }
+                BalanceReply.Builder reply = BalanceReply.newBuilder().setCardId(cardId);
+                try {
+                    reply.setBalance(cardService.getBalance(cardId, user.getLogin()).toPlainString());
+                } catch (AppException e) {
+                    reply.setError(e.getMessage());
+                }
+                responseObserver.onNext(reply.build());
+            }
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            log.error("gRPC getBalances failed", e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Internal server error").asRuntimeException());
+        }
+    }
+
+    @Override
+    public void listCards(ListCardsRequest request, StreamObserver<CardMessage> responseObserver) {
+        if (request.getPage() < 0 || request.getSize() < 0) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Page and size must not be negative").asRuntimeException());
+            return;
+        }
+        int size = request.getSize() == 0 ? DEFAULT_PAGE_SIZE : Math.min(request.getSize(), MAX_PAGE_SIZE);
+        try {
+            UserDto user = GrpcAuthInterceptor.USER.get();
+            cardService.getUserCards(user.getLogin(), toCardStatus(request.getStatus()),
+                            PageRequest.of(request.getPage(), size), ALL_FIELDS)
+                    .forEach(card -> responseObserver.onNext(toMessage(card)));
+            responseObserver.onCompleted();
+        } catch (AppException e) {
+            responseObserver.onError(toStatus(e));
+        } catch (RuntimeException e) {
+            log.error("gRPC listCards failed", e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Internal server error").asRuntimeException());
+        }
+    }
+
+    private void transfer(TransferRequest request, UserDto user) {
+        com.example.bankcards.dto.card.TransferRequest transfer = new com.example.bankcards.dto.card.TransferRequest(
+                request.getFromCardId(), request.getToCardId(), parseAmount(request.getAmount()));
+        Set<ConstraintViolation<com.example.bankcards.dto.card.TransferRequest>> violations = validator.validate(transfer);
+        if (!violations.isEmpty()) {
+            throw new AppException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")), HttpStatus.BAD_REQUEST);
+        }
+        cardService.transferBetweenOwnCards(transfer, user.getLogin());
+    }
+
+    private static BigDecimal parseAmount(String amount) {
+        if (amount.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(amount);
+        } catch (NumberFormatException e) {
+            throw new AppException("Invalid amount: " + amount, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static CardStatus toCardStatus(com.example.bankcards.grpc.CardStatus status) {
+        return switch (status) {
+            case ACTIVE -> CardStatus.ACTIVE;
+            case BLOCKED -> CardStatus.BLOCKED;
+            case EXPIRED -> CardStatus.EXPIRED;
+            case CARD_STATUS_UNSPECIFIED, UNRECOGNIZED -> null;
+        };
+    }
+
+    private static CardMessage toMessage(CardDto card) {
+        CardMessage.Builder message = CardMessage.newBuilder()
+                .setId(card.getId())
+                .setMaskedCardNumber(card.getMaskedCardNumber())
+                .setExpiryDate(card.getExpiryDate().toString())
+                .setStatus(com.example.bankcards.grpc.CardStatus.valueOf(card.getStatus().name()));
+        if (card.getBalance() != null) {
+            message.setBalance(card.getBalance().toPlainString());
+        }
+        return message.build();
+    }
+
+    static StatusRuntimeException toStatus(AppException e) {
+        Status status = switch (e.getStatus()) {
+            case BAD_REQUEST -> Status.INVALID_ARGUMENT;
+            case UNAUTHORIZED -> Status.UNAUTHENTICATED;
+            case FORBIDDEN -> Status.PERMISSION_DENIED;
+            case NOT_FOUND -> Status.NOT_FOUND;
+            case CONFLICT -> Status.FAILED_PRECONDITION;
+            default -> Status.INTERNAL;
+        };
+        return status.withDescription(e.getMessage()).asRuntimeException();
+    }
+}
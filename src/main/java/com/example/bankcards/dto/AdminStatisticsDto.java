@@ -0,0 +1,22 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.entity.card.CardStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AdminStatisticsDto {
+    private Map<CardStatus, Long> cardsByStatus;
+    private long totalCards;
+    private BigDecimal totalBalance;
+    private long activeUsers;
+    private long bannedUsers;
+}
@@ -0,0 +1,22 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkUpdateResult {
+    private int affected;
+    /** Chunks committed so far; bulk card updates commit each chunk separately. */
+    private int committedChunks;
+    /** False when a chunk failed: the earlier chunks stay applied, the rest were not attempted. */
+    private boolean completed;
+
+    public BulkUpdateResult(int affected) {
+        this(affected, 1, true);
+    }
+}
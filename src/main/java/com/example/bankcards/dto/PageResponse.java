@@ -0,0 +1,38 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PageResponse<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    /** Cursor for the next keyset page; null for offset pages and for the last keyset page. */
+    private Long nextAfterId;
+
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages(), null);
+    }
+
+    public static <T> PageResponse<T> of(Page<T> page, Function<T, Long> idOf) {
+        PageResponse<T> response = of(page);
+        List<T> content = page.getContent();
+        if (content.size() == page.getSize()) {
+            response.setNextAfterId(idOf.apply(content.get(content.size() - 1)));
+        }
+        return response;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ShardRebalanceReport {
+    private int shardCount;
+    private int scannedUsers;
+    private int movedUsers;
+    private int movedCards;
+    private long durationMillis;
+}
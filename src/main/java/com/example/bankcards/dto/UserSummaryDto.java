@@ -0,0 +1,23 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.entity.card.CardStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserSummaryDto {
+    private UserDto profile;
+    private List<CardDto> cards;
+    private Map<CardStatus, Long> cardsByStatus;
+    private BigDecimal totalBalance;
+}
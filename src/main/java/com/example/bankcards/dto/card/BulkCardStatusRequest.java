@@ -0,0 +1,29 @@
+package com.example.bankcards.dto.card;
+
+import com.example.bankcards.entity.card.CardStatus;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkCardStatusRequest {
+    public static final int MAX_IDS = 100_000;
+
+    @Size(max = MAX_IDS)
+    private List<Long> cardIds;
+
+    @Size(max = MAX_IDS)
+    private List<Long> ownerIds;
+
+    private CardStatus status;
+    private LocalDate expiryFrom;
+    private LocalDate expiryTo;
+}
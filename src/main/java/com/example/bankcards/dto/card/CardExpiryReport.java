@@ -0,0 +1,20 @@
+package com.example.bankcards.dto.card;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CardExpiryReport {
+    private LocalDate expiredBefore;
+    private boolean lockAcquired;
+    private int expiredCards;
+    private int chunks;
+    private long durationMillis;
+}
@@ -0,0 +1,47 @@
+package com.example.bankcards.dto.card;
+
+import com.example.bankcards.exception.AppException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link CardDto} properties a client can request with {@code fields=}, together with the {@code Card}
+ * attributes that have to be selected to fill them.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CardField {
+    ID("id", List.of("id")),
+    /** {@code cardNumber} is read only for rows without {@code lastFour}. */
+    MASKED_CARD_NUMBER("maskedCardNumber", List.of("lastFour", "cardNumber")),
+    EXPIRY_DATE("expiryDate", List.of("expiryDate")),
+    STATUS("status", List.of("status")),
+    BALANCE("balance", List.of("balance"));
+
+    private final String fieldName;
+    private final List<String> attributes;
+
+    /**
+     * @return requested fields, or {@code null} when the parameter is absent and the full card is wanted
+     */
+    public static Set<CardField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<CardField> result = EnumSet.noneOf(CardField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            result.add(Arrays.stream(values())
+                    .filter(field -> field.fieldName.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new AppException("Unknown card field: " + trimmed, HttpStatus.BAD_REQUEST)));
+        }
+        return result;
+    }
+}
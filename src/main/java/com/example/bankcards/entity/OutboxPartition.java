@@ -0,0 +1,24 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lock row for one slice of the outbox: the publisher holding it with {@code FOR UPDATE} is the only one
+ * publishing the events of the cards hashed to it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_partitions")
+public class OutboxPartition {
+    @Id
+    @Column(name = "partition_id")
+    private Integer partitionId;
+}
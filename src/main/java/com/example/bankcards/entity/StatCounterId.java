@@ -0,0 +1,21 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class StatCounterId implements Serializable {
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "stripe")
+    private short stripe;
+}
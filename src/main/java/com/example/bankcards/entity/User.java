@@ -5,6 +5,9 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,13 +15,29 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
+@ToString
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "users")
+@NamedEntityGraph(name = User.SUMMARY_GRAPH)
+@NamedEntityGraph(name = User.WITH_CARDS_GRAPH, attributeNodes = @NamedAttributeNode("cards"))
 public class User {
+    /**
+     * User columns only, for authentication and admin listings.
+     */
+    public static final String SUMMARY_GRAPH = "User.summary";
+
+    /**
+     * User with all cards in one select, for the cascaded delete.
+     */
+    public static final String WITH_CARDS_GRAPH = "User.withCards";
+
     @Id
     @Column(name = "id")
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,6 +47,7 @@ public class User {
     @Size(max = 50)
     private String login;
 
+    @ToString.Exclude
     @Column(name = "password", length = 128, nullable = false)
     private String password;
 
@@ -53,7 +73,23 @@ public class User {
     private UserRole role;
 
     @ToString.Exclude
+    @Builder.Default
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Card> cards = new ArrayList<>();
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
+        }
+        return id != null && id.equals(((User) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
 }
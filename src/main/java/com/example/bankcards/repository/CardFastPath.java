@@ -0,0 +1,31 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data access behind the hottest card operations, chosen by {@code app.card.fast-path}: {@code jpa} goes through
+ * Spring Data and the persistence context, {@code jdbc} runs fixed SQL and returns detached cards. Shard routing
+ * stays in {@link CardsRepository}.
+ */
+public interface CardFastPath {
+
+    /**
+     * Card with at least its id, owner id, status and balance, for the balance read and ownership checks.
+     */
+    Optional<Card> findBalanceById(Long id);
+
+    Optional<Card> findByIdWithLock(Long id);
+
+    /**
+     * Writes the balances of cards previously returned by {@link #findByIdWithLock(Long)}.
+     */
+    void updateBalances(List<Card> cards);
+
+    Page<Card> findPageByOwnerId(Long ownerId, CardStatus status, Pageable pageable);
+}
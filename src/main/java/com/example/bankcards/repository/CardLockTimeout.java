@@ -0,0 +1,85 @@
+package com.example.bankcards.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the wait for a card row lock. PostgreSQL ignores the JPA lock timeout hint for {@code FOR UPDATE}, so the
+ * limit is also set on the transaction, once, before its first locking select; waiting longer fails with
+ * {@code lock_not_available} instead of holding the request until a deadlock is detected.
+ */
+@Component
+@RequiredArgsConstructor
+public class CardLockTimeout {
+    public static final String MILLIS = "3000";
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
+    private static final int H2_LOCK_TIMEOUT = 50200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String statement;
+
+    /**
+     * Runs a locking select under the timeout. A lock wait that runs out surfaces as
+     * {@link CannotAcquireLockException} on both fast paths; plain JDBC would otherwise report PostgreSQL's
+     * {@code 55P03} as an uncategorized error.
+     */
+    public <T> T lock(Supplier<T> query) {
+        apply();
+        try {
+            return query.get();
+        } catch (DataAccessException e) {
+            if (e instanceof PessimisticLockingFailureException || !isLockTimeout(e)) {
+                throw e;
+            }
+            throw new CannotAcquireLockException("Card lock not acquired within " + MILLIS + " ms", e);
+        }
+    }
+
+    private void apply() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        jdbcTemplate.execute(statement());
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(CardLockTimeout.this);
+            }
+        });
+    }
+
+    private static boolean isLockTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && (LOCK_NOT_AVAILABLE.equals(sqlException.getSQLState()) || sqlException.getErrorCode() == H2_LOCK_TIMEOUT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String statement() {
+        if (statement == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            statement = "PostgreSQL".equals(product)
+                    ? "SET LOCAL lock_timeout = " + MILLIS
+                    : "SET LOCK_TIMEOUT " + MILLIS;
+        }
+        return statement;
+    }
+}
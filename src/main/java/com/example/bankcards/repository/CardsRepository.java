@@ -1,76 +1,302 @@
 package com.example.bankcards.repository;
 
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardField;
+import com.example.bankcards.dto.card.CardListVersion;
+import com.example.bankcards.dto.card.CardStatusTotals;
+import com.example.bankcards.dto.card.CardVersion;
 import com.example.bankcards.entity.card.Card;
 import com.example.bankcards.entity.card.CardStatus;
 import com.example.bankcards.exception.AppException;
 import com.example.bankcards.repository.jpa.CardsJpaRepository;
+import com.example.bankcards.repository.shard.ShardRouter;
+import com.example.bankcards.repository.shard.SortComparators;
+import com.example.bankcards.service.BusinessMetrics;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Repository
+@Timed("bankcards.repository")
 @RequiredArgsConstructor
 public class CardsRepository {
 
+    private static final LocalDate MIN_EXPIRY_DATE = LocalDate.of(1970, 1, 1);
+    private static final LocalDate MAX_EXPIRY_DATE = LocalDate.of(9999, 12, 31);
+    private static final Comparator<Card> BY_ID = Comparator.comparing(Card::getId);
+    private static final Map<String, Comparator<Card>> SORTABLE = Map.of(
+            "id", BY_ID,
+            "expiryDate", SortComparators.nullsLast(Card::getExpiryDate),
+            "status", SortComparators.nullsLast(Card::getStatus),
+            "balance", SortComparators.nullsLast(Card::getBalance),
+            "createdAt", SortComparators.nullsLast(Card::getCreatedAt),
+            "updatedAt", SortComparators.nullsLast(Card::getUpdatedAt));
+    // Plain JDBC so Hibernate does not treat the update as touching unknown tables and evict the whole L2 cache.
+    private static final String EXPIRE_CARDS = "UPDATE cards SET status = 'EXPIRED', updated_at = now() WHERE id IN (" +
+            "SELECT id FROM cards WHERE expiry_date < ? AND status = ? " +
+            "ORDER BY expiry_date LIMIT ? FOR UPDATE SKIP LOCKED) AND status = ?";
+    private static final String UPDATE_LAST_FOUR = "UPDATE cards SET last_four = ? WHERE id = ?";
+
     private final CardsJpaRepository cardsJpaRepository;
+    private final CardFastPath cardFastPath;
+    private final CardLockTimeout cardLockTimeout;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final BusinessMetrics businessMetrics;
+
+    @Value("${app.bulk.chunk-size}")
+    private int bulkChunkSize;
 
     public Card save(Card card) {
-        return cardsJpaRepository.save(card);
+        return shardRouter.onOwner(card.getOwner().getId(), () -> cardsJpaRepository.save(card));
     }
 
+    /**
+     * Card numbers are unique across the whole bank, not per owner, so this still asks every shard (in parallel).
+     */
     public boolean existsByCardHash(String cardHash) {
-        return cardsJpaRepository.existsByCardHash(cardHash);
+        return shardRouter.fanOut(true, () -> cardsJpaRepository.existsByCardHash(cardHash))
+                .contains(true);
     }
 
     public Card findById(Long id) {
-        return cardsJpaRepository.findById(id)
-                .orElseThrow(() -> new AppException("Card not found", HttpStatus.NOT_FOUND));
+        return shardRouter.onCard(id, () -> cardsJpaRepository.findById(id))
+                .orElseThrow(this::cardNotFound);
     }
 
-    public Card findByCardNumber(String cardNumber) {
-        return cardsJpaRepository.findByCardNumber(cardNumber)
-                .orElseThrow(() -> new AppException("Card not found", HttpStatus.NOT_FOUND));
+    public List<Card> findAllByOwnerId(Long ownerId) {
+        return shardRouter.onOwner(ownerId, () -> cardsJpaRepository.findAllByOwnerId(ownerId));
     }
 
-    public List<Card> findAllByOwnerId(Long ownerId) {
-        return cardsJpaRepository.findAllByOwnerId(ownerId);
+    public Card findBalanceById(Long id) {
+        return shardRouter.onCard(id, () -> cardFastPath.findBalanceById(id))
+                .orElseThrow(this::cardNotFound);
     }
 
     public Page<Card> findPageByOwnerId(Long ownerId, Pageable pageable) {
-        return cardsJpaRepository.findAllByOwnerId(ownerId, pageable);
+        return shardRouter.onOwner(ownerId, () -> cardFastPath.findPageByOwnerId(ownerId, null, pageable));
     }
 
     public List<Card> findAllByOwnerIdAndStatus(Long ownerId, CardStatus status) {
-        return cardsJpaRepository.findAllByOwnerIdAndStatus(ownerId, status);
+        return shardRouter.onOwner(ownerId, () -> cardsJpaRepository.findAllByOwnerIdAndStatus(ownerId, status));
     }
 
     public Page<Card> findPageByOwnerIdAndStatus(Long ownerId, CardStatus status, Pageable pageable) {
-        return cardsJpaRepository.findAllByOwnerIdAndStatus(ownerId, status, pageable);
+        return shardRouter.onOwner(ownerId, () -> cardFastPath.findPageByOwnerId(ownerId, status, pageable));
+    }
+
+    public Page<Card> findProjectedByOwnerId(Long ownerId, CardStatus status, Set<CardField> fields, Pageable pageable) {
+        return shardRouter.onOwner(ownerId,
+                () -> cardsJpaRepository.findProjectedByOwnerId(ownerId, status, fields, pageable));
+    }
+
+    public List<Card> findProjectedByOwnerIdAndLastFour(Long ownerId, String lastFour, Set<CardField> fields) {
+        return shardRouter.onOwner(ownerId,
+                () -> cardsJpaRepository.findProjectedByOwnerIdAndLastFour(ownerId, lastFour, fields));
+    }
+
+    public List<Long> findIdsByOwnerId(Long ownerId) {
+        return shardRouter.onOwner(ownerId, () -> cardsJpaRepository.findIdsByOwnerId(ownerId));
+    }
+
+    public List<CardDto> findMaskedByOwnerId(Long ownerId) {
+        return shardRouter.onOwner(ownerId, () -> cardsJpaRepository.findMaskedByOwnerId(ownerId));
+    }
+
+    public CardListVersion findListVersion(Long ownerId, CardStatus status) {
+        return shardRouter.onOwner(ownerId, () -> status != null
+                ? cardsJpaRepository.findListVersionByOwnerIdAndStatus(ownerId, status)
+                : cardsJpaRepository.findListVersionByOwnerId(ownerId));
+    }
+
+    public CardVersion findVersionById(Long id) {
+        return shardRouter.onCard(id, () -> cardsJpaRepository.findVersionById(id))
+                .orElseThrow(this::cardNotFound);
+    }
+
+    public List<CardStatusTotals> findStatusTotalsByOwnerId(Long ownerId) {
+        return shardRouter.onOwner(ownerId, () -> cardsJpaRepository.findStatusTotalsByOwnerId(ownerId));
     }
 
     public Page<Card> findAllByStatus(CardStatus status, Pageable pageable) {
-        return cardsJpaRepository.findAllByStatus(status, pageable);
+        return shardRouter.fanOutPage(pageable, order(pageable),
+                shardPageable -> cardsJpaRepository.findAllByStatus(status, shardPageable));
     }
 
     public Page<Card> findAll(Pageable pageable) {
-        return cardsJpaRepository.findAll(pageable);
+        return shardRouter.fanOutPage(pageable, order(pageable), cardsJpaRepository::findAll);
+    }
+
+    /**
+     * Keyset page in id order: every shard reads at most {@code size} rows past its index position for
+     * {@code afterId}, however deep the page is.
+     */
+    public List<Card> findAllAfter(CardStatus status, long afterId, int size) {
+        Pageable first = PageRequest.of(0, size);
+        return shardRouter.fanOutFirst(size, BY_ID, () -> status != null
+                ? cardsJpaRepository.findByStatusAndIdGreaterThanOrderById(status, afterId, first)
+                : cardsJpaRepository.findByIdGreaterThanOrderById(afterId, first));
+    }
+
+    public long count(CardStatus status) {
+        return shardRouter.fanOut(true, () -> status != null
+                        ? cardsJpaRepository.countByStatus(status)
+                        : cardsJpaRepository.count()).stream()
+                .mapToLong(Long::longValue)
+                .sum();
     }
 
     public List<Card> findAll() {
-        return cardsJpaRepository.findAll();
+        return shardRouter.fanOut(true, cardsJpaRepository::findAll).stream()
+                .flatMap(List::stream)
+                .toList();
     }
 
     public void deleteById(Long id) {
-        Card card = findById(id);
-        cardsJpaRepository.deleteById(card.getId());
+        shardRouter.onCard(id, () -> {
+            Card card = findById(id);
+            cardsJpaRepository.deleteById(card.getId());
+            return null;
+        });
     }
 
     public Card findByIdWithLock(Long id) {
-        return cardsJpaRepository.findByIdWithLock(id)
-                .orElseThrow(() -> new AppException("Card not found", HttpStatus.NOT_FOUND));
+        return shardRouter.onCard(id, () -> cardFastPath.findByIdWithLock(id))
+                .orElseThrow(this::cardNotFound);
+    }
+
+    /**
+     * Managed, fully loaded card under a row lock, for changes saved through JPA. The fast path may return a
+     * detached card with only the balance columns, which must not be merged back.
+     */
+    public Card findByIdForUpdate(Long id) {
+        return shardRouter.onCard(id, () -> cardLockTimeout.lock(() -> cardsJpaRepository.findByIdWithLock(id)))
+                .orElseThrow(this::cardNotFound);
+    }
+
+    /**
+     * Both cards of a transfer live with their owner, so one shard takes the whole batch.
+     */
+    public void updateBalances(List<Card> cards) {
+        shardRouter.onOwner(cards.get(0).getOwner().getId(), () -> {
+            cardFastPath.updateBalances(cards);
+            return null;
+        });
+    }
+
+    /**
+     * Bulk status updates take one chunk of ids per call; the caller decides how chunks map to transactions.
+     */
+    public int updateStatusByIds(List<Long> ids, Collection<CardStatus> sources, CardStatus target,
+                                 LocalDate expiryFrom, LocalDate expiryTo) {
+        return sum(shardRouter.fanOut(false, () -> cardsJpaRepository.updateStatusByIds(ids, sources, target,
+                lowerExpiryBound(expiryFrom), upperExpiryBound(expiryTo))));
+    }
+
+    public int updateStatusByOwnerIds(List<Long> ownerIds, Collection<CardStatus> sources, CardStatus target,
+                                      LocalDate expiryFrom, LocalDate expiryTo) {
+        return sum(shardRouter.fanOutByOwner(ownerIds, false, shardOwnerIds ->
+                cardsJpaRepository.updateStatusByOwnerIds(shardOwnerIds, sources, target,
+                        lowerExpiryBound(expiryFrom), upperExpiryBound(expiryTo))));
+    }
+
+    public int updateStatusInIdRange(long fromId, long toId, Collection<CardStatus> sources, CardStatus target,
+                                     LocalDate expiryFrom, LocalDate expiryTo) {
+        return sum(shardRouter.fanOut(false, () -> cardsJpaRepository.updateStatusInIdRange(fromId, toId, sources,
+                target, lowerExpiryBound(expiryFrom), upperExpiryBound(expiryTo))));
+    }
+
+    public long findMinId() {
+        return shardRouter.fanOut(true, cardsJpaRepository::findMinId).stream()
+                .filter(id -> id > 0)
+                .min(Long::compare)
+                .orElse(0L);
+    }
+
+    public long findMaxId() {
+        return shardRouter.fanOut(true, cardsJpaRepository::findMaxId).stream()
+                .max(Long::compare)
+                .orElse(0L);
+    }
+
+    public int expireCardsBefore(LocalDate date, CardStatus status, int limit) {
+        return sum(shardRouter.fanOut(false, () ->
+                jdbcTemplate.update(EXPIRE_CARDS, date, status.name(), limit, status.name())));
+    }
+
+    public int forEachOwner(BiConsumer<Long, Long> consumer) {
+        return sum(shardRouter.fanOut(true, () -> {
+            int cards = 0;
+            try (Stream<Object[]> owners = cardsJpaRepository.streamOwners()) {
+                for (Object[] row : (Iterable<Object[]>) owners::iterator) {
+                    consumer.accept((Long) row[0], (Long) row[1]);
+                    cards++;
+                }
+            }
+            return cards;
+        }));
+    }
+
+    public int fillMissingLastFour(Function<Card, String> lastFourOf) {
+        return sum(shardRouter.fanOut(false, () -> {
+            int filled = 0;
+            long afterId = 0;
+            while (true) {
+                List<Card> chunk = cardsJpaRepository.findWithoutLastFour(afterId, PageRequest.of(0, bulkChunkSize));
+                if (chunk.isEmpty()) {
+                    return filled;
+                }
+                List<Object[]> rows = new ArrayList<>(chunk.size());
+                for (Card card : chunk) {
+                    String lastFour = lastFourOf.apply(card);
+                    if (lastFour != null) {
+                        rows.add(new Object[]{lastFour, card.getId()});
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_LAST_FOUR, rows);
+                }
+                afterId = chunk.get(chunk.size() - 1).getId();
+                filled += rows.size();
+            }
+        }));
+    }
+
+    private AppException cardNotFound() {
+        businessMetrics.cardNotFound();
+        return new AppException("Card not found", HttpStatus.NOT_FOUND);
+    }
+
+    private static Comparator<Card> order(Pageable pageable) {
+        return SortComparators.of(pageable.getSort(), SORTABLE, BY_ID);
+    }
+
+    private int sum(List<Integer> counts) {
+        return counts.stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private LocalDate lowerExpiryBound(LocalDate expiryFrom) {
+        return expiryFrom != null ? expiryFrom : MIN_EXPIRY_DATE;
+    }
+
+    private LocalDate upperExpiryBound(LocalDate expiryTo) {
+        return expiryTo != null ? expiryTo : MAX_EXPIRY_DATE;
     }
 }
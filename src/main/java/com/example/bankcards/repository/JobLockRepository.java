@@ -0,0 +1,41 @@
+package com.example.bankcards.repository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+/**
+ * Lock rows are written with plain JDBC: native updates issued through Hibernate carry no query spaces and would
+ * evict the entire second-level cache on every commit.
+ */
+@Repository
+@Timed("bankcards.repository")
+@RequiredArgsConstructor
+public class JobLockRepository {
+
+    private static final String TRY_ACQUIRE = "INSERT INTO job_locks (name, locked_until, locked_at, locked_by) " +
+            "VALUES (?, now() + make_interval(secs => ?), now(), ?) " +
+            "ON CONFLICT (name) DO UPDATE SET locked_until = EXCLUDED.locked_until, " +
+            "locked_at = EXCLUDED.locked_at, locked_by = EXCLUDED.locked_by " +
+            "WHERE job_locks.locked_until <= now()";
+    private static final String EXTEND = "UPDATE job_locks SET locked_until = now() + make_interval(secs => ?) " +
+            "WHERE name = ? AND locked_by = ? AND locked_until > now()";
+    private static final String RELEASE = "UPDATE job_locks SET locked_until = now() WHERE name = ? AND locked_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean tryAcquire(String name, String lockedBy, Duration lockTimeout) {
+        return jdbcTemplate.update(TRY_ACQUIRE, name, lockTimeout.toSeconds(), lockedBy) > 0;
+    }
+
+    public boolean extend(String name, String lockedBy, Duration lockTimeout) {
+        return jdbcTemplate.update(EXTEND, lockTimeout.toSeconds(), name, lockedBy) > 0;
+    }
+
+    public void release(String name, String lockedBy) {
+        jdbcTemplate.update(RELEASE, name, lockedBy);
+    }
+}
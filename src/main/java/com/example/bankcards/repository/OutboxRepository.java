@@ -0,0 +1,67 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.OutboxEvent;
+import com.example.bankcards.entity.OutboxPartition;
+import com.example.bankcards.repository.jpa.OutboxJpaRepository;
+import com.example.bankcards.repository.jpa.OutboxPartitionJpaRepository;
+import com.example.bankcards.repository.shard.ShardRouter;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Events are stored on the shard of the card owner, next to the card rows they describe, so they commit or roll
+ * back with them. The publisher side runs inside the caller's shard and transaction.
+ */
+@Repository
+@Timed("bankcards.repository")
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private final OutboxJpaRepository outboxJpaRepository;
+    private final OutboxPartitionJpaRepository outboxPartitionJpaRepository;
+    private final ShardRouter shardRouter;
+
+    public void save(Long ownerId, OutboxEvent event) {
+        shardRouter.onOwner(ownerId, () -> outboxJpaRepository.save(event));
+    }
+
+    /**
+     * Moves pending events to the slice they belong to under the current partition count; a no-op unless the
+     * count was changed while events were pending.
+     */
+    public int repartition(int partitions) {
+        return outboxJpaRepository.repartition(partitions);
+    }
+
+    public void createMissingPartitions(int partitions) {
+        Set<Integer> existing = outboxPartitionJpaRepository.findAll().stream()
+                .map(OutboxPartition::getPartitionId)
+                .collect(Collectors.toSet());
+        outboxPartitionJpaRepository.saveAll(IntStream.range(0, partitions)
+                .filter(partition -> !existing.contains(partition))
+                .mapToObj(OutboxPartition::new)
+                .toList());
+    }
+
+    /**
+     * Locks the partition row until the end of the current transaction; {@code false} when another publisher
+     * already holds it.
+     */
+    public boolean tryLockPartition(int partition) {
+        return !outboxPartitionJpaRepository.lockIfFree(partition).isEmpty();
+    }
+
+    public List<OutboxEvent> findOldestInPartition(int partition, int limit) {
+        return outboxJpaRepository.findOldestInPartition(partition, limit);
+    }
+
+    public void deleteAll(List<OutboxEvent> events) {
+        outboxJpaRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+    }
+}
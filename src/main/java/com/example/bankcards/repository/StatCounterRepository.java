@@ -0,0 +1,43 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.dto.StatCounterTotal;
+import com.example.bankcards.repository.jpa.StatCounterJpaRepository;
+import com.example.bankcards.repository.shard.ShardRouter;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@Timed("bankcards.repository")
+@RequiredArgsConstructor
+public class StatCounterRepository {
+    // Plain JDBC on purpose: a native update through Hibernate declares no query spaces and would evict the whole
+    // second-level cache on every commit that touches a counter.
+    private static final String INCREMENT = "INSERT INTO stat_counters (name, stripe, amount) VALUES (?, ?, ?) " +
+            "ON CONFLICT (name, stripe) DO UPDATE SET amount = stat_counters.amount + EXCLUDED.amount";
+
+    private final StatCounterJpaRepository statCounterJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    public void increment(Map<String, BigDecimal> deltas, short stripe) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((name, delta) -> rows.add(new Object[]{name, stripe, delta}));
+        jdbcTemplate.batchUpdate(INCREMENT, rows);
+    }
+
+    public Map<String, BigDecimal> findTotals() {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        for (List<StatCounterTotal> shardTotals : shardRouter.fanOut(true, statCounterJpaRepository::findTotals)) {
+            shardTotals.forEach(total -> totals.merge(total.getName(), total.getValue(), BigDecimal::add));
+        }
+        return totals;
+    }
+}
@@ -3,61 +3,127 @@ package com.example.bankcards.repository;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.exception.AppException;
 import com.example.bankcards.repository.jpa.UserJpaRepository;
+import com.example.bankcards.repository.shard.ShardRouter;
+import com.example.bankcards.repository.shard.SortComparators;
+import com.example.bankcards.service.BusinessMetrics;
+import com.example.bankcards.util.ChunkUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
+@Timed("bankcards.repository")
 @RequiredArgsConstructor
 public class UserRepository {
+    private static final Comparator<User> BY_ID = Comparator.comparing(User::getId);
+    private static final Map<String, Comparator<User>> SORTABLE = Map.of(
+            "id", BY_ID,
+            "login", SortComparators.nullsLast(User::getLogin),
+            "phone", SortComparators.nullsLast(User::getPhone),
+            "createdAt", SortComparators.nullsLast(User::getCreatedAt),
+            "updatedAt", SortComparators.nullsLast(User::getUpdatedAt));
+
     private final UserJpaRepository userJpaRepository;
+    private final ShardRouter shardRouter;
+    private final BusinessMetrics businessMetrics;
+
+    @Value("${app.bulk.chunk-size}")
+    private int bulkChunkSize;
 
     public User save(User user) {
-        return userJpaRepository.save(user);
+        if (user.getId() != null) {
+            return shardRouter.onOwner(user.getId(), () -> userJpaRepository.save(user));
+        }
+        int shard = shardRouter.placeLogin(user.getLogin());
+        User saved = shardRouter.onShard(shard, () -> userJpaRepository.save(user));
+        shardRouter.registerUser(saved.getId(), saved.getLogin(), shard);
+        return saved;
     }
 
     public List<User> findAll() {
-        return userJpaRepository.findAll();
+        return shardRouter.fanOut(true, userJpaRepository::findAll).stream()
+                .flatMap(List::stream)
+                .toList();
     }
 
     public Page<User> findAll(Pageable pageable) {
-        return userJpaRepository.findAll(pageable);
+        return shardRouter.fanOutPage(pageable, SortComparators.of(pageable.getSort(), SORTABLE, BY_ID),
+                userJpaRepository::findAll);
+    }
+
+    public List<User> findAllAfter(long afterId, int size) {
+        Pageable first = PageRequest.of(0, size);
+        return shardRouter.fanOutFirst(size, BY_ID, () -> userJpaRepository.findByIdGreaterThanOrderById(afterId, first));
+    }
+
+    public long count() {
+        return shardRouter.fanOut(true, userJpaRepository::count).stream()
+                .mapToLong(Long::longValue)
+                .sum();
     }
 
     public User findById(Long id) {
-        return userJpaRepository.findById(id)
-                .orElseThrow(() -> new AppException("User not found", HttpStatus.NOT_FOUND));
+        return shardRouter.onOwner(id, () -> userJpaRepository.findById(id))
+                .orElseThrow(() -> userNotFound("User not found"));
     }
 
     public User getByLogin(String login) {
-        return userJpaRepository.findByLogin(login)
-                .orElseThrow(() -> new AppException("Unknown user", HttpStatus.NOT_FOUND));
+        return findByLogin(login)
+                .orElseThrow(() -> userNotFound("Unknown user"));
     }
 
     public Optional<User> findByLogin(String login) {
-        return userJpaRepository.findByLogin(login);
+        return shardRouter.onLogin(login, () -> userJpaRepository.findByLogin(login));
     }
 
     public boolean existsByLogin(String login) {
-        return userJpaRepository.existsByLogin(login);
+        return shardRouter.onLogin(login, () -> userJpaRepository.existsByLogin(login));
     }
 
     public void deleteById(Long id) {
-        if (!userJpaRepository.existsById(id)) {
-            throw new AppException("User not found", HttpStatus.NOT_FOUND);
-        }
-        userJpaRepository.deleteById(id);
+        shardRouter.onOwner(id, () -> {
+            User user = userJpaRepository.findWithCardsById(id)
+                    .orElseThrow(() -> userNotFound("User not found"));
+            userJpaRepository.delete(user);
+            return null;
+        });
+        shardRouter.unregisterUser(id);
     }
 
-    public void updateBannedStatus(Long id, boolean banned) {
-        User user = findById(id);
-        user.setBanned(banned);
-        userJpaRepository.save(user);
+    public boolean updateBannedStatus(Long id, boolean banned) {
+        return shardRouter.onOwner(id, () -> {
+            User user = findById(id);
+            if (user.isBanned() == banned) {
+                return false;
+            }
+            user.setBanned(banned);
+            userJpaRepository.save(user);
+            return true;
+        });
     }
 
+    public int updateBannedStatusByIds(List<Long> ids, boolean banned) {
+        return shardRouter.fanOutByOwner(ids, false, shardIds -> {
+            int affected = 0;
+            for (List<Long> chunk : ChunkUtil.partition(shardIds, bulkChunkSize)) {
+                affected += userJpaRepository.updateBannedStatusByIds(chunk, banned);
+            }
+            return affected;
+        }).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private AppException userNotFound(String message) {
+        businessMetrics.userNotFound();
+        return new AppException(message, HttpStatus.NOT_FOUND);
+    }
 }
@@ -0,0 +1,33 @@
+package com.example.bankcards.repository.jdbc;
+
+import com.example.bankcards.service.audit.AuditEvent;
+import com.example.bankcards.service.audit.AuditSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Copies audit batches into {@code audit_events} with one JDBC batch per writer batch, for SQL queries over the
+ * trail.
+ */
+@RequiredArgsConstructor
+public class AuditEventJdbcSink implements AuditSink {
+    private static final String INSERT = "INSERT INTO audit_events (sequence, occurred_at, actor, action, target, outcome) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (statement, event) -> {
+            statement.setLong(1, event.sequence());
+            statement.setTimestamp(2, new Timestamp(event.timestamp()));
+            statement.setString(3, event.actor());
+            statement.setString(4, event.action());
+            statement.setString(5, event.target());
+            statement.setString(6, event.outcome());
+        });
+    }
+}
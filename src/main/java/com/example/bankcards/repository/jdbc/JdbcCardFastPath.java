@@ -0,0 +1,131 @@
+package com.example.bankcards.repository.jdbc;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.exception.AppException;
+import com.example.bankcards.repository.CardFastPath;
+import com.example.bankcards.repository.CardLockTimeout;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link CardFastPath} on plain SQL: no persistence context, no dirty checking, balances written in one batch.
+ * Cards come back detached with the owner as an id-only reference.
+ */
+@Component
+@ConditionalOnProperty(name = "app.card.fast-path", havingValue = "jdbc")
+@RequiredArgsConstructor
+public class JdbcCardFastPath implements CardFastPath {
+    private static final String BALANCE_COLUMNS = "SELECT id, owner_id, status, balance FROM cards WHERE id = ?";
+    private static final String CARD_COLUMNS = "SELECT id, card_number, card_hash, last_four, expiry_date, status, "
+            + "balance, created_at, updated_at, owner_id FROM cards";
+    private static final String UPDATE_BALANCE = "UPDATE cards SET balance = ?, updated_at = ? WHERE id = ?";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "lastFour", "last_four",
+            "expiryDate", "expiry_date",
+            "status", "status",
+            "balance", "balance",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at");
+
+    private static final RowMapper<Card> BALANCE_MAPPER = (rs, rowNum) -> Card.builder()
+            .id(rs.getLong("id"))
+            .owner(owner(rs.getLong("owner_id")))
+            .status(CardStatus.valueOf(rs.getString("status")))
+            .balance(rs.getBigDecimal("balance"))
+            .build();
+
+    private static final RowMapper<Card> CARD_MAPPER = (rs, rowNum) -> Card.builder()
+            .id(rs.getLong("id"))
+            .cardNumber(rs.getString("card_number"))
+            .cardHash(rs.getString("card_hash"))
+            .lastFour(rs.getString("last_four"))
+            .expiryDate(rs.getObject("expiry_date", LocalDate.class))
+            .status(CardStatus.valueOf(rs.getString("status")))
+            .balance(rs.getBigDecimal("balance"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .owner(owner(rs.getLong("owner_id")))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CardLockTimeout cardLockTimeout;
+
+    @Override
+    public Optional<Card> findBalanceById(Long id) {
+        return jdbcTemplate.query(BALANCE_COLUMNS, BALANCE_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Card> findByIdWithLock(Long id) {
+        return cardLockTimeout.lock(() ->
+                jdbcTemplate.query(BALANCE_COLUMNS + " FOR UPDATE", BALANCE_MAPPER, id).stream().findFirst());
+    }
+
+    @Override
+    public void updateBalances(List<Card> cards) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            card.setUpdatedAt(now.toLocalDateTime());
+            rows.add(new Object[]{card.getBalance(), now, card.getId()});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE, rows);
+    }
+
+    @Override
+    public Page<Card> findPageByOwnerId(Long ownerId, CardStatus status, Pageable pageable) {
+        String where = status != null ? " WHERE owner_id = ? AND status = ?" : " WHERE owner_id = ?";
+        Object[] args = status != null ? new Object[]{ownerId, status.name()} : new Object[]{ownerId};
+
+        StringBuilder sql = new StringBuilder(CARD_COLUMNS).append(where).append(orderBy(pageable.getSort()));
+        List<Object> pageArgs = new ArrayList<>(List.of(args));
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT ? OFFSET ?");
+            pageArgs.add(pageable.getPageSize());
+            pageArgs.add(pageable.getOffset());
+        }
+        List<Card> content = jdbcTemplate.query(sql.toString(), CARD_MAPPER, pageArgs.toArray());
+
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cards" + where, Long.class, args));
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new AppException("Unsupported sort property: " + order.getProperty(), HttpStatus.BAD_REQUEST);
+            }
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return " ORDER BY " + String.join(", ", orders);
+    }
+
+    private static User owner(long ownerId) {
+        return User.builder().id(ownerId).build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.bankcards.repository.jdbc;
+
+import com.example.bankcards.service.ratelimit.BucketSpec;
+import com.example.bankcards.service.ratelimit.RateLimiter;
+import com.example.bankcards.service.ratelimit.SharedRateLimitStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared buckets in {@code rate_limit_buckets}, one row per key holding the theoretical arrival time in
+ * milliseconds of the database clock, so node clocks do not matter. Taking a token is a single upsert that only
+ * advances the row when the request fits; the wait is read only for rejected requests.
+ */
+@RequiredArgsConstructor
+public class JdbcRateLimitStore implements SharedRateLimitStore {
+    private static final String NOW_MILLIS = "(EXTRACT(EPOCH FROM clock_timestamp()) * 1000)::BIGINT";
+    private static final String ACQUIRE = "WITH clock AS (SELECT " + NOW_MILLIS + " AS now_ms) "
+            + "INSERT INTO rate_limit_buckets AS b (bucket_key, tat) SELECT ?, now_ms + ? FROM clock "
+            + "ON CONFLICT (bucket_key) DO UPDATE SET tat = GREATEST(b.tat, (SELECT now_ms FROM clock)) + ? "
+            + "WHERE GREATEST(b.tat, (SELECT now_ms FROM clock)) + ? - (SELECT now_ms FROM clock) <= ? "
+            + "RETURNING tat";
+    private static final String WAIT = "SELECT tat + ? - ? - " + NOW_MILLIS
+            + " FROM rate_limit_buckets WHERE bucket_key = ?";
+    private static final String EVICT = "DELETE FROM rate_limit_buckets WHERE tat <= " + NOW_MILLIS;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long tryAcquire(String bucketKey, BucketSpec spec) {
+        long interval = spec.refillPeriod().toMillis();
+        long burst = spec.capacity() * interval;
+        List<Long> advanced = jdbcTemplate.queryForList(ACQUIRE, Long.class, bucketKey, interval, interval, interval,
+                burst);
+        if (!advanced.isEmpty()) {
+            return RateLimiter.ALLOWED;
+        }
+        List<Long> wait = jdbcTemplate.queryForList(WAIT, Long.class, interval, burst, bucketKey);
+        long waitMillis = wait.isEmpty() ? 1 : Math.max(1, wait.get(0));
+        return TimeUnit.MILLISECONDS.toNanos(waitMillis);
+    }
+
+    @Override
+    public int evictIdle() {
+        return jdbcTemplate.update(EVICT);
+    }
+}
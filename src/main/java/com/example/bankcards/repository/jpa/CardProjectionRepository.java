@@ -0,0 +1,21 @@
+package com.example.bankcards.repository.jpa;
+
+import com.example.bankcards.dto.card.CardField;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Queries that select only the columns behind the requested {@link CardField}s. The returned cards are
+ * detached and carry just those attributes.
+ */
+public interface CardProjectionRepository {
+
+    Page<Card> findProjectedByOwnerId(Long ownerId, CardStatus status, Set<CardField> fields, Pageable pageable);
+
+    List<Card> findProjectedByOwnerIdAndLastFour(Long ownerId, String lastFour, Set<CardField> fields);
+}
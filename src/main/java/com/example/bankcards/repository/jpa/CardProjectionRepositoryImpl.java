@@ -0,0 +1,120 @@
+package com.example.bankcards.repository.jpa;
+
+import com.example.bankcards.dto.card.CardField;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+public class CardProjectionRepositoryImpl implements CardProjectionRepository {
+    private static final String LAST_FOUR = "lastFour";
+    private static final String CARD_NUMBER = "cardNumber";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Card> findProjectedByOwnerId(Long ownerId, CardStatus status, Set<CardField> fields, Pageable pageable) {
+        BiFunction<CriteriaBuilder, Root<Card>, Predicate> where = (cb, card) -> status != null
+                ? cb.and(cb.equal(card.get("owner").get("id"), ownerId), cb.equal(card.get("status"), status))
+                : cb.equal(card.get("owner").get("id"), ownerId);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Card> card = query.from(Card.class);
+        query.multiselect(selections(cb, card, attributes(fields)))
+                .where(where.apply(cb, card))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), card, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Card> content = typedQuery.getResultList().stream().map(this::toCard).toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            Root<Card> counted = countQuery.from(Card.class);
+            countQuery.select(cb.count(counted)).where(where.apply(cb, counted));
+            return entityManager.createQuery(countQuery).getSingleResult();
+        });
+    }
+
+    @Override
+    public List<Card> findProjectedByOwnerIdAndLastFour(Long ownerId, String lastFour, Set<CardField> fields) {
+        Set<String> attributes = attributes(fields);
+        attributes.addAll(CardField.MASKED_CARD_NUMBER.getAttributes());
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Card> card = query.from(Card.class);
+        query.multiselect(selections(cb, card, attributes))
+                .where(cb.equal(card.get("owner").get("id"), ownerId),
+                        cb.or(cb.equal(card.get("lastFour"), lastFour), cb.isNull(card.get("lastFour"))));
+
+        return entityManager.createQuery(query).getResultList().stream().map(this::toCard).toList();
+    }
+
+    private static Set<String> attributes(Set<CardField> fields) {
+        Set<String> attributes = new LinkedHashSet<>();
+        fields.forEach(field -> attributes.addAll(field.getAttributes()));
+        return attributes;
+    }
+
+    /**
+     * The encrypted card number is only a fallback for rows whose {@code last_four} has not been backfilled yet,
+     * so it is selected as {@code CASE WHEN last_four IS NULL THEN card_number END} instead of for every row.
+     */
+    private static List<Selection<?>> selections(CriteriaBuilder cb, Root<Card> card, Set<String> attributes) {
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            if (CARD_NUMBER.equals(attribute)) {
+                selections.add(cb.<String>selectCase()
+                        .when(cb.isNull(card.get(LAST_FOUR)), card.<String>get(CARD_NUMBER))
+                        .otherwise(cb.nullLiteral(String.class))
+                        .alias(CARD_NUMBER));
+            } else {
+                selections.add(card.get(attribute).alias(attribute));
+            }
+        }
+        return selections;
+    }
+
+    private Card toCard(Tuple tuple) {
+        Card card = new Card();
+        for (TupleElement<?> element : tuple.getElements()) {
+            Object value = tuple.get(element);
+            switch (element.getAlias()) {
+                case "id" -> card.setId((Long) value);
+                case "lastFour" -> card.setLastFour((String) value);
+                case "cardNumber" -> card.setCardNumber((String) value);
+                case "expiryDate" -> card.setExpiryDate((LocalDate) value);
+                case "status" -> card.setStatus((CardStatus) value);
+                case "balance" -> card.setBalance((BigDecimal) value);
+                default -> throw new IllegalStateException("Unexpected card attribute " + element.getAlias());
+            }
+        }
+        return card;
+    }
+}
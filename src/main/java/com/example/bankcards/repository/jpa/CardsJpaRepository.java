@@ -1,36 +1,137 @@
 package com.example.bankcards.repository.jpa;
 
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardListVersion;
+import com.example.bankcards.dto.card.CardStatusTotals;
+import com.example.bankcards.dto.card.CardVersion;
 import com.example.bankcards.entity.card.Card;
 import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.repository.CardLockTimeout;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CardsJpaRepository extends JpaRepository<Card, Long> {
-    Optional<Card> findByCardNumber(String cardNumber);
+public interface CardsJpaRepository extends JpaRepository<Card, Long>, CardProjectionRepository {
+    @EntityGraph(Card.SUMMARY_GRAPH)
+    Optional<Card> findById(Long id);
 
+    @EntityGraph(Card.SUMMARY_GRAPH)
     List<Card> findAllByOwnerId(Long ownerId);
+    @EntityGraph(Card.SUMMARY_GRAPH)
     Page<Card> findAllByOwnerId(Long ownerId, Pageable pageable);
 
+    @EntityGraph(Card.SUMMARY_GRAPH)
     List<Card> findAllByOwnerIdAndStatus(Long ownerId, CardStatus status);
+    @EntityGraph(Card.SUMMARY_GRAPH)
     Page<Card> findAllByOwnerIdAndStatus(Long ownerId, CardStatus status, Pageable pageable);
 
+    @EntityGraph(Card.SUMMARY_GRAPH)
     Page<Card> findAllByStatus(CardStatus status, Pageable pageable);
 
+    @EntityGraph(Card.SUMMARY_GRAPH)
     Page<Card> findAll(Pageable pageable);
 
+    @EntityGraph(Card.SUMMARY_GRAPH)
+    List<Card> findByIdGreaterThanOrderById(Long afterId, Pageable pageable);
+
+    @EntityGraph(Card.SUMMARY_GRAPH)
+    List<Card> findByStatusAndIdGreaterThanOrderById(CardStatus status, Long afterId, Pageable pageable);
+
+    long countByStatus(CardStatus status);
+
     boolean existsByCardHash(String cardHash);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = CardLockTimeout.MILLIS))
+    @EntityGraph(Card.SUMMARY_GRAPH)
     @Query("SELECT c FROM Card c WHERE c.id = :id")
     Optional<Card> findByIdWithLock(@Param("id") Long id);
+
+    @Query("SELECT c.id FROM Card c WHERE c.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT new com.example.bankcards.dto.card.CardDto(c.id, " +
+            "CONCAT('**** **** **** ', COALESCE(c.lastFour, '****')), c.expiryDate, c.status, c.balance) " +
+            "FROM Card c WHERE c.owner.id = :ownerId ORDER BY c.id")
+    List<CardDto> findMaskedByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT new com.example.bankcards.dto.card.CardListVersion(COUNT(c), MAX(c.updatedAt)) " +
+            "FROM Card c WHERE c.owner.id = :ownerId")
+    CardListVersion findListVersionByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT new com.example.bankcards.dto.card.CardListVersion(COUNT(c), MAX(c.updatedAt)) " +
+            "FROM Card c WHERE c.owner.id = :ownerId AND c.status = :status")
+    CardListVersion findListVersionByOwnerIdAndStatus(@Param("ownerId") Long ownerId,
+                                                      @Param("status") CardStatus status);
+
+    @Query("SELECT new com.example.bankcards.dto.card.CardVersion(c.id, c.owner.id, c.updatedAt) " +
+            "FROM Card c WHERE c.id = :id")
+    Optional<CardVersion> findVersionById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT c.id, c.owner.id FROM Card c")
+    Stream<Object[]> streamOwners();
+
+    @EntityGraph(Card.SUMMARY_GRAPH)
+    @Query("SELECT c FROM Card c WHERE c.lastFour IS NULL AND c.id > :afterId ORDER BY c.id")
+    List<Card> findWithoutLastFour(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT new com.example.bankcards.dto.card.CardStatusTotals(c.status, COUNT(c), COALESCE(SUM(c.balance), 0)) " +
+            "FROM Card c WHERE c.owner.id = :ownerId GROUP BY c.status")
+    List<CardStatusTotals> findStatusTotalsByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT COALESCE(MIN(c.id), 0) FROM Card c")
+    long findMinId();
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM Card c")
+    long findMaxId();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Card c SET c.status = :target, c.updatedAt = LOCAL DATETIME " +
+            "WHERE c.id IN :ids AND c.status IN :sources " +
+            "AND c.expiryDate BETWEEN :expiryFrom AND :expiryTo")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids,
+                          @Param("sources") Collection<CardStatus> sources,
+                          @Param("target") CardStatus target,
+                          @Param("expiryFrom") LocalDate expiryFrom,
+                          @Param("expiryTo") LocalDate expiryTo);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Card c SET c.status = :target, c.updatedAt = LOCAL DATETIME " +
+            "WHERE c.owner.id IN :ownerIds AND c.status IN :sources " +
+            "AND c.expiryDate BETWEEN :expiryFrom AND :expiryTo")
+    int updateStatusByOwnerIds(@Param("ownerIds") Collection<Long> ownerIds,
+                               @Param("sources") Collection<CardStatus> sources,
+                               @Param("target") CardStatus target,
+                               @Param("expiryFrom") LocalDate expiryFrom,
+                               @Param("expiryTo") LocalDate expiryTo);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Card c SET c.status = :target, c.updatedAt = LOCAL DATETIME " +
+            "WHERE c.id BETWEEN :fromId AND :toId AND c.status IN :sources " +
+            "AND c.expiryDate BETWEEN :expiryFrom AND :expiryTo")
+    int updateStatusInIdRange(@Param("fromId") long fromId,
+                              @Param("toId") long toId,
+                              @Param("sources") Collection<CardStatus> sources,
+                              @Param("target") CardStatus target,
+                              @Param("expiryFrom") LocalDate expiryFrom,
+                              @Param("expiryTo") LocalDate expiryTo);
 }
@@ -0,0 +1,9 @@
+package com.example.bankcards.repository.jpa;
+
+import com.example.bankcards.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobLockJpaRepository extends JpaRepository<JobLock, String> {
+}
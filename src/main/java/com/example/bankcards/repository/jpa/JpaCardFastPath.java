@@ -0,0 +1,45 @@
+package com.example.bankcards.repository.jpa;
+
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.repository.CardFastPath;
+import com.example.bankcards.repository.CardLockTimeout;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "app.card.fast-path", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaCardFastPath implements CardFastPath {
+
+    private final CardsJpaRepository cardsJpaRepository;
+    private final CardLockTimeout cardLockTimeout;
+
+    @Override
+    public Optional<Card> findBalanceById(Long id) {
+        return cardsJpaRepository.findById(id);
+    }
+
+    @Override
+    public Optional<Card> findByIdWithLock(Long id) {
+        return cardLockTimeout.lock(() -> cardsJpaRepository.findByIdWithLock(id));
+    }
+
+    @Override
+    public void updateBalances(List<Card> cards) {
+        cardsJpaRepository.saveAll(cards);
+    }
+
+    @Override
+    public Page<Card> findPageByOwnerId(Long ownerId, CardStatus status, Pageable pageable) {
+        return status != null
+                ? cardsJpaRepository.findAllByOwnerIdAndStatus(ownerId, status, pageable)
+                : cardsJpaRepository.findAllByOwnerId(ownerId, pageable);
+    }
+}
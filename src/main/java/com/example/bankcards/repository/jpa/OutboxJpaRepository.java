@@ -0,0 +1,23 @@
+package com.example.bankcards.repository.jpa;
+
+import com.example.bankcards.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxJpaRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query(value = "SELECT * FROM outbox_events WHERE partition_id = :partition ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<OutboxEvent> findOldestInPartition(@Param("partition") int partition, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET partition_id = MOD(aggregate_id, :partitions) " +
+            "WHERE partition_id <> MOD(aggregate_id, :partitions)", nativeQuery = true)
+    int repartition(@Param("partitions") int partitions);
+}
@@ -0,0 +1,17 @@
+package com.example.bankcards.repository.jpa;
+
+import com.example.bankcards.entity.OutboxPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxPartitionJpaRepository extends JpaRepository<OutboxPartition, Integer> {
+
+    @Query(value = "SELECT partition_id FROM outbox_partitions WHERE partition_id = :partition " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Integer> lockIfFree(@Param("partition") int partition);
+}
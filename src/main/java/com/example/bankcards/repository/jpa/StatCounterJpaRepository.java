@@ -0,0 +1,18 @@
+package com.example.bankcards.repository.jpa;
+
+import com.example.bankcards.dto.StatCounterTotal;
+import com.example.bankcards.entity.StatCounter;
+import com.example.bankcards.entity.StatCounterId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StatCounterJpaRepository extends JpaRepository<StatCounter, StatCounterId> {
+
+    @Query("SELECT new com.example.bankcards.dto.StatCounterTotal(c.id.name, SUM(c.amount)) " +
+            "FROM StatCounter c GROUP BY c.id.name")
+    List<StatCounterTotal> findTotals();
+}
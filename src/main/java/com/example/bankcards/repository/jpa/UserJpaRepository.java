@@ -1,18 +1,54 @@
 package com.example.bankcards.repository.jpa;
 
 import com.example.bankcards.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserJpaRepository extends JpaRepository<User, Long> {
+    String BY_LOGIN_CACHE_REGION = "user-by-login";
 
+    @EntityGraph(User.SUMMARY_GRAPH)
+    Optional<User> findById(Long id);
+
+    @EntityGraph(User.WITH_CARDS_GRAPH)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findWithCardsById(@Param("id") Long id);
+
+    @EntityGraph(User.SUMMARY_GRAPH)
+    List<User> findAll();
+
+    @EntityGraph(User.SUMMARY_GRAPH)
+    Page<User> findAll(Pageable pageable);
+
+    @EntityGraph(User.SUMMARY_GRAPH)
+    List<User> findByIdGreaterThanOrderById(Long afterId, Pageable pageable);
+
+    @EntityGraph(User.SUMMARY_GRAPH)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_LOGIN_CACHE_REGION)
+    })
     @Query("SELECT u FROM User u WHERE LOWER(u.login) = LOWER(:login)")
     Optional<User> findByLogin(@Param("login") String login);
 
     boolean existsByLogin(String login);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.banned = :banned, u.updatedAt = LOCAL DATETIME " +
+            "WHERE u.id IN :ids AND u.banned <> :banned")
+    int updateBannedStatusByIds(@Param("ids") Collection<Long> ids, @Param("banned") boolean banned);
 }
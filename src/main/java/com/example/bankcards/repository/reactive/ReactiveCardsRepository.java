@@ -0,0 +1,77 @@
+package com.example.bankcards.repository.reactive;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@RequiredArgsConstructor
+public class ReactiveCardsRepository {
+    private static final String CARD_COLUMNS =
+            "SELECT id, card_number, last_four, expiry_date, status, balance, owner_id FROM cards ";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    /**
+     * Rows are pulled from a server-side portal {@code fetchSize} at a time, so a slow subscriber holds back
+     * the query instead of buffering the whole result.
+     */
+    public Flux<Card> findByOwnerId(Long ownerId, CardStatus status, long offset, Integer limit) {
+        StringBuilder sql = new StringBuilder(CARD_COLUMNS).append("WHERE owner_id = :ownerId");
+        if (status != null) {
+            sql.append(" AND status = :status");
+        }
+        sql.append(" ORDER BY id");
+        if (limit != null) {
+            sql.append(" LIMIT :limit OFFSET :offset");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString()).bind("ownerId", ownerId);
+        if (status != null) {
+            spec = spec.bind("status", status.name());
+        }
+        if (limit != null) {
+            spec = spec.bind("limit", limit).bind("offset", offset);
+        }
+        return spec.filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> toCard(row))
+                .all();
+    }
+
+    public Flux<Card> findByOwnerIdAndLastFour(Long ownerId, String lastFour) {
+        return databaseClient.sql(CARD_COLUMNS +
+                        "WHERE owner_id = :ownerId AND (last_four = :lastFour OR last_four IS NULL) ORDER BY id")
+                .bind("ownerId", ownerId)
+                .bind("lastFour", lastFour)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> toCard(row))
+                .all();
+    }
+
+    public Mono<Card> findById(Long id) {
+        return databaseClient.sql(CARD_COLUMNS + "WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toCard(row))
+                .one();
+    }
+
+    private static Card toCard(Row row) {
+        return Card.builder()
+                .id(row.get("id", Long.class))
+                .cardNumber(row.get("card_number", String.class))
+                .lastFour(row.get("last_four", String.class))
+                .expiryDate(row.get("expiry_date", LocalDate.class))
+                .status(CardStatus.valueOf(row.get("status", String.class)))
+                .balance(row.get("balance", BigDecimal.class))
+                .owner(User.builder().id(row.get("owner_id", Long.class)).build())
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.bankcards.repository.reactive;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.UserRole;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<User> findByLogin(String login) {
+        return databaseClient.sql("SELECT id, login, phone, role FROM users WHERE LOWER(login) = LOWER(:login)")
+                .bind("login", login)
+                .map((row, metadata) -> User.builder()
+                        .id(row.get("id", Long.class))
+                        .login(row.get("login", String.class))
+                        .phone(row.get("phone", String.class))
+                        .role(UserRole.valueOf(row.get("role", String.class)))
+                        .build())
+                .one();
+    }
+}
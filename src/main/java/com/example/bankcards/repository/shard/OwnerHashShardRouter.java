@@ -0,0 +1,238 @@
+package com.example.bankcards.repository.shard;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class OwnerHashShardRouter implements ShardRouter {
+    static final int ID_SLOTS = 64;
+
+    private final ShardDataSources shards;
+    private final ShardDirectory directory;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final Executor fanOutExecutor;
+
+    public OwnerHashShardRouter(ShardDataSources shards, ShardDirectory directory,
+                                PlatformTransactionManager transactionManager, Executor fanOutExecutor) {
+        if (shards.size() > ID_SLOTS) {
+            throw new IllegalArgumentException("At most " + ID_SLOTS + " shards are supported");
+        }
+        this.shards = shards;
+        this.directory = directory;
+        this.fanOutExecutor = fanOutExecutor;
+
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public int shardCount() {
+        return shards.size();
+    }
+
+    @Override
+    public int placeLogin(String login) {
+        return JumpConsistentHash.bucket(login, shards.size());
+    }
+
+    @Override
+    public <T> T onShard(int shard, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            bindToTransaction(shard);
+            return action.get();
+        }
+
+        Integer previous = ShardContext.current();
+        ShardContext.set(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    @Override
+    public <T> T onOwner(Long ownerId, Supplier<T> action) {
+        return onShard(directory.findShardByUserId(ownerId).orElse(0), action);
+    }
+
+    @Override
+    public <T> T onLogin(String login, Supplier<T> action) {
+        return onShard(directory.findShardByLogin(login).orElseGet(() -> placeLogin(login)), action);
+    }
+
+    @Override
+    public <T> T onCard(Long cardId, Supplier<T> action) {
+        Integer bound = ShardContext.current();
+        if (bound != null) {
+            return onShard(bound, action);
+        }
+        return onShard(locateCard(cardId), action);
+    }
+
+    @Override
+    public <T> List<T> fanOut(boolean readOnly, Supplier<T> action) {
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> inShardTransaction(target, readOnly, action), fanOutExecutor));
+        }
+        return join(futures);
+    }
+
+    @Override
+    public <T> List<T> fanOutByOwner(Collection<Long> ownerIds, boolean readOnly, Function<List<Long>, T> action) {
+        Map<Long, Integer> shardsByOwner = directory.findShardsByUserIds(ownerIds);
+        Map<Integer, List<Long>> ownersByShard = new TreeMap<>();
+        shardsByOwner.forEach((ownerId, shard) -> ownersByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(ownerId));
+
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        ownersByShard.forEach((shard, owners) -> futures.add(CompletableFuture.supplyAsync(
+                () -> inShardTransaction(shard, readOnly, () -> action.apply(owners)), fanOutExecutor)));
+        return join(futures);
+    }
+
+    @Override
+    public <T> Page<T> fanOutPage(Pageable pageable, Comparator<T> order, Function<Pageable, Page<T>> query) {
+        Sort sort = pageable.getSort().getOrderFor("id") != null
+                ? pageable.getSort()
+                : pageable.getSort().and(Sort.by("id"));
+        Pageable shardPageable = pageable.isPaged()
+                ? PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), sort)
+                : PageRequest.of(0, Integer.MAX_VALUE, sort);
+
+        List<Page<T>> pages = fanOut(true, () -> query.apply(shardPageable));
+
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        List<T> merged = mergeSorted(pages.stream().map(Page::getContent).toList(), order);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(merged, pageable, total);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(merged.subList(from, to), pageable, total);
+    }
+
+    @Override
+    public <T> List<T> fanOutFirst(int limit, Comparator<T> order, Supplier<List<T>> query) {
+        List<T> merged = mergeSorted(fanOut(true, query), order);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    @Override
+    public void registerUser(Long userId, String login, int shard) {
+        directory.register(userId, login, shard);
+    }
+
+    @Override
+    public void unregisterUser(Long userId) {
+        directory.remove(userId);
+    }
+
+    private void bindToTransaction(int shard) {
+        Integer bound = ShardContext.current();
+        if (bound != null) {
+            if (bound != shard) {
+                throw new IllegalStateException("Transaction is bound to shard " + bound + ", cannot access shard " + shard);
+            }
+            return;
+        }
+
+        ShardContext.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ShardContext.clear();
+            }
+        });
+    }
+
+    private <T> T inShardTransaction(int shard, boolean readOnly, Supplier<T> action) {
+        ShardContext.set(shard);
+        try {
+            TransactionTemplate transaction = readOnly ? readTransaction : writeTransaction;
+            return transaction.execute(status -> action.get());
+        } finally {
+            ShardContext.clear();
+        }
+    }
+
+    private int locateCard(Long cardId) {
+        int originShard = (int) ((cardId - 1) % ID_SLOTS);
+        if (originShard < shards.size() && cardExists(originShard, cardId)) {
+            return originShard;
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            if (shard != originShard && cardExists(shard, cardId)) {
+                return shard;
+            }
+        }
+        return originShard < shards.size() ? originShard : 0;
+    }
+
+    private boolean cardExists(int shard, Long cardId) {
+        Boolean exists = new JdbcTemplate(shards.get(shard))
+                .queryForObject("SELECT EXISTS (SELECT 1 FROM cards WHERE id = ?)", Boolean.class, cardId);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private static <T> List<T> join(List<CompletableFuture<T>> futures) {
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    static <T> List<T> mergeSorted(List<List<T>> shardRows, Comparator<T> comparator) {
+        record Head<T>(T value, Iterator<T> rest) {}
+
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>((left, right) -> comparator.compare(left.value(), right.value()));
+        for (List<T> rows : shardRows) {
+            Iterator<T> iterator = rows.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), iterator));
+            }
+        }
+
+        List<T> merged = new ArrayList<>();
+        while (!heads.isEmpty()) {
+            Head<T> head = heads.poll();
+            merged.add(head.value());
+            if (head.rest().hasNext()) {
+                heads.add(new Head<>(head.rest().next(), head.rest()));
+            }
+        }
+        return merged;
+    }
+}
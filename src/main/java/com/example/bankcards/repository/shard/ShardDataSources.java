@@ -0,0 +1,31 @@
+package com.example.bankcards.repository.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+public record ShardDataSources(List<DataSource> shards) implements AutoCloseable {
+
+    public ShardDataSources {
+        shards = List.copyOf(shards);
+    }
+
+    public DataSource get(int shard) {
+        return shards.get(shard);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        for (DataSource shard : shards.subList(1, shards.size())) {
+            if (shard.isWrapperFor(HikariDataSource.class)) {
+                shard.unwrap(HikariDataSource.class).close();
+            }
+        }
+    }
+}
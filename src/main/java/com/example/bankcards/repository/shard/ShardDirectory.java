@@ -0,0 +1,100 @@
+package com.example.bankcards.repository.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ShardDirectory {
+
+    public record Entry(long userId, String login, int shard) {}
+
+    private record CachedShard(int shard, long expiresAt) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long cacheTtlNanos;
+    private final Map<Long, CachedShard> shardsByUserId = new ConcurrentHashMap<>();
+    private final Map<String, CachedShard> shardsByLogin = new ConcurrentHashMap<>();
+
+    public ShardDirectory(DataSource directoryDataSource, Duration cacheTtl) {
+        this.jdbcTemplate = new JdbcTemplate(directoryDataSource);
+        this.cacheTtlNanos = cacheTtl.toNanos();
+    }
+
+    public Optional<Integer> findShardByUserId(long userId) {
+        CachedShard cached = shardsByUserId.get(userId);
+        if (cached != null && cached.expiresAt() - System.nanoTime() > 0) {
+            return Optional.of(cached.shard());
+        }
+        List<Integer> shards = jdbcTemplate.queryForList(
+                "SELECT shard_id FROM user_shards WHERE user_id = ?", Integer.class, userId);
+        shards.forEach(shard -> shardsByUserId.put(userId, cache(shard)));
+        return shards.stream().findFirst();
+    }
+
+    public Optional<Integer> findShardByLogin(String login) {
+        String key = login.toLowerCase(Locale.ROOT);
+        CachedShard cached = shardsByLogin.get(key);
+        if (cached != null && cached.expiresAt() - System.nanoTime() > 0) {
+            return Optional.of(cached.shard());
+        }
+        List<Integer> shards = jdbcTemplate.queryForList(
+                "SELECT shard_id FROM user_shards WHERE LOWER(login) = ?", Integer.class, key);
+        shards.forEach(shard -> shardsByLogin.put(key, cache(shard)));
+        return shards.stream().findFirst();
+    }
+
+    public Map<Long, Integer> findShardsByUserIds(Collection<Long> userIds) {
+        Map<Long, Integer> shards = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, shard_id FROM user_shards WHERE user_id = ANY (?)",
+                statement -> statement.setArray(1, statement.getConnection().createArrayOf("bigint", userIds.toArray())),
+                (RowCallbackHandler) resultSet ->
+                        shards.put(resultSet.getLong("user_id"), resultSet.getInt("shard_id")));
+        return shards;
+    }
+
+    public List<Entry> findPageAfter(long afterUserId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT user_id, login, shard_id FROM user_shards WHERE user_id > ? ORDER BY user_id LIMIT ?",
+                (resultSet, rowNum) -> new Entry(resultSet.getLong("user_id"),
+                        resultSet.getString("login"), resultSet.getInt("shard_id")),
+                afterUserId, limit);
+    }
+
+    public void register(long userId, String login, int shard) {
+        jdbcTemplate.update("INSERT INTO user_shards (user_id, login, shard_id) VALUES (?, ?, ?) " +
+                "ON CONFLICT (user_id) DO NOTHING", userId, login, shard);
+    }
+
+    public void updateShard(long userId, int shard) {
+        jdbcTemplate.update("UPDATE user_shards SET shard_id = ? WHERE user_id = ?", shard, userId);
+        evict(userId);
+    }
+
+    public void remove(long userId) {
+        jdbcTemplate.update("DELETE FROM user_shards WHERE user_id = ?", userId);
+        evict(userId);
+    }
+
+    public void evict(long userId) {
+        shardsByUserId.remove(userId);
+        shardsByLogin.clear();
+    }
+
+    public void evictAll() {
+        shardsByUserId.clear();
+        shardsByLogin.clear();
+    }
+
+    private CachedShard cache(int shard) {
+        return new CachedShard(shard, System.nanoTime() + cacheTtlNanos);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.bankcards.repository.shard;
+
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public class ShardProvisioner implements ApplicationRunner {
+    private static final List<String> SHARDED_TABLES = List.of("users", "cards");
+
+    private final ShardDataSources shards;
+    private final ShardDirectory directory;
+    private final ResourceLoader resourceLoader;
+    private final String changeLog;
+    private final int batchSize;
+
+    public ShardProvisioner(ShardDataSources shards, ShardDirectory directory, ResourceLoader resourceLoader,
+                            String changeLog, int batchSize) {
+        this.shards = shards;
+        this.directory = directory;
+        this.resourceLoader = resourceLoader;
+        this.changeLog = changeLog;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        for (int shard = 1; shard < shards.size(); shard++) {
+            migrate(shard);
+        }
+        for (String table : SHARDED_TABLES) {
+            interleaveIdentity(table);
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            backfillDirectory(shard);
+        }
+    }
+
+    private void migrate(int shard) throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(shards.get(shard));
+        liquibase.setChangeLog(changeLog);
+        liquibase.setResourceLoader(resourceLoader);
+        liquibase.afterPropertiesSet();
+        log.info("Shard {} migrated", shard);
+    }
+
+    private void interleaveIdentity(String table) {
+        long globalMaxId = 0;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Long maxId = jdbc(shard).queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            globalMaxId = Math.max(globalMaxId, maxId);
+        }
+
+        for (int shard = 0; shard < shards.size(); shard++) {
+            JdbcTemplate jdbc = jdbc(shard);
+            String increment = jdbc.queryForObject("SELECT identity_increment FROM information_schema.columns " +
+                    "WHERE table_schema = current_schema() AND table_name = ? AND column_name = 'id'", String.class, table);
+            if (String.valueOf(OwnerHashShardRouter.ID_SLOTS).equals(increment)) {
+                continue;
+            }
+
+            long start = firstIdAbove(globalMaxId, shard);
+            jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id SET INCREMENT BY " + OwnerHashShardRouter.ID_SLOTS +
+                    " RESTART WITH " + start);
+            log.info("Shard {}: {}.id now starts at {} with increment {}", shard, table, start, OwnerHashShardRouter.ID_SLOTS);
+        }
+    }
+
+    static long firstIdAbove(long maxId, int shard) {
+        long slotBase = (maxId / OwnerHashShardRouter.ID_SLOTS + 1) * OwnerHashShardRouter.ID_SLOTS;
+        return slotBase + shard + 1;
+    }
+
+    private void backfillDirectory(int shard) {
+        long afterId = 0;
+        int registered = 0;
+        while (true) {
+            List<Map<String, Object>> users = jdbc(shard).queryForList(
+                    "SELECT id, login FROM users WHERE id > ? ORDER BY id LIMIT ?", afterId, batchSize);
+            if (users.isEmpty()) {
+                break;
+            }
+            for (Map<String, Object> user : users) {
+                afterId = ((Number) user.get("id")).longValue();
+                directory.register(afterId, (String) user.get("login"), shard);
+            }
+            registered += users.size();
+        }
+        log.info("Shard {}: {} users checked against the shard directory", shard, registered);
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shards.get(shard));
+    }
+}
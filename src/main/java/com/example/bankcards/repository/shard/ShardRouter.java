@@ -0,0 +1,45 @@
+package com.example.bankcards.repository.shard;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public interface ShardRouter {
+
+    int shardCount();
+
+    int placeLogin(String login);
+
+    <T> T onShard(int shard, Supplier<T> action);
+
+    <T> T onOwner(Long ownerId, Supplier<T> action);
+
+    <T> T onLogin(String login, Supplier<T> action);
+
+    <T> T onCard(Long cardId, Supplier<T> action);
+
+    <T> List<T> fanOut(boolean readOnly, Supplier<T> action);
+
+    <T> List<T> fanOutByOwner(Collection<Long> ownerIds, boolean readOnly, Function<List<Long>, T> action);
+
+    /**
+     * Offset page over every shard. {@code order} must sort like {@code pageable} with {@code id} as the last key;
+     * each shard returns its first {@code offset + size} rows, so prefer {@link #fanOutFirst} for deep pages.
+     */
+    <T> Page<T> fanOutPage(Pageable pageable, Comparator<T> order, Function<Pageable, Page<T>> query);
+
+    /**
+     * Keyset page over every shard: {@code query} returns at most {@code limit} rows in {@code order} after the
+     * caller's cursor, and the merge keeps the first {@code limit} of them.
+     */
+    <T> List<T> fanOutFirst(int limit, Comparator<T> order, Supplier<List<T>> query);
+
+    void registerUser(Long userId, String login, int shard);
+
+    void unregisterUser(Long userId);
+}
@@ -0,0 +1,76 @@
+package com.example.bankcards.repository.shard;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class SingleShardRouter implements ShardRouter {
+
+    @Override
+    public int shardCount() {
+        return 1;
+    }
+
+    @Override
+    public int placeLogin(String login) {
+        return 0;
+    }
+
+    @Override
+    public <T> T onShard(int shard, Supplier<T> action) {
+        return action.get();
+    }
+
+    @Override
+    public <T> T onOwner(Long ownerId, Supplier<T> action) {
+        return action.get();
+    }
+
+    @Override
+    public <T> T onLogin(String login, Supplier<T> action) {
+        return action.get();
+    }
+
+    @Override
+    public <T> T onCard(Long cardId, Supplier<T> action) {
+        return action.get();
+    }
+
+    @Override
+    public <T> List<T> fanOut(boolean readOnly, Supplier<T> action) {
+        return Collections.singletonList(action.get());
+    }
+
+    @Override
+    public <T> List<T> fanOutByOwner(Collection<Long> ownerIds, boolean readOnly, Function<List<Long>, T> action) {
+        return Collections.singletonList(action.apply(List.copyOf(ownerIds)));
+    }
+
+    @Override
+    public <T> Page<T> fanOutPage(Pageable pageable, Comparator<T> order, Function<Pageable, Page<T>> query) {
+        return query.apply(pageable);
+    }
+
+    @Override
+    public <T> List<T> fanOutFirst(int limit, Comparator<T> order, Supplier<List<T>> query) {
+        return query.get();
+    }
+
+    @Override
+    public void registerUser(Long userId, String login, int shard) {
+    }
+
+    @Override
+    public void unregisterUser(Long userId) {
+    }
+}
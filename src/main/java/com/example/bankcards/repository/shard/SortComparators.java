@@ -0,0 +1,34 @@
+package com.example.bankcards.repository.shard;
+
+import com.example.bankcards.exception.AppException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Typed comparators for merging shard pages. Each repository lists the properties it can be sorted by; anything
+ * else is rejected instead of being read reflectively.
+ */
+public final class SortComparators {
+    private SortComparators() {}
+
+    public static <T> Comparator<T> of(Sort sort, Map<String, Comparator<T>> properties, Comparator<T> byId) {
+        Comparator<T> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<T> byProperty = properties.get(order.getProperty());
+            if (byProperty == null) {
+                throw new AppException("Cannot sort by " + order.getProperty(), HttpStatus.BAD_REQUEST);
+            }
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return sort.getOrderFor("id") != null ? comparator : comparator.thenComparing(byId);
+    }
+
+    /** Ascending with nulls last, which is how PostgreSQL orders them. */
+    public static <T, K extends Comparable<? super K>> Comparator<T> nullsLast(Function<T, K> key) {
+        return Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.bankcards.scheduler;
+
+import com.example.bankcards.service.CardExpiryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.card.expiry.enabled", havingValue = "true")
+public class CardExpiryScheduler {
+
+    private final CardExpiryService cardExpiryService;
+
+    @Scheduled(cron = "${app.card.expiry.cron}")
+    public void expireCards() {
+        cardExpiryService.expireCards(LocalDate.now());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.bankcards.scheduler;
+
+import com.example.bankcards.service.CardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.startup.migrate-on-boot", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class CardLastFourBackfillRunner implements ApplicationRunner {
+
+    private final CardService cardService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int filled = cardService.backfillLastFourDigits();
+        if (filled > 0) {
+            log.info("Stored last four digits for {} existing cards", filled);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.bankcards.scheduler;
+
+import com.example.bankcards.service.CardOwnershipIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(value = "app.card.ownership-index.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class CardOwnershipIndexLoader implements ApplicationRunner {
+
+    private final CardOwnershipIndex cardOwnershipIndex;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        cardOwnershipIndex.load();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.bankcards.scheduler;
+
+import com.example.bankcards.service.outbox.OutboxPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true")
+public class OutboxPublishScheduler {
+
+    private final OutboxPublisher outboxPublisher;
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms}")
+    public void publishPending() {
+        outboxPublisher.publishPending();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.bankcards.scheduler;
+
+import com.example.bankcards.service.ratelimit.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true")
+public class RateLimitSweepScheduler {
+
+    private final RateLimiter rateLimiter;
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms}")
+    public void evictIdleBuckets() {
+        int evicted = rateLimiter.evictIdle();
+        log.debug("Evicted {} idle rate limit buckets, {} left", evicted, rateLimiter.size());
+    }
+}
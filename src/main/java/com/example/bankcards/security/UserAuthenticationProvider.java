@@ -8,6 +8,7 @@ import com.example.bankcards.dto.UserDto;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.mapper.UserMapper;
 import com.example.bankcards.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -50,13 +51,17 @@ public class UserAuthenticationProvider {
                 .sign(algorithm);
     }
 
+    public String verifyToken(String token) {
+        Algorithm algorithm = Algorithm.HMAC256(secretKey);
+        JWTVerifier verifier = JWT.require(algorithm).build();
+        DecodedJWT decoded = verifier.verify(token);
+        return decoded.getSubject();
+    }
+
+    @Timed("bankcards.auth")
     public Authentication validateToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
-            JWTVerifier verifier = JWT.require(algorithm).build();
-            DecodedJWT decoded = verifier.verify(token);
-
-            User user = userService.findByLogin(decoded.getSubject());
+            User user = userService.findByLogin(verifyToken(token));
             UserDto userDto = userMapper.toUserDto(user);
 
             Collection<? extends GrantedAuthority> authorities = Collections.singletonList(
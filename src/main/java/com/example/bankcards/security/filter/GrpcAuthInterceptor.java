@@ -0,0 +1,58 @@
+package com.example.bankcards.security.filter;
+
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.security.UserAuthenticationProvider;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+
+/**
+ * JWT check for the gRPC endpoint: the {@code authorization} metadata carries the same bearer token as the HTTP API.
+ * Only the USER role is admitted; the user is exposed to the service through {@link #USER}.
+ */
+@RequiredArgsConstructor
+public class GrpcAuthInterceptor implements ServerInterceptor {
+    public static final Context.Key<UserDto> USER = Context.key("user");
+
+    static final Metadata.Key<String> AUTHORIZATION = Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final UserAuthenticationProvider userAuthenticationProvider;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+                                                                 Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String header = headers.get(AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return reject(call, Status.UNAUTHENTICATED.withDescription("Full authentication is required"));
+        }
+
+        Authentication authentication;
+        try {
+            authentication = userAuthenticationProvider.validateToken(header.substring(7));
+        } catch (Exception e) {
+            return reject(call, Status.UNAUTHENTICATED.withDescription("Invalid or expired token"));
+        }
+
+        boolean user = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_USER".equals(authority.getAuthority()));
+        if (!user) {
+            return reject(call, Status.PERMISSION_DENIED.withDescription("Access denied"));
+        }
+
+        Context context = Context.current().withValue(USER, (UserDto) authentication.getPrincipal());
+        return Contexts.interceptCall(context, call, headers, next);
+    }
+
+    private static <ReqT, RespT> ServerCall.Listener<ReqT> reject(ServerCall<ReqT, RespT> call, Status status) {
+        call.close(status, new Metadata());
+        return new ServerCall.Listener<>() {
+        };
+    }
+}
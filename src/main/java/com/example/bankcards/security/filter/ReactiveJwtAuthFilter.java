@@ -0,0 +1,59 @@
+package com.example.bankcards.security.filter;
+
+import com.example.bankcards.dto.ErrorDto;
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.entity.UserRole;
+import com.example.bankcards.mapper.UserMapper;
+import com.example.bankcards.repository.reactive.ReactiveUserRepository;
+import com.example.bankcards.security.UserAuthenticationProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * JWT check for the reactive API: same tokens as {@link JwtAuthFilter}, but the user is loaded over R2DBC.
+ * Only the USER role is admitted, as on the servlet card controller.
+ */
+@RequiredArgsConstructor
+public class ReactiveJwtAuthFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+    public static final String USER_ATTRIBUTE = ReactiveJwtAuthFilter.class.getName() + ".user";
+
+    private final UserAuthenticationProvider userAuthenticationProvider;
+    private final ReactiveUserRepository userRepository;
+    private final UserMapper userMapper;
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String header = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return error(HttpStatus.UNAUTHORIZED, "Full authentication is required");
+        }
+
+        String login;
+        try {
+            login = userAuthenticationProvider.verifyToken(header.substring(7));
+        } catch (Exception e) {
+            return error(HttpStatus.UNAUTHORIZED, "Invalid or expired token");
+        }
+
+        return userRepository.findByLogin(login)
+                .flatMap(user -> {
+                    if (user.getRole() != UserRole.USER) {
+                        return error(HttpStatus.FORBIDDEN, "Access denied");
+                    }
+                    UserDto userDto = userMapper.toUserDto(user);
+                    request.attributes().put(USER_ATTRIBUTE, userDto);
+                    return next.handle(request);
+                })
+                .switchIfEmpty(Mono.defer(() -> error(HttpStatus.UNAUTHORIZED, "Invalid or expired token")));
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status).bodyValue(ErrorDto.builder().message(message).build());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.bankcards.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters for business outcomes that latency timers do not show: rejected transfers, lock contention and lookups
+ * of missing cards or users. All share the {@code bankcards.outcomes} meter with an {@code outcome} tag.
+ */
+@Component
+public class BusinessMetrics {
+    static final String OUTCOMES = "bankcards.outcomes";
+
+    private final Counter insufficientFunds;
+    private final Counter lockTimeouts;
+    private final Counter cardsNotFound;
+    private final Counter usersNotFound;
+
+    public BusinessMetrics(MeterRegistry meterRegistry) {
+        this.insufficientFunds = counter(meterRegistry, "insufficient_funds");
+        this.lockTimeouts = counter(meterRegistry, "lock_timeout");
+        this.cardsNotFound = counter(meterRegistry, "card_not_found");
+        this.usersNotFound = counter(meterRegistry, "user_not_found");
+    }
+
+    public void insufficientFunds() {
+        insufficientFunds.increment();
+    }
+
+    public void lockTimeout() {
+        lockTimeouts.increment();
+    }
+
+    public void cardNotFound() {
+        cardsNotFound.increment();
+    }
+
+    public void userNotFound() {
+        usersNotFound.increment();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(OUTCOMES)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.card.CardExpiryReport;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.repository.CardsRepository;
+import com.example.bankcards.repository.JobLockRepository;
+import com.example.bankcards.service.audit.Audited;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CardExpiryService {
+    static final String JOB_NAME = "card-expiry";
+    private static final List<CardStatus> EXPIRABLE_STATUSES = List.of(CardStatus.ACTIVE, CardStatus.BLOCKED);
+
+    private final CardsRepository cardsRepository;
+    private final JobLockRepository jobLockRepository;
+    private final StatisticsService statisticsService;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Value("${app.card.expiry.chunk-size}")
+    private int chunkSize;
+
+    @Value("${app.card.expiry.lock-timeout}")
+    private Duration lockTimeout;
+
+    @Audited("card.expire")
+    public CardExpiryReport expireCards(LocalDate today) {
+        if (!jobLockRepository.tryAcquire(JOB_NAME, nodeId, lockTimeout)) {
+            log.info("Card expiry skipped: lock '{}' is held by another node", JOB_NAME);
+            return CardExpiryReport.builder()
+                    .expiredBefore(today)
+                    .lockAcquired(false)
+                    .build();
+        }
+
+        long startedAt = System.nanoTime();
+        int expiredCards = 0;
+        int chunks = 0;
+        try {
+            boolean lockHeld = true;
+            for (CardStatus status : EXPIRABLE_STATUSES) {
+                while (lockHeld) {
+                    int updated = expireChunk(today, status);
+                    if (updated == 0) {
+                        break;
+                    }
+                    expiredCards += updated;
+                    chunks++;
+
+                    if (updated < chunkSize) {
+                        break;
+                    }
+                    if (!jobLockRepository.extend(JOB_NAME, nodeId, lockTimeout)) {
+                        log.warn("Card expiry stopped: lock '{}' was lost after {} chunks", JOB_NAME, chunks);
+                        lockHeld = false;
+                    }
+                }
+            }
+        } finally {
+            jobLockRepository.release(JOB_NAME, nodeId);
+        }
+
+        CardExpiryReport report = CardExpiryReport.builder()
+                .expiredBefore(today)
+                .lockAcquired(true)
+                .expiredCards(expiredCards)
+                .chunks(chunks)
+                .durationMillis(Duration.ofNanos(System.nanoTime() - startedAt).toMillis())
+                .build();
+        log.info("Card expiry finished: {} cards expired before {} in {} chunks, {} ms",
+                report.getExpiredCards(), today, report.getChunks(), report.getDurationMillis());
+        return report;
+    }
+
+    private int expireChunk(LocalDate today, CardStatus status) {
+        Integer updated = transactionTemplate.execute(transaction -> {
+            int expired = cardsRepository.expireCardsBefore(today, status, chunkSize);
+            statisticsService.cardStatusChanged(status, CardStatus.EXPIRED, expired);
+            return expired;
+        });
+        return updated != null ? updated : 0;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.CardsRepository;
+import com.example.bankcards.util.LongLongHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-memory card id to owner id index for ownership checks. A card's owner never changes, so a hit
+ * is authoritative; a miss (card created on another node or not loaded yet) returns 0 and callers
+ * fall back to the database.
+ */
+@Slf4j
+@Component
+public class CardOwnershipIndex {
+    private final CardsRepository cardsRepository;
+    private final boolean enabled;
+    private final StampedLock lock = new StampedLock();
+    private final LongLongHashMap ownerByCard;
+
+    public CardOwnershipIndex(CardsRepository cardsRepository,
+                              @Value("${app.card.ownership-index.enabled}") boolean enabled,
+                              @Value("${app.card.ownership-index.expected-cards}") int expectedCards) {
+        this.cardsRepository = cardsRepository;
+        this.enabled = enabled;
+        this.ownerByCard = new LongLongHashMap(enabled ? expectedCards : 0);
+    }
+
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        int cards = cardsRepository.forEachOwner(this::put);
+        log.info("Card ownership index loaded: {} cards, {} KiB, {} ms", cards, memoryBytes() / 1024,
+                Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+    }
+
+    public long ownerOf(long cardId) {
+        if (!enabled) {
+            return 0;
+        }
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                long ownerId = ownerByCard.get(cardId);
+                if (lock.validate(stamp)) {
+                    return ownerId;
+                }
+            } catch (ArrayIndexOutOfBoundsException e) {
+                // torn read during a concurrent resize, retried under the read lock
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return ownerByCard.get(cardId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void put(long cardId, long ownerId) {
+        if (!enabled) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            ownerByCard.put(cardId, ownerId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(long cardId) {
+        if (!enabled) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            ownerByCard.remove(cardId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public long memoryBytes() {
+        long stamp = lock.readLock();
+        try {
+            return ownerByCard.memoryBytes();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
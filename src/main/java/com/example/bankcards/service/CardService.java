@@ -1,6 +1,13 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.BulkUpdateResult;
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.dto.UserSummaryDto;
+import com.example.bankcards.dto.card.BulkCardStatusRequest;
 import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardField;
+import com.example.bankcards.dto.card.CardListVersion;
+import com.example.bankcards.dto.card.CardVersion;
 import com.example.bankcards.dto.card.CreateCardRequest;
 import com.example.bankcards.dto.card.TransferRequest;
 import com.example.bankcards.entity.User;
@@ -9,21 +16,42 @@ import com.example.bankcards.entity.card.CardStatus;
 import com.example.bankcards.exception.AppException;
 import com.example.bankcards.mapper.CardMapper;
 import com.example.bankcards.repository.CardsRepository;
+import com.example.bankcards.service.audit.Audited;
+import com.example.bankcards.service.cache.CacheInvalidationBus;
+import com.example.bankcards.service.outbox.OutboxService;
 import com.example.bankcards.util.CardNumberCryptoUtil;
 import com.example.bankcards.util.DebitCardGenerator;
+import com.example.bankcards.util.ChunkUtil;
+import com.example.bankcards.util.ETagUtil;
 import com.example.bankcards.util.HashUtil;
 import com.example.bankcards.util.MaskingUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CardService {
@@ -32,7 +60,18 @@ public class CardService {
     private final CardMapper cardMapper;
     private final DebitCardGenerator debitCardGenerator;
     private final CardNumberCryptoUtil cryptoUtil;
-
+    private final StatisticsService statisticsService;
+    private final CardOwnershipIndex cardOwnershipIndex;
+    private final BusinessMetrics businessMetrics;
+    private final OutboxService outboxService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.bulk.chunk-size}")
+    private int bulkChunkSize;
+
+    @Audited("card.create")
+    @Timed("bankcards.service")
     @Transactional
     public CardDto createCard(CreateCardRequest request) {
         User owner = userService.getUserById(request.getOwnerId());
@@ -43,6 +82,7 @@ public class CardService {
         Card card = Card.builder()
                 .cardNumber(encryptedCardNumber)
                 .cardHash(HashUtil.sha256(cardNumber))
+                .lastFour(MaskingUtil.lastFour(cardNumber))
                 .owner(owner)
                 .expiryDate(request.getExpiryDate())
                 .status(CardStatus.ACTIVE)
@@ -50,6 +90,9 @@ public class CardService {
                 .build();
 
         Card saved = cardsRepository.save(card);
+        statisticsService.cardCreated(saved);
+        outboxService.cardCreated(saved);
+        cardOwnershipIndex.put(saved.getId(), owner.getId());
         return convertToDtoWithMaskedNumber(saved);
     }
 
@@ -57,25 +100,132 @@ public class CardService {
         return balance != null ? balance : BigDecimal.ZERO;
     }
 
+    @Audited("card.activate")
     @Transactional
     public void activateCard(Long id) {
-        Card card = findCardById(id);
+        Card card = lockCardForUpdate(id);
         validateCardStatus(card, CardStatus.ACTIVE, "Card is already active");
 
         if (card.getStatus() == CardStatus.EXPIRED) {
             throw new AppException("Cannot activate an expired card", HttpStatus.BAD_REQUEST);
         }
 
+        CardStatus previous = card.getStatus();
+        statisticsService.cardStatusChanged(previous, CardStatus.ACTIVE, 1);
         card.setStatus(CardStatus.ACTIVE);
         cardsRepository.save(card);
+        outboxService.cardStatusChanged(card, previous);
     }
 
+    @Audited("card.block")
     @Transactional
     public void blockCard(Long id) {
-        Card card = findCardById(id);
+        Card card = lockCardForUpdate(id);
         validateCardStatus(card, CardStatus.BLOCKED, "Card is already blocked");
+        CardStatus previous = card.getStatus();
+        statisticsService.cardStatusChanged(previous, CardStatus.BLOCKED, 1);
         card.setStatus(CardStatus.BLOCKED);
         cardsRepository.save(card);
+        outboxService.cardStatusChanged(card, previous);
+    }
+
+    @Audited("card.bulk-block")
+    public BulkUpdateResult blockCards(BulkCardStatusRequest request) {
+        return updateCardsStatus(request, CardStatus.BLOCKED, EnumSet.of(CardStatus.BLOCKED));
+    }
+
+    @Audited("card.bulk-activate")
+    public BulkUpdateResult activateCards(BulkCardStatusRequest request) {
+        return updateCardsStatus(request, CardStatus.ACTIVE, EnumSet.of(CardStatus.ACTIVE, CardStatus.EXPIRED));
+    }
+
+    private BulkUpdateResult updateCardsStatus(BulkCardStatusRequest request, CardStatus target,
+                                               Set<CardStatus> forbiddenStatuses) {
+        validateBulkRequest(request);
+
+        Set<CardStatus> sources = EnumSet.complementOf(EnumSet.copyOf(forbiddenStatuses));
+        if (request.getStatus() != null) {
+            sources.retainAll(EnumSet.of(request.getStatus()));
+        }
+        if (sources.isEmpty()) {
+            return new BulkUpdateResult(0, 0, true);
+        }
+
+        // Every chunk commits on its own, so a large request never holds more than one chunk of row locks.
+        List<ToIntFunction<CardStatus>> chunks = statusUpdateChunks(request, target);
+        int affected = 0;
+        int committed = 0;
+        for (ToIntFunction<CardStatus> chunk : chunks) {
+            try {
+                Integer updated = transactionTemplate.execute(transaction -> {
+                    int chunkAffected = 0;
+                    for (CardStatus source : sources) {
+                        int sourceAffected = chunk.applyAsInt(source);
+                        statisticsService.cardStatusChanged(source, target, sourceAffected);
+                        chunkAffected += sourceAffected;
+                    }
+                    return chunkAffected;
+                });
+                affected += updated != null ? updated : 0;
+                committed++;
+            } catch (RuntimeException e) {
+                log.warn("Bulk change to {} stopped after {} of {} chunks, {} cards updated",
+                        target, committed, chunks.size(), affected, e);
+                return new BulkUpdateResult(affected, committed, false);
+            }
+        }
+        return new BulkUpdateResult(affected, committed, true);
+    }
+
+    private List<ToIntFunction<CardStatus>> statusUpdateChunks(BulkCardStatusRequest request, CardStatus target) {
+        LocalDate expiryFrom = request.getExpiryFrom();
+        LocalDate expiryTo = request.getExpiryTo();
+        if (hasItems(request.getCardIds())) {
+            return ChunkUtil.partition(distinct(request.getCardIds()), bulkChunkSize).stream()
+                    .<ToIntFunction<CardStatus>>map(ids -> source -> cardsRepository.updateStatusByIds(
+                            ids, EnumSet.of(source), target, expiryFrom, expiryTo))
+                    .toList();
+        }
+        if (hasItems(request.getOwnerIds())) {
+            return ChunkUtil.partition(distinct(request.getOwnerIds()), bulkChunkSize).stream()
+                    .<ToIntFunction<CardStatus>>map(ownerIds -> source -> cardsRepository.updateStatusByOwnerIds(
+                            ownerIds, EnumSet.of(source), target, expiryFrom, expiryTo))
+                    .toList();
+        }
+
+        List<ToIntFunction<CardStatus>> chunks = new ArrayList<>();
+        long maxId = cardsRepository.findMaxId();
+        for (long fromId = cardsRepository.findMinId(); fromId <= maxId; fromId += bulkChunkSize) {
+            long rangeFrom = fromId;
+            long rangeTo = fromId + bulkChunkSize - 1;
+            chunks.add(source -> cardsRepository.updateStatusInIdRange(
+                    rangeFrom, rangeTo, EnumSet.of(source), target, expiryFrom, expiryTo));
+        }
+        return chunks;
+    }
+
+    private void validateBulkRequest(BulkCardStatusRequest request) {
+        if (hasItems(request.getCardIds()) && hasItems(request.getOwnerIds())) {
+            throw new AppException("Specify either card ids or owner ids, not both", HttpStatus.BAD_REQUEST);
+        }
+
+        if (!hasItems(request.getCardIds()) && !hasItems(request.getOwnerIds()) && request.getStatus() == null
+                && request.getExpiryFrom() == null && request.getExpiryTo() == null) {
+            throw new AppException("At least one filter must be specified", HttpStatus.BAD_REQUEST);
+        }
+
+        if (request.getExpiryFrom() != null && request.getExpiryTo() != null
+                && request.getExpiryFrom().isAfter(request.getExpiryTo())) {
+            throw new AppException("Expiry range start must not be after its end", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private boolean hasItems(List<Long> ids) {
+        return ids != null && !ids.isEmpty();
+    }
+
+    private List<Long> distinct(List<Long> ids) {
+        return ids.stream().distinct().collect(Collectors.toList());
     }
 
     private void validateCardStatus(Card card, CardStatus forbiddenStatus, String errorMessage) {
@@ -84,14 +234,15 @@ public class CardService {
         }
     }
 
+    @Audited("card.delete")
     @Transactional
     public void deleteCard(Long id) {
-        Card card = findCardById(id);
+        Card card = lockCardForUpdate(id);
         cardsRepository.deleteById(card.getId());
-    }
-
-    private Card findCardById(Long id) {
-        return cardsRepository.findById(id);
+        statisticsService.cardDeleted(card);
+        outboxService.cardDeleted(card);
+        cardOwnershipIndex.remove(card.getId());
+        cacheInvalidationBus.cardsDeleted(List.of(card.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -103,6 +254,14 @@ public class CardService {
         return convertToDtoPage(cards);
     }
 
+    @Transactional(readOnly = true)
+    public Page<CardDto> getAllCardsAfter(CardStatus status, long afterId, int size) {
+        List<CardDto> cards = cardsRepository.findAllAfter(status, afterId, size).stream()
+                .map(this::convertToDtoWithMaskedNumber)
+                .toList();
+        return new PageImpl<>(cards, PageRequest.of(0, size), cardsRepository.count(status));
+    }
+
     private Page<CardDto> convertToDtoPage(Page<Card> cards) {
         return cards.map(this::convertToDtoWithMaskedNumber);
     }
@@ -114,6 +273,7 @@ public class CardService {
         return dto;
     }
 
+    @Timed("bankcards.service")
     @Transactional(readOnly = true)
     public Page<CardDto> getUserCards(String login, CardStatus status, Pageable pageable) {
         User user = userService.getUserByLogin(login);
@@ -124,6 +284,56 @@ public class CardService {
         return convertToDtoPage(cards);
     }
 
+    /**
+     * Version of a card list page from the row count and the latest {@code updated_at}; cheap enough to answer
+     * conditional requests without loading or decrypting the cards.
+     */
+    @Transactional(readOnly = true)
+    public String getUserCardsETag(Long ownerId, CardStatus status, Pageable pageable, Set<CardField> fields) {
+        CardListVersion version = cardsRepository.findListVersion(ownerId, status);
+        return ETagUtil.of(ownerId, status, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), fields,
+                version.getCards(), version.getLastUpdatedAt());
+    }
+
+    /**
+     * Sparse variant of {@link #getUserCards(String, CardStatus, Pageable)}: only the columns behind
+     * {@code fields} are selected, and card numbers are decrypted only for cards without {@code last_four}.
+     */
+    @Timed("bankcards.service")
+    @Transactional(readOnly = true)
+    public Page<CardDto> getUserCards(String login, CardStatus status, Pageable pageable, Set<CardField> fields) {
+        User user = userService.getUserByLogin(login);
+        return cardsRepository.findProjectedByOwnerId(user.getId(), status, fields, pageable)
+                .map(card -> toSparseDto(card, fields));
+    }
+
+    @Transactional(readOnly = true)
+    public UserSummaryDto getUserSummary(UserDto user) {
+        List<CardDto> cards = cardsRepository.findMaskedByOwnerId(user.getId());
+
+        Map<CardStatus, Long> cardsByStatus = new EnumMap<>(CardStatus.class);
+        for (CardStatus status : CardStatus.values()) {
+            cardsByStatus.put(status, 0L);
+        }
+        BigDecimal totalBalance = BigDecimal.ZERO;
+        for (CardDto card : cards) {
+            cardsByStatus.merge(card.getStatus(), 1L, Long::sum);
+            totalBalance = totalBalance.add(card.getBalance());
+        }
+
+        return UserSummaryDto.builder()
+                .profile(user)
+                .cards(cards)
+                .cardsByStatus(cardsByStatus)
+                .totalBalance(totalBalance)
+                .build();
+    }
+
+    public int backfillLastFourDigits() {
+        return cardsRepository.fillMissingLastFour(this::decryptLastFour);
+    }
+
+    @Timed("bankcards.service")
     @Transactional(readOnly = true)
     public List<CardDto> getUserCardsByLastFourDigits(String login, String lastFourDigits) {
         validateLastFourDigits(lastFourDigits);
@@ -137,6 +347,54 @@ public class CardService {
                 .collect(Collectors.toList());
     }
 
+    @Timed("bankcards.service")
+    @Transactional(readOnly = true)
+    public List<CardDto> getUserCardsByLastFourDigits(String login, String lastFourDigits, Set<CardField> fields) {
+        validateLastFourDigits(lastFourDigits);
+
+        User user = userService.getUserByLogin(login);
+        return cardsRepository.findProjectedByOwnerIdAndLastFour(user.getId(), lastFourDigits, fields).stream()
+                .filter(card -> lastFourDigits.equals(lastFourOf(card)))
+                .map(card -> toSparseDto(card, fields))
+                .collect(Collectors.toList());
+    }
+
+    private CardDto toSparseDto(Card card, Set<CardField> fields) {
+        CardDto dto = new CardDto();
+        if (fields.contains(CardField.ID)) {
+            dto.setId(card.getId());
+        }
+        if (fields.contains(CardField.MASKED_CARD_NUMBER)) {
+            dto.setMaskedCardNumber(MaskingUtil.maskCardNumber(lastFourOf(card)));
+        }
+        if (fields.contains(CardField.EXPIRY_DATE)) {
+            dto.setExpiryDate(card.getExpiryDate());
+        }
+        if (fields.contains(CardField.STATUS)) {
+            dto.setStatus(card.getStatus());
+        }
+        if (fields.contains(CardField.BALANCE)) {
+            dto.setBalance(card.getBalance());
+        }
+        return dto;
+    }
+
+    private String lastFourOf(Card card) {
+        if (card.getLastFour() != null) {
+            return card.getLastFour();
+        }
+        return decryptLastFour(card);
+    }
+
+    private String decryptLastFour(Card card) {
+        try {
+            return MaskingUtil.lastFour(cryptoUtil.decrypt(card.getCardNumber()));
+        } catch (Exception e) {
+            log.warn("Cannot decrypt number of card {}: {}", card.getId(), e.getMessage());
+            return null;
+        }
+    }
+
     private boolean matchesLastFourDigits(Card card, String lastFourDigits) {
         try {
             String decryptedCardNumber = cryptoUtil.decrypt(card.getCardNumber());
@@ -156,23 +414,38 @@ public class CardService {
         }
     }
 
+    @Audited("card.request-block")
     @Transactional
     public void requestBlockCard(Long cardId, String login) {
         Card card = getCardAndValidateOwnership(cardId, login);
         validateCardStatus(card, CardStatus.ACTIVE, "Card is not active");
 
+        CardStatus previous = card.getStatus();
+        statisticsService.cardStatusChanged(previous, CardStatus.BLOCKED, 1);
         card.setStatus(CardStatus.BLOCKED);
         cardsRepository.save(card);
+        outboxService.cardStatusChanged(card, previous);
     }
 
     private Card getCardAndValidateOwnership(Long cardId, String login) {
-        Card card = findCardById(cardId);
         User owner = userService.getUserByLogin(login);
+        validateIndexedOwnership(cardId, owner);
+        Card card = lockCardForUpdate(cardId);
+        validateOwnership(card, owner);
+        return card;
+    }
 
+    private void validateOwnership(Card card, User owner) {
         if (!card.getOwner().getId().equals(owner.getId())) {
             throw new AppException("Card does not belong to the user", HttpStatus.FORBIDDEN);
         }
-        return card;
+    }
+
+    private void validateIndexedOwnership(Long cardId, User owner) {
+        long indexedOwnerId = cardOwnershipIndex.ownerOf(cardId);
+        if (indexedOwnerId != 0 && indexedOwnerId != owner.getId()) {
+            throw new AppException("Card does not belong to the user", HttpStatus.FORBIDDEN);
+        }
     }
 
     private void validateCardsOwnership(Card card1, Card card2, User owner) {
@@ -182,15 +455,20 @@ public class CardService {
         }
     }
 
+    @Audited("card.transfer")
+    @Timed("bankcards.service")
     @Transactional
     public void transferBetweenOwnCards(TransferRequest request, String login) {
         Long firstId = Math.min(request.getFromCardId(), request.getToCardId());
         Long secondId = Math.max(request.getFromCardId(), request.getToCardId());
 
-        Card from = cardsRepository.findByIdWithLock(firstId);
-        Card to = cardsRepository.findByIdWithLock(secondId);
-
         User owner = userService.getUserByLogin(login);
+        validateIndexedOwnership(firstId, owner);
+        validateIndexedOwnership(secondId, owner);
+
+        Card from = lockCard(firstId);
+        Card to = lockCard(secondId);
+
         validateCardsOwnership(from, to, owner);
 
         validateSufficientBalance(from, request.getAmount());
@@ -198,19 +476,54 @@ public class CardService {
         from.setBalance(from.getBalance().subtract(request.getAmount()));
         to.setBalance(to.getBalance().add(request.getAmount()));
 
-        cardsRepository.save(from);
-        cardsRepository.save(to);
+        cardsRepository.updateBalances(List.of(from, to));
+        outboxService.transferred(from, to, request.getAmount());
+    }
+
+    private Card lockCard(Long id) {
+        return countingLockTimeouts(() -> cardsRepository.findByIdWithLock(id));
+    }
+
+    /**
+     * Status changes and deletes hold the row lock until commit, so the outbox ids of one card follow the commit
+     * order of its changes.
+     */
+    private Card lockCardForUpdate(Long id) {
+        return countingLockTimeouts(() -> cardsRepository.findByIdForUpdate(id));
+    }
+
+    private Card countingLockTimeouts(Supplier<Card> lock) {
+        try {
+            return lock.get();
+        } catch (PessimisticLockingFailureException e) {
+            businessMetrics.lockTimeout();
+            throw e;
+        }
     }
 
     private void validateSufficientBalance(Card card, BigDecimal amount) {
         if (card.getBalance().compareTo(amount) < 0) {
+            businessMetrics.insufficientFunds();
             throw new AppException("Insufficient funds", HttpStatus.BAD_REQUEST);
         }
     }
 
+    @Transactional(readOnly = true)
+    public String getBalanceETag(Long cardId, UserDto user) {
+        CardVersion version = cardsRepository.findVersionById(cardId);
+        if (!version.getOwnerId().equals(user.getId())) {
+            throw new AppException("Card does not belong to the user", HttpStatus.FORBIDDEN);
+        }
+        return ETagUtil.of(version.getId(), version.getUpdatedAt());
+    }
+
+    @Timed("bankcards.service")
     @Transactional(readOnly = true)
     public BigDecimal getBalance(Long cardId, String login) {
-        Card card = getCardAndValidateOwnership(cardId, login);
+        User owner = userService.getUserByLogin(login);
+        validateIndexedOwnership(cardId, owner);
+        Card card = cardsRepository.findBalanceById(cardId);
+        validateOwnership(card, owner);
         return card.getBalance();
     }
 }
\ No newline at end of file
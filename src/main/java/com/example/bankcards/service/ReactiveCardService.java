@@ -0,0 +1,83 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.exception.AppException;
+import com.example.bankcards.mapper.CardMapper;
+import com.example.bankcards.repository.reactive.ReactiveCardsRepository;
+import com.example.bankcards.util.CardNumberCryptoUtil;
+import com.example.bankcards.util.MaskingUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+
+/**
+ * Non-blocking counterpart of the read methods of {@link CardService}. Masks from {@code last_four}; cards not
+ * yet backfilled are decrypted off the event loop. Request validation throws before subscription, so it can
+ * still be answered with an error status rather than failing a response that is already streaming.
+ */
+@RequiredArgsConstructor
+public class ReactiveCardService {
+
+    private final ReactiveCardsRepository cardsRepository;
+    private final CardMapper cardMapper;
+    private final CardNumberCryptoUtil cryptoUtil;
+
+    public Flux<CardDto> getUserCards(UserDto user, CardStatus status, Integer page, Integer size) {
+        if (size != null && size <= 0 || page != null && page < 0) {
+            throw new AppException("Page must not be negative and size must be positive", HttpStatus.BAD_REQUEST);
+        }
+        long offset = size != null && page != null ? (long) page * size : 0;
+        return cardsRepository.findByOwnerId(user.getId(), status, offset, size)
+                .concatMap(this::toMaskedDto);
+    }
+
+    public Flux<CardDto> getUserCardsByLastFourDigits(UserDto user, String lastFourDigits) {
+        if (lastFourDigits == null || !lastFourDigits.matches("\\d{4}")) {
+            throw new AppException("Last 4 digits must consist of 4 numbers", HttpStatus.BAD_REQUEST);
+        }
+        return cardsRepository.findByOwnerIdAndLastFour(user.getId(), lastFourDigits)
+                .concatMap(this::withLastFour)
+                .filter(card -> lastFourDigits.equals(card.getLastFour()))
+                .map(this::toDto);
+    }
+
+    public Mono<BigDecimal> getBalance(Long cardId, UserDto user) {
+        return cardsRepository.findById(cardId)
+                .switchIfEmpty(Mono.error(() -> new AppException("Card not found", HttpStatus.NOT_FOUND)))
+                .flatMap(card -> card.getOwner().getId().equals(user.getId())
+                        ? Mono.just(card.getBalance())
+                        : Mono.error(new AppException("Card does not belong to the user", HttpStatus.FORBIDDEN)));
+    }
+
+    private Mono<CardDto> toMaskedDto(Card card) {
+        return withLastFour(card).map(this::toDto);
+    }
+
+    private Mono<Card> withLastFour(Card card) {
+        if (card.getLastFour() != null) {
+            return Mono.just(card);
+        }
+        return Mono.fromCallable(() -> {
+                    card.setLastFour(MaskingUtil.lastFour(cryptoUtil.decrypt(card.getCardNumber())));
+                    return card;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    card.setLastFour("");
+                    return Mono.just(card);
+                });
+    }
+
+    private CardDto toDto(Card card) {
+        CardDto dto = cardMapper.toDto(card);
+        dto.setMaskedCardNumber(MaskingUtil.maskCardNumber(card.getLastFour()));
+        return dto;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.ShardRebalanceReport;
+import com.example.bankcards.repository.shard.ShardDataSources;
+import com.example.bankcards.repository.shard.ShardDirectory;
+import com.example.bankcards.repository.shard.ShardRouter;
+import com.example.bankcards.service.cache.CacheInvalidationBus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardRebalanceService {
+
+    private final ShardDataSources shards;
+    private final ShardDirectory directory;
+    private final ShardRouter shardRouter;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${app.sharding.rebalance-batch-size}")
+    private int batchSize;
+
+    public ShardRebalanceReport rebalance() {
+        long startedAt = System.nanoTime();
+        int scannedUsers = 0;
+        int movedUsers = 0;
+        int movedCards = 0;
+
+        long afterUserId = 0;
+        while (true) {
+            List<ShardDirectory.Entry> entries = directory.findPageAfter(afterUserId, batchSize);
+            if (entries.isEmpty()) {
+                break;
+            }
+            for (ShardDirectory.Entry entry : entries) {
+                afterUserId = entry.userId();
+                scannedUsers++;
+
+                int target = shardRouter.placeLogin(entry.login());
+                if (target != entry.shard()) {
+                    movedCards += moveUser(entry.userId(), entry.shard(), target);
+                    movedUsers++;
+                }
+            }
+        }
+
+        ShardRebalanceReport report = ShardRebalanceReport.builder()
+                .shardCount(shards.size())
+                .scannedUsers(scannedUsers)
+                .movedUsers(movedUsers)
+                .movedCards(movedCards)
+                .durationMillis(Duration.ofNanos(System.nanoTime() - startedAt).toMillis())
+                .build();
+        log.info("Shard rebalance finished: {} of {} users moved with {} cards across {} shards, {} ms",
+                movedUsers, scannedUsers, movedCards, shards.size(), report.getDurationMillis());
+        return report;
+    }
+
+    private int moveUser(long userId, int sourceShard, int targetShard) {
+        try (Connection source = shards.get(sourceShard).getConnection();
+             Connection target = shards.get(targetShard).getConnection()) {
+            source.setAutoCommit(false);
+            target.setAutoCommit(false);
+            try {
+                copyRows(source, target, "users", "id", userId);
+                int cards = copyRows(source, target, "cards", "owner_id", userId);
+                target.commit();
+
+                try {
+                    directory.updateShard(userId, targetShard);
+                    deleteRows(source, "cards", "owner_id", userId);
+                    deleteRows(source, "users", "id", userId);
+                    source.commit();
+                } catch (SQLException | RuntimeException e) {
+                    source.rollback();
+                    directory.updateShard(userId, sourceShard);
+                    deleteRows(target, "cards", "owner_id", userId);
+                    deleteRows(target, "users", "id", userId);
+                    target.commit();
+                    throw e;
+                }
+
+                cacheInvalidationBus.usersChanged(List.of(userId));
+                log.info("User {} moved from shard {} to shard {} with {} cards", userId, sourceShard, targetShard, cards);
+                return cards;
+            } catch (SQLException | RuntimeException e) {
+                source.rollback();
+                target.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to move user " + userId + " to shard " + targetShard, e);
+        }
+    }
+
+    private int copyRows(Connection source, Connection target, String table, String keyColumn, long key)
+            throws SQLException {
+        try (PreparedStatement select = source.prepareStatement(
+                "SELECT * FROM " + table + " WHERE " + keyColumn + " = ? FOR UPDATE")) {
+            select.setLong(1, key);
+            try (ResultSet rows = select.executeQuery()) {
+                ResultSetMetaData metaData = rows.getMetaData();
+                List<String> columns = new ArrayList<>();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    columns.add(metaData.getColumnName(i));
+                }
+                String insertSql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") " +
+                        "OVERRIDING SYSTEM VALUE VALUES (" + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+
+                int copied = 0;
+                try (PreparedStatement insert = target.prepareStatement(insertSql)) {
+                    while (rows.next()) {
+                        for (int i = 1; i <= columns.size(); i++) {
+                            insert.setObject(i, rows.getObject(i), metaData.getColumnType(i));
+                        }
+                        insert.addBatch();
+                        copied++;
+                    }
+                    insert.executeBatch();
+                }
+                return copied;
+            }
+        }
+    }
+
+    private void deleteRows(Connection connection, String table, String keyColumn, long key) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement(
+                "DELETE FROM " + table + " WHERE " + keyColumn + " = ?")) {
+            delete.setLong(1, key);
+            delete.executeUpdate();
+        }
+    }
+}
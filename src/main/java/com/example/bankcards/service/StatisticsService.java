@@ -0,0 +1,134 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.AdminStatisticsDto;
+import com.example.bankcards.dto.card.CardStatusTotals;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.repository.CardsRepository;
+import com.example.bankcards.repository.StatCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+@RequiredArgsConstructor
+public class StatisticsService {
+    static final String CARDS_BALANCE = "cards.balance";
+    static final String USERS_ACTIVE = "users.active";
+    static final String USERS_BANNED = "users.banned";
+
+    private final StatCounterRepository statCounterRepository;
+    private final CardsRepository cardsRepository;
+
+    @Value("${app.statistics.counter-stripes}")
+    private int counterStripes;
+
+    public AdminStatisticsDto getStatistics() {
+        Map<String, BigDecimal> totals = statCounterRepository.findTotals();
+
+        Map<CardStatus, Long> cardsByStatus = new EnumMap<>(CardStatus.class);
+        for (CardStatus status : CardStatus.values()) {
+            cardsByStatus.put(status, totals.getOrDefault(cardCount(status), BigDecimal.ZERO).longValue());
+        }
+
+        return AdminStatisticsDto.builder()
+                .cardsByStatus(cardsByStatus)
+                .totalCards(cardsByStatus.values().stream().mapToLong(Long::longValue).sum())
+                .totalBalance(totals.getOrDefault(CARDS_BALANCE, BigDecimal.ZERO))
+                .activeUsers(totals.getOrDefault(USERS_ACTIVE, BigDecimal.ZERO).longValue())
+                .bannedUsers(totals.getOrDefault(USERS_BANNED, BigDecimal.ZERO).longValue())
+                .build();
+    }
+
+    public void cardCreated(Card card) {
+        record(cardCount(card.getStatus()), BigDecimal.ONE);
+        record(CARDS_BALANCE, card.getBalance());
+    }
+
+    public void cardDeleted(Card card) {
+        record(cardCount(card.getStatus()), BigDecimal.ONE.negate());
+        record(CARDS_BALANCE, card.getBalance().negate());
+    }
+
+    public void cardStatusChanged(CardStatus from, CardStatus to, long cards) {
+        if (from == to || cards == 0) {
+            return;
+        }
+        record(cardCount(from), BigDecimal.valueOf(-cards));
+        record(cardCount(to), BigDecimal.valueOf(cards));
+    }
+
+    public void userCreated(User user) {
+        record(userCount(user.isBanned()), BigDecimal.ONE);
+    }
+
+    public void userBanChanged(boolean banned, long users) {
+        if (users == 0) {
+            return;
+        }
+        record(userCount(!banned), BigDecimal.valueOf(-users));
+        record(userCount(banned), BigDecimal.valueOf(users));
+    }
+
+    public void userDeleted(User user) {
+        record(userCount(user.isBanned()), BigDecimal.ONE.negate());
+        for (CardStatusTotals totals : cardsRepository.findStatusTotalsByOwnerId(user.getId())) {
+            record(cardCount(totals.getStatus()), BigDecimal.valueOf(-totals.getCards()));
+            record(CARDS_BALANCE, totals.getBalance().negate());
+        }
+    }
+
+    private void record(String name, BigDecimal delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            statCounterRepository.increment(Map.of(name, delta), nextStripe());
+            return;
+        }
+
+        PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingDeltas();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.deltas.merge(name, delta, BigDecimal::add);
+    }
+
+    private short nextStripe() {
+        return (short) ThreadLocalRandom.current().nextInt(counterStripes);
+    }
+
+    private static String cardCount(CardStatus status) {
+        return "cards.count." + status.name();
+    }
+
+    private static String userCount(boolean banned) {
+        return banned ? USERS_BANNED : USERS_ACTIVE;
+    }
+
+    private class PendingDeltas implements TransactionSynchronization {
+        // Sorted so that concurrent transactions lock counter rows of a stripe in the same order
+        private final Map<String, BigDecimal> deltas = new TreeMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            deltas.values().removeIf(delta -> delta.signum() == 0);
+            if (!deltas.isEmpty()) {
+                statCounterRepository.increment(deltas, nextStripe());
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(StatisticsService.this);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.BulkUpdateResult;
 import com.example.bankcards.dto.UserDto;
 import com.example.bankcards.dto.auth.CredentialsDto;
 import com.example.bankcards.dto.auth.SignUpDto;
@@ -7,15 +8,23 @@ import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.UserRole;
 import com.example.bankcards.exception.AppException;
 import com.example.bankcards.mapper.UserMapper;
+import com.example.bankcards.repository.CardsRepository;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.audit.Audited;
+import com.example.bankcards.service.cache.CacheInvalidationBus;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.CharBuffer;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -24,7 +33,12 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final StatisticsService statisticsService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final CardsRepository cardsRepository;
+    private final CardOwnershipIndex cardOwnershipIndex;
 
+    @Timed("bankcards.service")
     public UserDto login(CredentialsDto credentialsDto) {
         User user = userRepository.getByLogin(credentialsDto.getLogin());
 
@@ -34,6 +48,8 @@ public class UserService {
         throw new AppException("Invalid password", HttpStatus.BAD_REQUEST);
     }
 
+    @Timed("bankcards.service")
+    @Transactional
     public UserDto register(SignUpDto userDto) {
         Optional<User> optionalUser = userRepository.findByLogin(userDto.getLogin());
         if (optionalUser.isPresent()) {
@@ -45,6 +61,7 @@ public class UserService {
         user.setRole(UserRole.USER);
 
         User savedUser = userRepository.save(user);
+        statisticsService.userCreated(savedUser);
         return userMapper.toUserDto(savedUser);
     }
 
@@ -61,12 +78,46 @@ public class UserService {
                 .map(userMapper::toUserDto);
     }
 
+    public Page<UserDto> findAllAfter(long afterId, int size) {
+        List<UserDto> users = userRepository.findAllAfter(afterId, size).stream()
+                .map(userMapper::toUserDto)
+                .toList();
+        return new PageImpl<>(users, PageRequest.of(0, size), userRepository.count());
+    }
+
+    @Audited("user.delete")
+    @Transactional
     public void deleteUser(Long id) {
+        User user = userRepository.findById(id);
+        List<Long> cardIds = cardsRepository.findIdsByOwnerId(id);
+        statisticsService.userDeleted(user);
         userRepository.deleteById(id);
+        cardIds.forEach(cardOwnershipIndex::remove);
+        cacheInvalidationBus.usersChanged(List.of(id));
+        if (!cardIds.isEmpty()) {
+            cacheInvalidationBus.cardsDeleted(cardIds);
+        }
     }
 
+    @Audited("user.ban")
+    @Transactional
     public void setBanned(Long id, boolean banned) {
-        userRepository.updateBannedStatus(id, banned);
+        if (userRepository.updateBannedStatus(id, banned)) {
+            statisticsService.userBanChanged(banned, 1);
+            cacheInvalidationBus.usersChanged(List.of(id));
+        }
+    }
+
+    @Audited("user.bulk-ban")
+    @Transactional
+    public BulkUpdateResult setBanned(List<Long> ids, boolean banned) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        int affected = userRepository.updateBannedStatusByIds(distinctIds, banned);
+        statisticsService.userBanChanged(banned, affected);
+        if (affected > 0) {
+            cacheInvalidationBus.usersChanged(distinctIds);
+        }
+        return new BulkUpdateResult(affected);
     }
 
     public User getUserByLogin(String login) {
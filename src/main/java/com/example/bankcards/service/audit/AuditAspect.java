@@ -0,0 +1,69 @@
+package com.example.bankcards.service.audit;
+
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.exception.AppException;
+import com.example.bankcards.security.filter.GrpcAuthInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes every {@link Audited} call with its outcome. Runs outside the transaction advice, so a failed commit is
+ * recorded as a failure rather than as success.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class AuditAspect {
+    static final String SYSTEM_ACTOR = "system";
+    static final int MAX_TARGET_LENGTH = 1024;
+    static final int MAX_OUTCOME_LENGTH = 255;
+
+    private final AuditLog auditLog;
+
+    @Around("@annotation(com.example.bankcards.service.audit.Audited)")
+    public Object audit(ProceedingJoinPoint joinPoint) throws Throwable {
+        Audited audited = ((MethodSignature) joinPoint.getSignature()).getMethod().getAnnotation(Audited.class);
+        String actor = actor();
+        String target = truncate(Arrays.stream(joinPoint.getArgs())
+                .map(String::valueOf)
+                .collect(Collectors.joining(", ")), MAX_TARGET_LENGTH);
+        try {
+            Object result = joinPoint.proceed();
+            auditLog.publish(actor, audited.value(), target, "OK");
+            return result;
+        } catch (AppException e) {
+            auditLog.publish(actor, audited.value(), target,
+                    truncate("REJECTED " + e.getStatus().value() + ": " + e.getMessage(), MAX_OUTCOME_LENGTH));
+            throw e;
+        } catch (Throwable e) {
+            auditLog.publish(actor, audited.value(), target, "FAILED " + e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    private static String actor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDto user) {
+            return user.getLogin();
+        }
+        UserDto grpcUser = GrpcAuthInterceptor.USER.get();
+        if (grpcUser != null) {
+            return grpcUser.getLogin();
+        }
+        return authentication != null ? authentication.getName() : SYSTEM_ACTOR;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
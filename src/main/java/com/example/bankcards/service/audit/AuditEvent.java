@@ -0,0 +1,12 @@
+package com.example.bankcards.service.audit;
+
+/**
+ * One audited action. {@code sequence} is assigned by the writer and grows monotonically across segments and
+ * restarts; it is 0 while the event is still in the ring buffer.
+ */
+public record AuditEvent(long sequence, long timestamp, String actor, String action, String target, String outcome) {
+
+    AuditEvent withSequence(long sequence) {
+        return new AuditEvent(sequence, timestamp, actor, action, target, outcome);
+    }
+}
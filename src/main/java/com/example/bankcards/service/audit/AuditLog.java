@@ -0,0 +1,25 @@
+package com.example.bankcards.service.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Entry point for request threads: events go into the ring buffer and the caller returns without I/O. When the
+ * writer falls a full buffer behind, new events are dropped and counted in {@code bankcards.audit.dropped}.
+ */
+public class AuditLog {
+
+    private final AuditRingBuffer buffer;
+    private final Counter dropped;
+
+    public AuditLog(AuditRingBuffer buffer, MeterRegistry meterRegistry) {
+        this.buffer = buffer;
+        this.dropped = Counter.builder("bankcards.audit.dropped").register(meterRegistry);
+    }
+
+    public void publish(String actor, String action, String target, String outcome) {
+        if (!buffer.offer(new AuditEvent(0, System.currentTimeMillis(), actor, action, target, outcome))) {
+            dropped.increment();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.bankcards.service.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Reads the audit segments in sequence order. A record that fails its checksum ends the reading of its segment,
+ * since the lengths after it cannot be trusted; the next segment is read as usual and the damage is reported in
+ * the result.
+ */
+@Slf4j
+public final class AuditLogReader {
+
+    private AuditLogReader() {}
+
+    public static Result read(Path dir, Predicate<AuditEvent> filter, Consumer<AuditEvent> consumer) throws IOException {
+        long matched = 0;
+        long scanned = 0;
+        int corruptSegments = 0;
+        for (Path file : AuditRecords.segments(dir)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                try {
+                    AuditEvent event;
+                    while ((event = AuditRecords.read(segment)) != null) {
+                        scanned++;
+                        if (filter.test(event)) {
+                            consumer.accept(event);
+                            matched++;
+                        }
+                    }
+                } catch (AuditRecords.CorruptRecordException e) {
+                    log.warn("{} in {}", e.getMessage(), file.getFileName());
+                    corruptSegments++;
+                }
+            }
+        }
+        return new Result(scanned, matched, corruptSegments);
+    }
+
+    public record Result(long scanned, long matched, int corruptSegments) {}
+}
@@ -0,0 +1,113 @@
+package com.example.bankcards.service.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single background thread that drains the ring buffer in batches into the segment file, then hands each batch to
+ * the sinks. The mapping is forced to disk at most once per {@code forceInterval}. Stops after the web server so
+ * the last requests are still written.
+ */
+@Slf4j
+public class AuditLogWriter implements SmartLifecycle, Runnable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AuditRingBuffer buffer;
+    private final AuditSegmentWriter segmentWriter;
+    private final List<AuditSink> sinks;
+    private final int batchSize;
+    private final long forceIntervalNanos;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public AuditLogWriter(AuditRingBuffer buffer, AuditSegmentWriter segmentWriter, List<AuditSink> sinks,
+                          int batchSize, Duration forceInterval) {
+        this.buffer = buffer;
+        this.segmentWriter = segmentWriter;
+        this.sinks = sinks;
+        this.batchSize = batchSize;
+        this.forceIntervalNanos = forceInterval.toNanos();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this, "audit-writer");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Audit log writer started after sequence {}", segmentWriter.lastSequence());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long lastForce = System.nanoTime();
+        boolean dirty = false;
+        while (running || !buffer.isEmpty()) {
+            if (buffer.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+                dirty = true;
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            if (dirty && System.nanoTime() - lastForce >= forceIntervalNanos) {
+                segmentWriter.force();
+                lastForce = System.nanoTime();
+                dirty = false;
+            }
+        }
+        try {
+            segmentWriter.close();
+        } catch (IOException e) {
+            log.error("Could not close the audit segment", e);
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        List<AuditEvent> written;
+        try {
+            written = segmentWriter.append(batch);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not write {} audit events", batch.size(), e);
+            return;
+        }
+        for (AuditSink sink : sinks) {
+            try {
+                sink.write(written);
+            } catch (RuntimeException e) {
+                log.warn("Audit sink {} failed for sequences {}..{}: {}", sink.getClass().getSimpleName(),
+                        written.get(0).sequence(), written.get(written.size() - 1).sequence(), e.getMessage());
+            }
+        }
+    }
+}
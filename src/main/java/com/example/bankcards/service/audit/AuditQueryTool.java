@@ -0,0 +1,67 @@
+package com.example.bankcards.service.audit;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.function.Predicate;
+
+/**
+ * Offline query over the audit segments, started as {@code java -jar app.jar audit [options]} without a Spring
+ * context. Prints one tab-separated line per matching event; exits with 1 if a corrupt segment was found and 2 on
+ * invalid options.
+ */
+public final class AuditQueryTool {
+    public static final String COMMAND = "audit";
+
+    private static final String USAGE = "Usage: audit [--dir=PATH] [--from=INSTANT] [--to=INSTANT] [--actor=LOGIN] "
+            + "[--action=PREFIX] [--outcome=PREFIX]";
+
+    private AuditQueryTool() {}
+
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        Path dir = Path.of("audit");
+        Predicate<AuditEvent> filter = event -> true;
+        try {
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (!arg.startsWith("--") || separator < 0) {
+                    throw new IllegalArgumentException("Unexpected argument " + arg);
+                }
+                String value = arg.substring(separator + 1);
+                switch (arg.substring(2, separator)) {
+                    case "dir" -> dir = Path.of(value);
+                    case "from" -> {
+                        long from = Instant.parse(value).toEpochMilli();
+                        filter = filter.and(event -> event.timestamp() >= from);
+                    }
+                    case "to" -> {
+                        long to = Instant.parse(value).toEpochMilli();
+                        filter = filter.and(event -> event.timestamp() < to);
+                    }
+                    case "actor" -> filter = filter.and(event -> value.equals(event.actor()));
+                    case "action" -> filter = filter.and(event -> event.action().startsWith(value));
+                    case "outcome" -> filter = filter.and(event -> event.outcome().startsWith(value));
+                    default -> throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 2;
+        }
+
+        try {
+            AuditLogReader.Result result = AuditLogReader.read(dir, filter, event -> out.println(String.join("\t",
+                    Long.toString(event.sequence()), Instant.ofEpochMilli(event.timestamp()).toString(),
+                    event.actor(), event.action(), event.outcome(), event.target())));
+            err.printf("Scanned %d, matched %d, corrupt segments %d%n",
+                    result.scanned(), result.matched(), result.corruptSegments());
+            return result.corruptSegments() > 0 ? 1 : 0;
+        } catch (IOException e) {
+            err.println("Could not read " + dir + ": " + e.getMessage());
+            return 2;
+        }
+    }
+}
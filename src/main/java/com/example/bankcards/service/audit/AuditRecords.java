@@ -0,0 +1,116 @@
+package com.example.bankcards.service.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * On-disk format of the audit segments. A segment is a preallocated, zero-filled file named after the sequence of
+ * its first record; records follow back to back as {@code [int length][int crc32c][payload]}, and a zero length marks
+ * the end of the written part. The payload holds the sequence, the timestamp and four length-prefixed UTF-8 strings.
+ */
+final class AuditRecords {
+    static final String SEGMENT_PREFIX = "audit-";
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final int HEADER_SIZE = 8;
+    static final int MAX_STRING_BYTES = 4096;
+    static final int MAX_PAYLOAD_SIZE = 16 + 4 * (2 + MAX_STRING_BYTES);
+
+    private AuditRecords() {}
+
+    static String segmentName(long firstSequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX);
+    }
+
+    static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Encodes the payload of {@code event} into {@code payload}, which is cleared first and flipped on return.
+     */
+    static void encode(AuditEvent event, ByteBuffer payload) {
+        payload.clear();
+        payload.putLong(event.sequence());
+        payload.putLong(event.timestamp());
+        putString(payload, event.actor());
+        putString(payload, event.action());
+        putString(payload, event.target());
+        putString(payload, event.outcome());
+        payload.flip();
+    }
+
+    static int checksum(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Reads the record at the buffer position and advances past it. Returns {@code null} at the end of the written
+     * part and throws {@link CorruptRecordException} when the length or checksum does not hold, leaving the
+     * position unchanged.
+     */
+    static AuditEvent read(ByteBuffer segment) {
+        if (segment.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        int start = segment.position();
+        int length = segment.getInt(start);
+        if (length == 0) {
+            return null;
+        }
+        if (length < 0 || length > MAX_PAYLOAD_SIZE || length > segment.remaining() - HEADER_SIZE) {
+            throw new CorruptRecordException(start, "invalid length " + length);
+        }
+        ByteBuffer payload = segment.slice(start + HEADER_SIZE, length);
+        if (checksum(payload) != segment.getInt(start + 4)) {
+            throw new CorruptRecordException(start, "checksum mismatch");
+        }
+        AuditEvent event = new AuditEvent(payload.getLong(), payload.getLong(),
+                getString(payload), getString(payload), getString(payload), getString(payload));
+        segment.position(start + HEADER_SIZE + length);
+        return event;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_STRING_BYTES);
+        buffer.putShort((short) length);
+        buffer.put(bytes, 0, length);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static class CorruptRecordException extends RuntimeException {
+        private final int offset;
+
+        CorruptRecordException(int offset, String message) {
+            super("Corrupt audit record at offset " + offset + ": " + message);
+            this.offset = offset;
+        }
+
+        int getOffset() {
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.bankcards.service.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends records to memory-mapped segment files. Writes land in the page cache and survive a process crash;
+ * {@link #force()} is what makes them survive a host crash. On open the last segment is scanned to find the end of
+ * the data and the last sequence; a torn or corrupt tail is left in place and writing continues in a new segment.
+ * Only the writer thread may use an instance.
+ */
+@Slf4j
+public class AuditSegmentWriter implements Closeable {
+
+    private final Path dir;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final ByteBuffer payload = ByteBuffer.allocate(AuditRecords.MAX_PAYLOAD_SIZE);
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long nextSequence = 1;
+
+    public AuditSegmentWriter(Path dir, int segmentSize, int maxSegments) throws IOException {
+        if (segmentSize < AuditRecords.HEADER_SIZE + AuditRecords.MAX_PAYLOAD_SIZE) {
+            throw new IllegalArgumentException("Segment size " + segmentSize + " cannot hold a full record");
+        }
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        Files.createDirectories(dir);
+        recover();
+    }
+
+    /**
+     * Writes {@code events} in order and returns them with their assigned sequences.
+     */
+    public List<AuditEvent> append(List<AuditEvent> events) throws IOException {
+        List<AuditEvent> written = new ArrayList<>(events.size());
+        for (AuditEvent event : events) {
+            AuditEvent sequenced = event.withSequence(nextSequence);
+            AuditRecords.encode(sequenced, payload);
+            if (segment == null || segment.remaining() < AuditRecords.HEADER_SIZE + payload.remaining()) {
+                roll();
+            }
+            int length = payload.remaining();
+            int position = segment.position();
+            segment.putInt(position + 4, AuditRecords.checksum(payload));
+            segment.put(position + AuditRecords.HEADER_SIZE, payload, 0, length);
+            segment.putInt(position, length);
+            segment.position(position + AuditRecords.HEADER_SIZE + length);
+            nextSequence++;
+            written.add(sequenced);
+        }
+        return written;
+    }
+
+    public void force() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    public long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        if (channel != null) {
+            channel.close();
+        }
+        segment = null;
+        channel = null;
+    }
+
+    private void recover() throws IOException {
+        List<Path> segments = AuditRecords.segments(dir);
+        if (segments.isEmpty()) {
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        FileChannel lastChannel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapped = lastChannel.map(FileChannel.MapMode.READ_WRITE, 0, lastChannel.size());
+        long firstSequence = firstSequenceOf(last);
+        nextSequence = firstSequence;
+        try {
+            AuditEvent event;
+            while ((event = AuditRecords.read(mapped)) != null) {
+                nextSequence = event.sequence() + 1;
+            }
+        } catch (AuditRecords.CorruptRecordException e) {
+            log.warn("{} in {}; continuing in a new segment", e.getMessage(), last);
+            lastChannel.close();
+            if (nextSequence == firstSequence) {
+                Files.move(last, last.resolveSibling(last.getFileName() + ".corrupt"));
+            }
+            return;
+        }
+        channel = lastChannel;
+        segment = mapped;
+    }
+
+    private void roll() throws IOException {
+        close();
+        Path file = dir.resolve(AuditRecords.segmentName(nextSequence));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        prune();
+    }
+
+    private void prune() throws IOException {
+        List<Path> segments = AuditRecords.segments(dir);
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+            log.info("Deleted audit segment {}", segments.get(i).getFileName());
+        }
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(AuditRecords.SEGMENT_PREFIX.length(),
+                name.length() - AuditRecords.SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.bankcards.service.audit;
+
+import java.util.List;
+
+/**
+ * Secondary destination for audit events, called by the writer thread after each batch is in the segment file.
+ * A failing sink loses that batch for itself only; the segment file stays the record of truth.
+ */
+public interface AuditSink {
+
+    void write(List<AuditEvent> events);
+}
@@ -0,0 +1,20 @@
+package com.example.bankcards.service.audit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method whose calls go to the audit log with the caller, arguments and outcome. No-op unless
+ * {@code app.audit.enabled} is set.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Audited {
+
+    /**
+     * Action name, e.g. {@code card.block}.
+     */
+    String value();
+}
@@ -0,0 +1,93 @@
+package com.example.bankcards.service.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One invalidation message: which node sent it, when, and the ids of one kind. On the wire it is
+ * {@code origin|sentAtMillis|kind|id,id,...}; a batch is coalesced per kind and split so each payload stays under
+ * the NOTIFY limit.
+ */
+public record CacheInvalidation(String origin, long sentAt, Kind kind, List<Long> ids) {
+
+    public enum Kind {
+        USERS('u'),
+        CARDS_DELETED('d'),
+        FLUSH('*');
+
+        private final char code;
+
+        Kind(char code) {
+            this.code = code;
+        }
+
+        static Kind of(char code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown invalidation kind " + code);
+        }
+    }
+
+    public static CacheInvalidation flush(String origin, long sentAt) {
+        return new CacheInvalidation(origin, sentAt, Kind.FLUSH, List.of());
+    }
+
+    /**
+     * Merges {@code batch} into as few payloads as possible, none longer than {@code maxBytes}. A flush in the batch
+     * makes every other message redundant.
+     */
+    public static List<String> encode(String origin, Collection<CacheInvalidation> batch, int maxBytes) {
+        long sentAt = Long.MAX_VALUE;
+        Map<Kind, Set<Long>> idsByKind = new EnumMap<>(Kind.class);
+        for (CacheInvalidation invalidation : batch) {
+            sentAt = Math.min(sentAt, invalidation.sentAt());
+            idsByKind.computeIfAbsent(invalidation.kind(), kind -> new LinkedHashSet<>()).addAll(invalidation.ids());
+        }
+        if (idsByKind.containsKey(Kind.FLUSH)) {
+            return List.of(header(origin, sentAt, Kind.FLUSH));
+        }
+
+        List<String> payloads = new ArrayList<>();
+        for (Map.Entry<Kind, Set<Long>> entry : idsByKind.entrySet()) {
+            String header = header(origin, sentAt, entry.getKey());
+            StringBuilder payload = new StringBuilder(header);
+            for (Long id : entry.getValue()) {
+                String item = (payload.length() > header.length() ? "," : "") + id;
+                if (payload.length() + item.length() > maxBytes && payload.length() > header.length()) {
+                    payloads.add(payload.toString());
+                    payload.setLength(header.length());
+                    item = id.toString();
+                }
+                payload.append(item);
+            }
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    public static CacheInvalidation decode(String payload) {
+        String[] parts = payload.split("\\|", -1);
+        if (parts.length != 4 || parts[2].length() != 1) {
+            throw new IllegalArgumentException("Malformed invalidation payload");
+        }
+        List<Long> ids = new ArrayList<>();
+        if (!parts[3].isEmpty()) {
+            for (String id : parts[3].split(",")) {
+                ids.add(Long.parseLong(id));
+            }
+        }
+        return new CacheInvalidation(parts[0], Long.parseLong(parts[1]), Kind.of(parts[2].charAt(0)), ids);
+    }
+
+    private static String header(String origin, long sentAt, Kind kind) {
+        return origin + "|" + sentAt + "|" + kind.code + "|";
+    }
+}
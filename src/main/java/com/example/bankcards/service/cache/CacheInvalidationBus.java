@@ -0,0 +1,48 @@
+package com.example.bankcards.service.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tells the other nodes which users and cards changed. Inside a transaction the invalidation goes out only after
+ * commit, so no node reloads the old row; a rollback sends nothing. Without {@code app.cache.invalidation.enabled}
+ * every call is a no-op.
+ */
+@Component
+public class CacheInvalidationBus {
+    private final CacheInvalidationChannel channel;
+
+    public CacheInvalidationBus(ObjectProvider<CacheInvalidationChannel> channel) {
+        this.channel = channel.getIfAvailable();
+    }
+
+    public void usersChanged(Collection<Long> userIds) {
+        publish(CacheInvalidation.Kind.USERS, userIds);
+    }
+
+    public void cardsDeleted(Collection<Long> cardIds) {
+        publish(CacheInvalidation.Kind.CARDS_DELETED, cardIds);
+    }
+
+    private void publish(CacheInvalidation.Kind kind, Collection<Long> ids) {
+        if (channel == null || ids.isEmpty()) {
+            return;
+        }
+        List<Long> snapshot = List.copyOf(ids);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            channel.send(kind, snapshot);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                channel.send(kind, snapshot);
+            }
+        });
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.bankcards.service.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * PostgreSQL {@code LISTEN/NOTIFY} transport for cache invalidations. Each node keeps two dedicated connections
+ * outside the pool: the sender coalesces queued invalidations into {@code pg_notify} calls, the listener applies
+ * what other nodes sent. Anything that may have been missed, a lost listener connection, a failed send or a full
+ * queue, ends in a full flush of the local caches or of every node's caches, so a node is never silently stale.
+ */
+@Slf4j
+public class CacheInvalidationChannel implements SmartLifecycle {
+    static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final long POLL_MILLIS = 500;
+    private static final int MAX_BATCH = 1000;
+
+    private final DataSource dataSource;
+    private final String channel;
+    private final String nodeId;
+    private final LocalCacheInvalidator invalidator;
+    private final BlockingQueue<CacheInvalidation> outbound;
+    private final Duration healthCheckInterval;
+    private final Duration reconnectDelay;
+    private final Duration maxReconnectDelay;
+
+    private final Timer latency;
+    private final Counter sent;
+    private final Counter received;
+    private final Counter dropped;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean running;
+    private volatile boolean flushPending;
+    private Thread listener;
+    private Thread sender;
+
+    public CacheInvalidationChannel(DataSource dataSource, String channel, String nodeId,
+                                    LocalCacheInvalidator invalidator, int queueSize, Duration healthCheckInterval,
+                                    Duration reconnectDelay, Duration maxReconnectDelay, MeterRegistry meterRegistry) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel name: " + channel);
+        }
+        if (nodeId.contains("|")) {
+            throw new IllegalArgumentException("Cache invalidation node id must not contain '|': " + nodeId);
+        }
+        this.dataSource = dataSource;
+        this.channel = channel;
+        this.nodeId = nodeId;
+        this.invalidator = invalidator;
+        this.outbound = new ArrayBlockingQueue<>(queueSize);
+        this.healthCheckInterval = healthCheckInterval;
+        this.reconnectDelay = reconnectDelay;
+        this.maxReconnectDelay = maxReconnectDelay;
+        this.meterRegistry = meterRegistry;
+        this.latency = Timer.builder("bankcards.cache.invalidation.latency")
+                .description("Time from publishing an invalidation on one node to applying it on another")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sent = meterRegistry.counter("bankcards.cache.invalidation.sent");
+        this.received = meterRegistry.counter("bankcards.cache.invalidation.received");
+        this.dropped = meterRegistry.counter("bankcards.cache.invalidation.dropped");
+    }
+
+    /**
+     * Queues an invalidation for the other nodes. Never blocks: when the queue is full the invalidation is dropped
+     * and every node is asked to flush instead.
+     */
+    public void send(CacheInvalidation.Kind kind, List<Long> ids) {
+        if (!outbound.offer(new CacheInvalidation(nodeId, System.currentTimeMillis(), kind, ids))) {
+            dropped.increment();
+            flushPending = true;
+        }
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+        sender = new Thread(this::sendLoop, "cache-invalidation-sender");
+        sender.setDaemon(true);
+        sender.start();
+        log.info("Cache invalidation channel '{}' started on node {}", channel, nodeId);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            sender.join(TimeUnit.SECONDS.toMillis(10));
+            listener.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        long delayMillis = reconnectDelay.toMillis();
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+                if (connectedBefore) {
+                    invalidator.flushAll();
+                    flushed("reconnect");
+                    log.info("Cache invalidation listener reconnected; local caches flushed");
+                }
+                connectedBefore = true;
+                delayMillis = reconnectDelay.toMillis();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                long lastCheck = System.nanoTime();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                    if (System.nanoTime() - lastCheck >= healthCheckInterval.toNanos()) {
+                        statement.execute("SELECT 1");
+                        lastCheck = System.nanoTime();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                meterRegistry.counter("bankcards.cache.invalidation.reconnects", "side", "listener").increment();
+                log.warn("Cache invalidation listener lost its connection, retrying in {} ms: {}",
+                        delayMillis, e.getMessage());
+                sleep(delayMillis);
+                delayMillis = Math.min(delayMillis * 2, maxReconnectDelay.toMillis());
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        CacheInvalidation invalidation;
+        try {
+            invalidation = CacheInvalidation.decode(payload);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed cache invalidation '{}'", payload);
+            return;
+        }
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        invalidator.apply(invalidation);
+        received.increment();
+        if (invalidation.kind() == CacheInvalidation.Kind.FLUSH) {
+            flushed("remote");
+        }
+        latency.record(Math.max(0, System.currentTimeMillis() - invalidation.sentAt()), TimeUnit.MILLISECONDS);
+    }
+
+    private void sendLoop() {
+        long delayMillis = reconnectDelay.toMillis();
+        List<CacheInvalidation> batch = new ArrayList<>();
+        while (running || !outbound.isEmpty()) {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement notify = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                delayMillis = reconnectDelay.toMillis();
+                while (running || !outbound.isEmpty() || !batch.isEmpty()) {
+                    if (batch.isEmpty()) {
+                        CacheInvalidation first = outbound.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                        if (first != null) {
+                            batch.add(first);
+                            outbound.drainTo(batch, MAX_BATCH - 1);
+                        }
+                    }
+                    if (flushPending) {
+                        flushPending = false;
+                        batch.clear();
+                        batch.add(CacheInvalidation.flush(nodeId, System.currentTimeMillis()));
+                    }
+                    if (batch.isEmpty()) {
+                        continue;
+                    }
+                    for (String payload : CacheInvalidation.encode(nodeId, batch, MAX_PAYLOAD_BYTES)) {
+                        notify.setString(1, channel);
+                        notify.setString(2, payload);
+                        notify.execute();
+                        sent.increment();
+                    }
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (SQLException | RuntimeException e) {
+                if (!batch.isEmpty()) {
+                    flushPending = true;
+                    batch.clear();
+                }
+                if (!running) {
+                    log.warn("Cache invalidation sender stopped with {} invalidations unsent", outbound.size());
+                    return;
+                }
+                meterRegistry.counter("bankcards.cache.invalidation.reconnects", "side", "sender").increment();
+                log.warn("Cache invalidation sender lost its connection, retrying in {} ms: {}",
+                        delayMillis, e.getMessage());
+                sleep(delayMillis);
+                delayMillis = Math.min(delayMillis * 2, maxReconnectDelay.toMillis());
+            }
+        }
+    }
+
+    private void flushed(String reason) {
+        meterRegistry.counter("bankcards.cache.invalidation.flushes", "reason", reason).increment();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.bankcards.service.cache;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.jpa.UserJpaRepository;
+import com.example.bankcards.repository.shard.ShardDirectory;
+import com.example.bankcards.service.CardOwnershipIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+
+/**
+ * Applies invalidations to the caches of this node: the Hibernate second-level cache (users and the
+ * user-by-login query region), the shard directory routes and the card ownership index. Cards are not in the L2
+ * cache, so only their deletion matters here.
+ */
+public class LocalCacheInvalidator {
+    private final Cache cache;
+    private final CardOwnershipIndex cardOwnershipIndex;
+    private final ShardDirectory shardDirectory;
+
+    public LocalCacheInvalidator(EntityManagerFactory entityManagerFactory, CardOwnershipIndex cardOwnershipIndex,
+                                 ShardDirectory shardDirectory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.cardOwnershipIndex = cardOwnershipIndex;
+        this.shardDirectory = shardDirectory;
+    }
+
+    public void apply(CacheInvalidation invalidation) {
+        switch (invalidation.kind()) {
+            case USERS -> {
+                for (Long userId : invalidation.ids()) {
+                    cache.evictEntityData(User.class, userId);
+                    if (shardDirectory != null) {
+                        shardDirectory.evict(userId);
+                    }
+                }
+                cache.evictQueryRegion(UserJpaRepository.BY_LOGIN_CACHE_REGION);
+            }
+            case CARDS_DELETED -> invalidation.ids().forEach(cardOwnershipIndex::remove);
+            case FLUSH -> flushAll();
+        }
+    }
+
+    public void flushAll() {
+        cache.evictAllRegions();
+        if (shardDirectory != null) {
+            shardDirectory.evictAll();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.bankcards.service.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows observed latency, after the gradient algorithm: a long-term average latency is
+ * the no-load baseline, and while recent latency stays within {@code tolerance} times the baseline the limit grows
+ * by about its square root per sample; beyond that it shrinks in proportion, at most by half. Changes are smoothed
+ * and kept within {@code [minLimit, maxLimit]}. The limit only grows from requests that started while at least half
+ * of it was in use, so an idle service does not drift to the maximum.
+ * <p>
+ * Lower priorities may only fill part of the limit, which keeps the rest free for critical requests: normal
+ * requests are admitted up to {@code normalShare} of the limit, sheddable ones up to {@code sheddableShare}.
+ * Sheddable requests do not feed the latency averages: slow admin listings would otherwise read as overload and
+ * shrink the limit that critical requests share.
+ */
+public class AdaptiveConcurrencyLimiter {
+    public static final int REJECTED = -1;
+    private static final double SHORT_WINDOW_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_WINDOW_ALPHA = 2.0 / (600 + 1);
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double normalShare;
+    private final double sheddableShare;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+
+    private volatile double limit;
+    private double shortLatency;
+    private double longLatency;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                                      double normalShare, double sheddableShare, MeterRegistry meterRegistry) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.normalShare = normalShare;
+        this.sheddableShare = sheddableShare;
+        for (RequestPriority priority : RequestPriority.values()) {
+            rejected.put(priority, meterRegistry.counter("bankcards.concurrency.rejected",
+                    "priority", priority.name().toLowerCase()));
+        }
+        meterRegistry.gauge("bankcards.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit);
+        meterRegistry.gauge("bankcards.concurrency.in-flight", inFlight);
+    }
+
+    /**
+     * Admits a request; returns the number of requests in flight including this one, or {@link #REJECTED}. An
+     * admitted request must be passed to {@link #release} exactly once.
+     */
+    public int tryAcquire(RequestPriority priority) {
+        int allowed = allowed(priority);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected.get(priority).increment();
+                return REJECTED;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    public void release(RequestPriority priority, int inFlightAtStart, long latencyNanos) {
+        inFlight.decrementAndGet();
+        if (priority != RequestPriority.SHEDDABLE) {
+            onSample(inFlightAtStart, latencyNanos);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private int allowed(RequestPriority priority) {
+        double current = limit;
+        return switch (priority) {
+            case CRITICAL -> (int) current;
+            case NORMAL -> Math.max(1, (int) (current * normalShare));
+            case SHEDDABLE -> Math.max(1, (int) (current * sheddableShare));
+        };
+    }
+
+    private synchronized void onSample(int inFlightAtStart, long latencyNanos) {
+        double latency = Math.max(1, latencyNanos);
+        if (longLatency == 0) {
+            shortLatency = latency;
+            longLatency = latency;
+        } else {
+            shortLatency += (latency - shortLatency) * SHORT_WINDOW_ALPHA;
+            longLatency += (latency - longLatency) * LONG_WINDOW_ALPHA;
+        }
+        if (longLatency > shortLatency * 2) {
+            longLatency *= 0.95;
+        }
+
+        double current = limit;
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longLatency / shortLatency));
+        if (gradient >= 1.0 && inFlightAtStart < current / 2) {
+            return;
+        }
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.bankcards.service.concurrency;
+
+/**
+ * Admission classes of the concurrency limiter, from last to first shed.
+ */
+public enum RequestPriority {
+    /** Transfers and balance reads; may use the whole limit. */
+    CRITICAL,
+    /** Everything not classified otherwise. */
+    NORMAL,
+    /** Admin listings and card search; shed first. */
+    SHEDDABLE
+}
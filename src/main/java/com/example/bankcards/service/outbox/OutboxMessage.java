@@ -0,0 +1,18 @@
+package com.example.bankcards.service.outbox;
+
+import com.example.bankcards.entity.OutboxEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * Wire form of an outbox event. {@code id} grows per card in commit order and is the key for de-duplication,
+ * since delivery is at least once.
+ */
+public record OutboxMessage(Long id, Long cardId, String type, LocalDateTime createdAt, @JsonRawValue String payload) {
+
+    public static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateId(), event.getEventType(), event.getCreatedAt(),
+                event.getPayload());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.bankcards.service.outbox;
+
+import com.example.bankcards.entity.OutboxEvent;
+import com.example.bankcards.repository.OutboxRepository;
+import com.example.bankcards.repository.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Moves outbox rows to the sink. Cards are hashed into {@code partitions} slices; a batch is published in one
+ * transaction that first claims the slice's row with {@code FOR UPDATE SKIP LOCKED}, then sends the slice's
+ * oldest events in id order and deletes them. Nodes therefore share the work without waiting on each other, while
+ * the events of one card are only ever sent by one node at a time and in commit order. A failed batch rolls back
+ * and is retried on the next run, so delivery is at least once and a failing event holds back its slice.
+ */
+@Slf4j
+public class OutboxPublisher {
+
+    private final OutboxRepository outboxRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final int partitions;
+    private final int batchSize;
+    private final Set<Integer> preparedShards = ConcurrentHashMap.newKeySet();
+
+    private final Counter published;
+    private final Counter failedBatches;
+    private final Timer batchTimer;
+    private final Timer lag;
+
+    public OutboxPublisher(OutboxRepository outboxRepository, ShardRouter shardRouter,
+                           TransactionTemplate transactionTemplate, OutboxSink sink, MeterRegistry meterRegistry,
+                           int partitions, int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.sink = sink;
+        this.partitions = partitions;
+        this.batchSize = batchSize;
+        this.published = Counter.builder("bankcards.outbox.published").register(meterRegistry);
+        this.failedBatches = Counter.builder("bankcards.outbox.failed.batches").register(meterRegistry);
+        this.batchTimer = Timer.builder("bankcards.outbox.batch").register(meterRegistry);
+        this.lag = Timer.builder("bankcards.outbox.lag")
+                .description("Time from commit of the card change to delivery of its event")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes everything pending on every shard and returns the number of events delivered.
+     */
+    public int publishPending() {
+        int total = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            int target = shard;
+            total += shardRouter.onShard(target, () -> publishShard(target));
+        }
+        return total;
+    }
+
+    private int publishShard(int shard) {
+        if (!preparedShards.contains(shard)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> outboxRepository.createMissingPartitions(partitions));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Outbox partitions on shard {} were created concurrently", shard);
+            }
+            int moved = transactionTemplate.execute(status -> outboxRepository.repartition(partitions));
+            if (moved > 0) {
+                log.info("Moved {} pending outbox events on shard {} to {} partitions", moved, shard, partitions);
+            }
+            preparedShards.add(shard);
+        }
+
+        int total = 0;
+        int first = ThreadLocalRandom.current().nextInt(partitions);
+        for (int i = 0; i < partitions; i++) {
+            int partition = (first + i) % partitions;
+            int count;
+            do {
+                count = publishBatch(partition);
+                total += count;
+            } while (count == batchSize);
+        }
+        return total;
+    }
+
+    int publishBatch(int partition) {
+        List<OutboxEvent> events;
+        try {
+            events = transactionTemplate.execute(status -> {
+                if (!outboxRepository.tryLockPartition(partition)) {
+                    return List.of();
+                }
+                List<OutboxEvent> batch = outboxRepository.findOldestInPartition(partition, batchSize);
+                if (!batch.isEmpty()) {
+                    batchTimer.record(() -> sink.publish(batch.stream().map(OutboxMessage::of).toList()));
+                    outboxRepository.deleteAll(batch);
+                }
+                return batch;
+            });
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            log.warn("Outbox partition {} was not published: {}", partition, e.getMessage());
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : events) {
+            lag.record(Duration.between(event.getCreatedAt(), now));
+        }
+        published.increment(events.size());
+        return events.size();
+    }
+}
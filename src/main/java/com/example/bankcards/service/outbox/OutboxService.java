@@ -0,0 +1,104 @@
+package com.example.bankcards.service.outbox;
+
+import com.example.bankcards.entity.OutboxEvent;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records card events in the outbox table inside the caller's transaction, so downstream systems see exactly the
+ * changes that committed. Every event is keyed by the card it describes; a transfer writes one event per card.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    public static final String CARD_CREATED = "card.created";
+    public static final String CARD_ACTIVATED = "card.activated";
+    public static final String CARD_BLOCKED = "card.blocked";
+    public static final String CARD_DELETED = "card.deleted";
+    public static final String CARD_DEBITED = "card.debited";
+    public static final String CARD_CREDITED = "card.credited";
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.outbox.enabled}")
+    private boolean enabled;
+
+    @Value("${app.outbox.partitions}")
+    private int partitions;
+
+    public void cardCreated(Card card) {
+        Map<String, Object> payload = cardPayload(card);
+        payload.put("status", card.getStatus());
+        payload.put("lastFour", card.getLastFour());
+        payload.put("expiryDate", card.getExpiryDate());
+        payload.put("balance", card.getBalance());
+        record(card, CARD_CREATED, payload);
+    }
+
+    public void cardStatusChanged(Card card, CardStatus previous) {
+        Map<String, Object> payload = cardPayload(card);
+        payload.put("status", card.getStatus());
+        payload.put("previousStatus", previous);
+        record(card, card.getStatus() == CardStatus.ACTIVE ? CARD_ACTIVATED : CARD_BLOCKED, payload);
+    }
+
+    public void cardDeleted(Card card) {
+        record(card, CARD_DELETED, cardPayload(card));
+    }
+
+    public void transferred(Card from, Card to, BigDecimal amount) {
+        record(from, CARD_DEBITED, transferPayload(from, to, amount));
+        record(to, CARD_CREDITED, transferPayload(to, from, amount));
+    }
+
+    /**
+     * Stored with the event so the publisher reads a slice through the {@code (partition_id, id)} index.
+     */
+    public static int partitionOf(Long cardId, int partitions) {
+        return (int) Math.floorMod(cardId, (long) partitions);
+    }
+
+    private Map<String, Object> transferPayload(Card card, Card counterpart, BigDecimal amount) {
+        Map<String, Object> payload = cardPayload(card);
+        payload.put("counterpartCardId", counterpart.getId());
+        payload.put("amount", amount);
+        payload.put("balance", card.getBalance());
+        return payload;
+    }
+
+    private static Map<String, Object> cardPayload(Card card) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("cardId", card.getId());
+        payload.put("ownerId", card.getOwner().getId());
+        return payload;
+    }
+
+    private void record(Card card, String eventType, Map<String, Object> payload) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            outboxRepository.save(card.getOwner().getId(), OutboxEvent.builder()
+                    .aggregateId(card.getId())
+                    .partitionId(partitionOf(card.getId(), partitions))
+                    .eventType(eventType)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " for card " + card.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.bankcards.service.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of published events. A batch counts as delivered only when this returns normally; any exception
+ * keeps the events in the outbox for the next attempt.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages);
+}
@@ -0,0 +1,23 @@
+package com.example.bankcards.service.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A bucket of {@code capacity} tokens that regains one token every {@code refillPeriod}.
+ */
+public record BucketSpec(int capacity, Duration refillPeriod) {
+
+    public BucketSpec {
+        if (capacity < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("Invalid rate limit bucket: " + capacity + " per " + refillPeriod);
+        }
+    }
+
+    long intervalNanos() {
+        return refillPeriod.toNanos();
+    }
+
+    long burstNanos() {
+        return capacity * refillPeriod.toNanos();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.bankcards.service.ratelimit;
+
+/**
+ * Endpoint classes with their own buckets. Each class is limited per caller: the login of an authenticated
+ * request, the client IP otherwise; {@link #LOGIN_ACCOUNT} is keyed by the account being logged into.
+ */
+public enum RateLimitClass {
+    /** {@code POST /login} and {@code /register}; both run BCrypt. */
+    LOGIN,
+    /** {@code POST /login} per submitted login, so one account cannot be guessed at from many addresses. */
+    LOGIN_ACCOUNT,
+    /** {@code POST /api/v1/cards/transfer}. */
+    TRANSFER,
+    /** {@code GET /api/v1/cards/search}; decrypts every card of the user. */
+    SEARCH
+}
@@ -0,0 +1,141 @@
+package com.example.bankcards.service.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per endpoint class and key, kept as GCRA: a bucket is a single theoretical arrival time in an
+ * {@link AtomicLong}, advanced by one refill period per request with a CAS loop, and a request is rejected when that
+ * time runs more than the bucket capacity ahead of now. A request for a known key allocates nothing.
+ * <p>
+ * A bucket that has refilled completely behaves exactly like a new one, so {@link #evictIdle()} drops it without
+ * losing state. Once a class holds {@code maxKeysPerClass} keys, new keys share one overflow bucket until the next
+ * sweep. With a shared store, a request that passes the local bucket is checked against the cluster-wide one as
+ * well; if the store is unreachable the local decision stands.
+ */
+@Slf4j
+public class RateLimiter {
+    public static final long ALLOWED = 0;
+    static final String OVERFLOW_KEY = "*";
+
+    private final Map<RateLimitClass, BucketSpec> specs;
+    private final Map<RateLimitClass, ConcurrentHashMap<String, AtomicLong>> buckets = new EnumMap<>(RateLimitClass.class);
+    private final Map<RateLimitClass, Counter> rejected = new EnumMap<>(RateLimitClass.class);
+    private final Counter sharedErrors;
+    private final int maxKeysPerClass;
+    private final SharedRateLimitStore sharedStore;
+    private final LongSupplier nanoClock;
+    private final long origin;
+
+    public RateLimiter(Map<RateLimitClass, BucketSpec> specs, int maxKeysPerClass, SharedRateLimitStore sharedStore,
+                       MeterRegistry meterRegistry) {
+        this(specs, maxKeysPerClass, sharedStore, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(Map<RateLimitClass, BucketSpec> specs, int maxKeysPerClass, SharedRateLimitStore sharedStore,
+                MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.specs = new EnumMap<>(specs);
+        this.maxKeysPerClass = maxKeysPerClass;
+        this.sharedStore = sharedStore;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        for (RateLimitClass limitClass : RateLimitClass.values()) {
+            if (!specs.containsKey(limitClass)) {
+                throw new IllegalArgumentException("No rate limit bucket for " + limitClass);
+            }
+            buckets.put(limitClass, new ConcurrentHashMap<>());
+            rejected.put(limitClass, meterRegistry.counter("bankcards.ratelimit.rejected",
+                    "class", limitClass.name().toLowerCase()));
+        }
+        this.sharedErrors = meterRegistry.counter("bankcards.ratelimit.shared.errors");
+        meterRegistry.gauge("bankcards.ratelimit.keys", this, RateLimiter::size);
+    }
+
+    /**
+     * Takes a token for {@code key}; returns {@link #ALLOWED} or the nanoseconds until the next token.
+     */
+    public long tryAcquire(RateLimitClass limitClass, String key) {
+        BucketSpec spec = specs.get(limitClass);
+        long waitNanos = acquire(bucket(limitClass, key), spec, now());
+        if (waitNanos == ALLOWED && sharedStore != null) {
+            waitNanos = acquireShared(limitClass, key, spec);
+        }
+        if (waitNanos != ALLOWED) {
+            rejected.get(limitClass).increment();
+        }
+        return waitNanos;
+    }
+
+    public int evictIdle() {
+        long now = now();
+        int evicted = 0;
+        for (ConcurrentHashMap<String, AtomicLong> classBuckets : buckets.values()) {
+            int before = classBuckets.size();
+            classBuckets.values().removeIf(bucket -> bucket.get() <= now);
+            evicted += before - classBuckets.size();
+        }
+        if (sharedStore != null) {
+            try {
+                evicted += sharedStore.evictIdle();
+            } catch (DataAccessException e) {
+                sharedErrors.increment();
+                log.warn("Could not evict idle shared rate limit buckets: {}", e.getMessage());
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> classBuckets : buckets.values()) {
+            size += classBuckets.size();
+        }
+        return size;
+    }
+
+    private AtomicLong bucket(RateLimitClass limitClass, String key) {
+        ConcurrentHashMap<String, AtomicLong> classBuckets = buckets.get(limitClass);
+        AtomicLong bucket = classBuckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        return classBuckets.computeIfAbsent(classBuckets.size() < maxKeysPerClass ? key : OVERFLOW_KEY,
+                ignored -> new AtomicLong());
+    }
+
+    private long acquireShared(RateLimitClass limitClass, String key, BucketSpec spec) {
+        try {
+            return sharedStore.tryAcquire(limitClass.name().toLowerCase() + ':' + key, spec);
+        } catch (DataAccessException e) {
+            sharedErrors.increment();
+            log.debug("Shared rate limit store unavailable: {}", e.getMessage());
+            return ALLOWED;
+        }
+    }
+
+    static long acquire(AtomicLong bucket, BucketSpec spec, long now) {
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + spec.intervalNanos();
+            long excess = next - now - spec.burstNanos();
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return ALLOWED;
+            }
+        }
+    }
+
+    private long now() {
+        return nanoClock.getAsLong() - origin;
+    }
+}
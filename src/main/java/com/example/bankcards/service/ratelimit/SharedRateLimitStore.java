@@ -0,0 +1,18 @@
+package com.example.bankcards.service.ratelimit;
+
+/**
+ * Cluster-wide buckets, consulted after the local bucket of the node has let a request through.
+ */
+public interface SharedRateLimitStore {
+
+    /**
+     * Takes a token from {@code bucketKey}; returns {@link RateLimiter#ALLOWED} or the nanoseconds until the next
+     * token.
+     */
+    long tryAcquire(String bucketKey, BucketSpec spec);
+
+    /**
+     * Drops buckets that have refilled completely and returns how many.
+     */
+    int evictIdle();
+}
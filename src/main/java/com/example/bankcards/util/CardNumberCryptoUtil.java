@@ -1,15 +1,25 @@
 package com.example.bankcards.util;
 
+import io.micrometer.core.annotation.Timed;
 import org.jasypt.encryption.StringEncryptor;
 import org.jasypt.encryption.pbe.PooledPBEStringEncryptor;
 import org.jasypt.encryption.pbe.config.SimpleStringPBEConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.Semaphore;
+import java.util.function.UnaryOperator;
+
 @Component
+@Timed("bankcards.crypto")
 public class CardNumberCryptoUtil {
 
     private final StringEncryptor encryptor;
+    /**
+     * Jasypt guards each pooled cipher with {@code synchronized}; a virtual thread blocked on that monitor pins
+     * its carrier. Bounding callers to the pool size makes them wait here, where virtual threads unmount.
+     */
+    private final Semaphore cipherPermits;
 
     public CardNumberCryptoUtil(
             @Value("${app.crypto.password}") String password,
@@ -32,13 +42,23 @@ public class CardNumberCryptoUtil {
         PooledPBEStringEncryptor pooledEncryptor = new PooledPBEStringEncryptor();
         pooledEncryptor.setConfig(config);
         this.encryptor = pooledEncryptor;
+        this.cipherPermits = new Semaphore(Integer.parseInt(poolSize), true);
     }
 
     public String encrypt(String cardNumber) {
-        return encryptor.encrypt(cardNumber);
+        return withCipher(encryptor::encrypt, cardNumber);
     }
 
     public String decrypt(String encryptedCardNumber) {
-        return encryptor.decrypt(encryptedCardNumber);
+        return withCipher(encryptor::decrypt, encryptedCardNumber);
+    }
+
+    private String withCipher(UnaryOperator<String> operation, String value) {
+        cipherPermits.acquireUninterruptibly();
+        try {
+            return operation.apply(value);
+        } finally {
+            cipherPermits.release();
+        }
     }
 }
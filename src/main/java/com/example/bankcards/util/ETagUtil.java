@@ -0,0 +1,14 @@
+package com.example.bankcards.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+public final class ETagUtil {
+    private ETagUtil() {}
+
+    public static String of(Object... parts) {
+        String version = Arrays.stream(parts).map(Objects::toString).collect(Collectors.joining("|"));
+        return "\"" + HashUtil.sha256(version) + "\"";
+    }
+}
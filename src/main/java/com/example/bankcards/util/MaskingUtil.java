@@ -5,6 +5,11 @@ public final class MaskingUtil {
 
     public static String maskCardNumber(String number) {
         if (number == null || number.length() < 4) return "**** **** **** ****";
-        return "**** **** **** " + number.substring(number.length() - 4);
+        return "**** **** **** " + lastFour(number);
+    }
+
+    public static String lastFour(String number) {
+        if (number == null || number.length() < 4) return "";
+        return number.substring(number.length() - 4);
     }
 }
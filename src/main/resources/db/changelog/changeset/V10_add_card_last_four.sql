@@ -0,0 +1 @@
+ALTER TABLE cards ADD COLUMN last_four VARCHAR(4);
@@ -0,0 +1,11 @@
+CREATE TABLE audit_events (
+    id BIGSERIAL PRIMARY KEY,
+    sequence BIGINT NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    actor VARCHAR(64) NOT NULL,
+    action VARCHAR(64) NOT NULL,
+    target VARCHAR(1024),
+    outcome VARCHAR(255) NOT NULL
+);
+CREATE INDEX idx_audit_events_occurred_at ON audit_events (occurred_at);
+CREATE INDEX idx_audit_events_actor ON audit_events (actor, occurred_at);
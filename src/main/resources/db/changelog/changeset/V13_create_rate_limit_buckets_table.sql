@@ -0,0 +1,4 @@
+CREATE TABLE rate_limit_buckets (
+    bucket_key VARCHAR(300) PRIMARY KEY,
+    tat BIGINT NOT NULL
+);
@@ -0,0 +1,4 @@
+ALTER TABLE outbox_events ADD COLUMN partition_id INTEGER;
+UPDATE outbox_events SET partition_id = MOD(aggregate_id, 16);
+ALTER TABLE outbox_events ALTER COLUMN partition_id SET NOT NULL;
+CREATE INDEX idx_outbox_events_partition ON outbox_events(partition_id, id);
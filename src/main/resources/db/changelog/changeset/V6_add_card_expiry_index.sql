@@ -0,0 +1 @@
+CREATE INDEX idx_card_expiry_date ON cards(expiry_date) WHERE status <> 'EXPIRED';
@@ -0,0 +1,7 @@
+CREATE TABLE user_shards (
+    user_id BIGINT PRIMARY KEY,
+    login VARCHAR(50) NOT NULL,
+    shard_id INTEGER NOT NULL
+);
+CREATE UNIQUE INDEX uk_user_shards_login ON user_shards(LOWER(login));
+CREATE INDEX idx_user_shards_shard_id ON user_shards(shard_id);
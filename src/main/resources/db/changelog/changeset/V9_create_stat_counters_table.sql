@@ -0,0 +1,12 @@
+CREATE TABLE stat_counters (
+    name VARCHAR(64) NOT NULL,
+    stripe SMALLINT NOT NULL,
+    amount NUMERIC(38, 2) NOT NULL,
+    PRIMARY KEY (name, stripe)
+);
+INSERT INTO stat_counters (name, stripe, amount)
+SELECT 'cards.count.' || status, 0, COUNT(*) FROM cards GROUP BY status;
+INSERT INTO stat_counters (name, stripe, amount)
+SELECT 'cards.balance', 0, COALESCE(SUM(balance), 0) FROM cards;
+INSERT INTO stat_counters (name, stripe, amount)
+SELECT CASE WHEN banned THEN 'users.banned' ELSE 'users.active' END, 0, COUNT(*) FROM users GROUP BY banned;
@@ -0,0 +1,33 @@
+package com.example.bankcards.config.aot;
+
+import org.jasypt.salt.RandomSaltGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeRuntimeHintsTest() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_ShouldCoverReflectiveLookups() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(RandomSaltGenerator.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(hints.reflection().getTypeHint(java.util.concurrent.Executors.class).methods()
+                .anyMatch(method -> method.getName().equals("newVirtualThreadPerTaskExecutor")));
+    }
+
+    @Test
+    void registerHints_ShouldIncludeChangelogsAndCacheConfig() {
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("db/changelog/changeset/fix_cards_autoincrement.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("ehcache.xml").test(hints));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.bankcards.config.concurrency;
+
+import com.example.bankcards.service.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.bankcards.service.concurrency.RequestPriority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitFilterTest {
+
+    @Mock
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Mock
+    private FilterChain filterChain;
+
+    @Test
+    void overLimit_ShouldFailFastWith503() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/admin/cards");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(limiter.tryAcquire(RequestPriority.SHEDDABLE)).thenReturn(AdaptiveConcurrencyLimiter.REJECTED);
+
+        filter().doFilter(request, response, filterChain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        verifyNoInteractions(filterChain);
+        verify(limiter, never()).release(any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void admitted_ShouldReleaseEvenWhenTheChainFails() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/cards/transfer");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(limiter.tryAcquire(RequestPriority.CRITICAL)).thenReturn(3);
+        doThrow(new ServletException("boom")).when(filterChain).doFilter(request, response);
+
+        assertThrows(ServletException.class, () -> filter().doFilter(request, response, filterChain));
+
+        verify(limiter).release(eq(RequestPriority.CRITICAL), eq(3), anyLong());
+    }
+
+    @Test
+    void classify_ShouldPrioritizeMoneyMovementAndShedListings() {
+        assertEquals(RequestPriority.CRITICAL, classify("POST", "/api/v1/cards/transfer"));
+        assertEquals(RequestPriority.CRITICAL, classify("GET", "/api/v1/cards/42/balance"));
+        assertEquals(RequestPriority.SHEDDABLE, classify("GET", "/api/v1/admin/cards"));
+        assertEquals(RequestPriority.SHEDDABLE, classify("GET", "/api/v1/admin/users"));
+        assertEquals(RequestPriority.SHEDDABLE, classify("GET", "/api/v1/cards/search"));
+        assertEquals(RequestPriority.NORMAL, classify("GET", "/api/v1/cards"));
+        assertEquals(RequestPriority.NORMAL, classify("POST", "/api/v1/admin/cards/1/block"));
+        assertNull(classify("GET", "/actuator/health"));
+    }
+
+    private ConcurrencyLimitFilter filter() {
+        return new ConcurrencyLimitFilter(limiter, new ObjectMapper());
+    }
+
+    private static RequestPriority classify(String method, String path) {
+        return ConcurrencyLimitFilter.classify(new MockHttpServletRequest(method, path));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.bankcards.config.datasource;
+
+import com.example.bankcards.config.threads.VirtualThreadsConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    void permitIsReleasedOnceWhenConnectionClosed() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        assertEquals(0, dataSource.availablePermits());
+
+        first.close();
+        first.close();
+
+        assertEquals(1, dataSource.availablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void throwsWhenNoPermitWithinTimeout() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void permitIsReleasedWhenTargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    void limiterIsSizedToEachPool() {
+        ConnectionLimiter limiter = new VirtualThreadsConfig().connectionLimiter(Duration.ofMillis(50));
+        HikariDataSource primary = new HikariDataSource();
+        primary.setMaximumPoolSize(20);
+        HikariDataSource replica = new HikariDataSource();
+        replica.setMaximumPoolSize(5);
+
+        assertEquals(20, ((ConnectionLimitingDataSource) limiter.limit(primary)).availablePermits());
+        assertEquals(5, ((ConnectionLimitingDataSource) limiter.limit(replica)).availablePermits());
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.bankcards.config.datasource;
+
+import com.example.bankcards.dto.UserDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", firstReplica);
+        replicas.put("replica-1", secondReplica);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas,
+                new ReadYourWritesTracker(Duration.ofMinutes(1)), Duration.ofSeconds(10));
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getConnection_WithoutTransaction_ShouldUsePrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    @Test
+    void getConnection_ReadOnlyTransaction_ShouldBalanceAcrossReplicas() throws SQLException {
+        beginTransaction(true);
+        when(firstReplica.getConnection()).thenReturn(replicaConnection);
+        when(secondReplica.getConnection()).thenReturn(replicaConnection);
+
+        routingDataSource.getConnection();
+        routingDataSource.getConnection();
+
+        verify(firstReplica).getConnection();
+        verify(secondReplica).getConnection();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnection_ReadAfterOwnWrite_ShouldUsePrimary() throws SQLException {
+        authenticate("testuser");
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        beginTransaction(false);
+        routingDataSource.getConnection();
+        beginTransaction(true);
+        routingDataSource.getConnection();
+
+        verify(primary, times(2)).getConnection();
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    @Test
+    void getConnection_ReadAfterOtherUsersWrite_ShouldUseReplica() throws SQLException {
+        authenticate("writer");
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        beginTransaction(false);
+        routingDataSource.getConnection();
+
+        authenticate("reader");
+        when(firstReplica.getConnection()).thenReturn(replicaConnection);
+        beginTransaction(true);
+
+        assertSame(replicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_ReplicaDown_ShouldFallBackAndSkipIt() throws SQLException {
+        beginTransaction(true);
+        when(firstReplica.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(secondReplica.getConnection()).thenReturn(replicaConnection);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        assertSame(replicaConnection, routingDataSource.getConnection());
+
+        verify(firstReplica, times(1)).getConnection();
+    }
+
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private void authenticate(String login) {
+        UserDto userDto = UserDto.builder().login(login).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDto, null, List.of()));
+    }
+}
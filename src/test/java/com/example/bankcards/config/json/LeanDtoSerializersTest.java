@@ -0,0 +1,66 @@
+package com.example.bankcards.config.json;
+
+import com.example.bankcards.dto.ErrorDto;
+import com.example.bankcards.dto.PageResponse;
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.entity.card.CardStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeanDtoSerializersTest {
+
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper lean = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(JsonConfig.leanDtoSerializers())
+            .build();
+
+    private final CardDto card = CardDto.builder()
+            .id(7L)
+            .maskedCardNumber("**** **** **** 1234")
+            .expiryDate(LocalDate.of(2030, 1, 31))
+            .status(CardStatus.ACTIVE)
+            .balance(new BigDecimal("1000.50"))
+            .build();
+
+    @Test
+    void dtos_ShouldSerializeLikeReflectiveJackson() throws Exception {
+        List<Object> values = List.of(
+                card,
+                new CardDto(),
+                UserDto.builder().id(1L).login("user \"one\"").phone("+79001234567").build(),
+                new ErrorDto("Card not found"));
+
+        for (Object value : values) {
+            assertEquals(reflective.writeValueAsString(value), lean.writeValueAsString(value));
+        }
+    }
+
+    @Test
+    void pageResponse_ShouldWriteLeanEnvelope() throws Exception {
+        PageResponse<CardDto> page = PageResponse.of(new PageImpl<>(List.of(card, card), PageRequest.of(1, 2), 5));
+
+        JsonNode json = lean.readTree(lean.writeValueAsString(page));
+
+        assertEquals(reflective.readTree(reflective.writeValueAsString(List.of(card, card))), json.get("content"));
+        assertEquals(1, json.get("page").asInt());
+        assertEquals(2, json.get("size").asInt());
+        assertEquals(5, json.get("totalElements").asLong());
+        assertEquals(3, json.get("totalPages").asInt());
+        assertEquals(5, json.size());
+    }
+}
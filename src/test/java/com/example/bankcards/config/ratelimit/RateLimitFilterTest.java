@@ -0,0 +1,85 @@
+package com.example.bankcards.config.ratelimit;
+
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.service.ratelimit.RateLimitClass;
+import com.example.bankcards.service.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private FilterChain filterChain;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void login_OverLimit_ShouldReturn429WithRetryAfter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setRemoteAddr("10.0.0.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(rateLimiter.tryAcquire(RateLimitClass.LOGIN, "10.0.0.7"))
+                .thenReturn(TimeUnit.MILLISECONDS.toNanos(2500));
+
+        new RateLimitFilter(rateLimiter, new ObjectMapper()).doFilter(request, response, filterChain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("3", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Too many requests"));
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void search_Authenticated_ShouldBeKeyedByLogin() throws Exception {
+        UserDto user = new UserDto();
+        user.setLogin("alice");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/cards/search");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(rateLimiter.tryAcquire(RateLimitClass.SEARCH, "alice")).thenReturn(RateLimiter.ALLOWED);
+
+        new RateLimitFilter(rateLimiter, new ObjectMapper()).doFilter(request, response, filterChain);
+
+        assertEquals(200, response.getStatus());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void classify_ShouldOnlyMatchLimitedEndpoints() {
+        assertEquals(RateLimitClass.LOGIN, RateLimitFilter.classify(new MockHttpServletRequest("POST", "/register")));
+        assertEquals(RateLimitClass.TRANSFER,
+                RateLimitFilter.classify(new MockHttpServletRequest("POST", "/api/v1/cards/transfer")));
+        assertNull(RateLimitFilter.classify(new MockHttpServletRequest("GET", "/api/v1/cards")));
+        assertNull(RateLimitFilter.classify(new MockHttpServletRequest("GET", "/login")));
+    }
+
+    @Test
+    void retryAfterSeconds_ShouldRoundUpToAtLeastOneSecond() {
+        assertEquals(1, RateLimitFilter.retryAfterSeconds(1));
+        assertEquals(1, RateLimitFilter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1)));
+        assertEquals(2, RateLimitFilter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1) + 1));
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.bankcards.controller;
 
 import com.example.bankcards.controller.card.AdminCardController;
+import com.example.bankcards.dto.BulkUpdateResult;
+import com.example.bankcards.dto.PageResponse;
+import com.example.bankcards.dto.card.BulkCardStatusRequest;
 import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardExpiryReport;
 import com.example.bankcards.dto.card.CreateCardRequest;
 import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.service.CardExpiryService;
 import com.example.bankcards.service.CardService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +25,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +34,9 @@ class AdminCardControllerTest {
     @Mock
     private CardService cardService;
 
+    @Mock
+    private CardExpiryService cardExpiryService;
+
     @InjectMocks
     private AdminCardController adminCardController;
 
@@ -64,7 +73,7 @@ class AdminCardControllerTest {
 
         when(cardService.getAllCards(CardStatus.ACTIVE, pageable)).thenReturn(cardPage);
 
-        ResponseEntity<Page<CardDto>> response = adminCardController.getAllCards(CardStatus.ACTIVE, pageable);
+        ResponseEntity<PageResponse<CardDto>> response = adminCardController.getAllCards(CardStatus.ACTIVE, null, pageable);
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
@@ -83,7 +92,7 @@ class AdminCardControllerTest {
 
         when(cardService.getAllCards(null, pageable)).thenReturn(cardPage);
 
-        ResponseEntity<Page<CardDto>> response = adminCardController.getAllCards(null, pageable);
+        ResponseEntity<PageResponse<CardDto>> response = adminCardController.getAllCards(null, null, pageable);
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
@@ -91,6 +100,24 @@ class AdminCardControllerTest {
         verify(cardService).getAllCards(null, pageable);
     }
 
+    @Test
+    void getAllCards_WithAfterId_ShouldReturnKeysetPageWithCursor() {
+        Pageable pageable = Pageable.ofSize(1);
+        CardDto cardDto = CardDto.builder()
+                .id(42L)
+                .maskedCardNumber("**** **** **** 1234")
+                .build();
+        Page<CardDto> cardPage = new PageImpl<>(List.of(cardDto), pageable, 5);
+
+        when(cardService.getAllCardsAfter(null, 41L, 1)).thenReturn(cardPage);
+
+        ResponseEntity<PageResponse<CardDto>> response = adminCardController.getAllCards(null, 41L, pageable);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(42L, response.getBody().getNextAfterId());
+        verify(cardService, never()).getAllCards(any(), any());
+    }
+
     @Test
     void deleteCard_ExistingCard_ShouldReturnNoContent() {
         doNothing().when(cardService).deleteCard(1L);
@@ -123,4 +150,54 @@ class AdminCardControllerTest {
         assertEquals(200, response.getStatusCodeValue());
         verify(cardService).activateCard(1L);
     }
+
+    @Test
+    void blockCards_ValidRequest_ShouldReturnAffectedCount() {
+        BulkCardStatusRequest request = BulkCardStatusRequest.builder()
+                .ownerIds(List.of(1L, 2L))
+                .build();
+
+        when(cardService.blockCards(request)).thenReturn(new BulkUpdateResult(4));
+
+        ResponseEntity<BulkUpdateResult> response = adminCardController.blockCards(request);
+
+        assertNotNull(response);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(4, response.getBody().getAffected());
+        verify(cardService).blockCards(request);
+    }
+
+    @Test
+    void activateCards_ValidRequest_ShouldReturnAffectedCount() {
+        BulkCardStatusRequest request = BulkCardStatusRequest.builder()
+                .cardIds(List.of(1L))
+                .build();
+
+        when(cardService.activateCards(request)).thenReturn(new BulkUpdateResult(1));
+
+        ResponseEntity<BulkUpdateResult> response = adminCardController.activateCards(request);
+
+        assertNotNull(response);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, response.getBody().getAffected());
+        verify(cardService).activateCards(request);
+    }
+
+    @Test
+    void expireCards_ShouldReturnReport() {
+        CardExpiryReport report = CardExpiryReport.builder()
+                .lockAcquired(true)
+                .expiredCards(3)
+                .chunks(1)
+                .build();
+
+        when(cardExpiryService.expireCards(any(LocalDate.class))).thenReturn(report);
+
+        ResponseEntity<CardExpiryReport> response = adminCardController.expireCards();
+
+        assertNotNull(response);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(3, response.getBody().getExpiredCards());
+        verify(cardExpiryService).expireCards(any(LocalDate.class));
+    }
 }
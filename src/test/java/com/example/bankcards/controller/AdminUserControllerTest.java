@@ -1,5 +1,8 @@
 package com.example.bankcards.controller;
 
+import com.example.bankcards.dto.BulkBanRequest;
+import com.example.bankcards.dto.BulkUpdateResult;
+import com.example.bankcards.dto.PageResponse;
 import com.example.bankcards.dto.UserDto;
 import com.example.bankcards.service.UserService;
 import org.junit.jupiter.api.Test;
@@ -38,7 +41,7 @@ class AdminUserControllerTest {
 
         when(userService.findAll(pageable)).thenReturn(userPage);
 
-        ResponseEntity<Page<UserDto>> response = adminUserController.getAllUsers(pageable);
+        ResponseEntity<PageResponse<UserDto>> response = adminUserController.getAllUsers(null, pageable);
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
@@ -79,4 +82,21 @@ class AdminUserControllerTest {
         assertEquals(200, response.getStatusCodeValue());
         verify(userService).setBanned(1L, false);
     }
+
+    @Test
+    void setBanned_BulkRequest_ShouldReturnAffectedCount() {
+        BulkBanRequest request = BulkBanRequest.builder()
+                .userIds(List.of(1L, 2L))
+                .banned(true)
+                .build();
+
+        when(userService.setBanned(List.of(1L, 2L), true)).thenReturn(new BulkUpdateResult(2));
+
+        ResponseEntity<BulkUpdateResult> response = adminUserController.setBanned(request);
+
+        assertNotNull(response);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(2, response.getBody().getAffected());
+        verify(userService).setBanned(List.of(1L, 2L), true);
+    }
 }
@@ -0,0 +1,79 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.controller.auth.AuthController;
+import com.example.bankcards.dto.ErrorDto;
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.dto.auth.CredentialsDto;
+import com.example.bankcards.security.UserAuthenticationProvider;
+import com.example.bankcards.service.UserService;
+import com.example.bankcards.service.ratelimit.BucketSpec;
+import com.example.bankcards.service.ratelimit.RateLimitClass;
+import com.example.bankcards.service.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthControllerTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserAuthenticationProvider userAuthenticationProvider;
+
+    @Mock
+    private ObjectProvider<RateLimiter> rateLimiterProvider;
+
+    private AuthController authController;
+
+    @BeforeEach
+    void setUp() {
+        Map<RateLimitClass, BucketSpec> specs = new EnumMap<>(RateLimitClass.class);
+        for (RateLimitClass limitClass : RateLimitClass.values()) {
+            specs.put(limitClass, new BucketSpec(100, Duration.ofSeconds(1)));
+        }
+        specs.put(RateLimitClass.LOGIN_ACCOUNT, new BucketSpec(2, Duration.ofMinutes(1)));
+        RateLimiter rateLimiter = new RateLimiter(specs, 100, null, new SimpleMeterRegistry());
+        when(rateLimiterProvider.getIfAvailable()).thenReturn(rateLimiter);
+        authController = new AuthController(userService, userAuthenticationProvider, rateLimiterProvider);
+    }
+
+    @Test
+    void login_SameAccountOverLimit_ShouldReturn429BeforeCheckingPassword() {
+        when(userService.login(any())).thenReturn(UserDto.builder().login("alice").build());
+        when(userAuthenticationProvider.createToken("alice")).thenReturn("jwt-token");
+
+        assertEquals(200, authController.login(new CredentialsDto("alice", "wrong")).getStatusCodeValue());
+        assertEquals(200, authController.login(new CredentialsDto("ALICE", "wrong")).getStatusCodeValue());
+        ResponseEntity<?> response = authController.login(new CredentialsDto("Alice", "guess"));
+
+        assertEquals(429, response.getStatusCodeValue());
+        assertNotNull(response.getHeaders().getFirst("Retry-After"));
+        assertEquals("Too many requests", ((ErrorDto) response.getBody()).getMessage());
+        verify(userService, times(2)).login(any());
+    }
+
+    @Test
+    void login_OtherAccount_ShouldHaveItsOwnBucket() {
+        when(userService.login(any())).thenReturn(UserDto.builder().login("bob").build());
+
+        authController.login(new CredentialsDto("alice", "wrong"));
+        authController.login(new CredentialsDto("alice", "wrong"));
+
+        assertEquals(200, authController.login(new CredentialsDto("bob", "secret")).getStatusCodeValue());
+    }
+}
@@ -2,9 +2,12 @@ package com.example.bankcards.controller;
 
 import com.example.bankcards.controller.card.CardController;
 import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardField;
+import com.example.bankcards.dto.PageResponse;
 import com.example.bankcards.dto.UserDto;
 import com.example.bankcards.dto.card.TransferRequest;
 import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.exception.AppException;
 import com.example.bankcards.service.CardService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,12 +17,20 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.math.BigDecimal;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +42,14 @@ class CardControllerTest {
     @InjectMocks
     private CardController cardController;
 
+    private ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/cards");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
     @Test
     void getUserCards_WithStatus_ShouldReturnCards() {
         UserDto userDto = UserDto.builder()
@@ -44,13 +63,16 @@ class CardControllerTest {
                 .build();
         Page<CardDto> cardPage = new PageImpl<>(List.of(cardDto));
 
+        when(cardService.getUserCardsETag(1L, CardStatus.ACTIVE, pageable, null)).thenReturn("\"v1\"");
         when(cardService.getUserCards("testuser", CardStatus.ACTIVE, pageable)).thenReturn(cardPage);
 
-        ResponseEntity<Page<CardDto>> response = cardController.getUserCards(CardStatus.ACTIVE, pageable, userDto);
+        ResponseEntity<PageResponse<CardDto>> response = cardController.getUserCards(CardStatus.ACTIVE, null, pageable, userDto,
+                webRequest(null));
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(1, response.getBody().getContent().size());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
         verify(cardService).getUserCards("testuser", CardStatus.ACTIVE, pageable);
     }
 
@@ -67,9 +89,10 @@ class CardControllerTest {
                 .build();
         Page<CardDto> cardPage = new PageImpl<>(List.of(cardDto));
 
+        when(cardService.getUserCardsETag(1L, null, pageable, null)).thenReturn("\"v1\"");
         when(cardService.getUserCards("testuser", null, pageable)).thenReturn(cardPage);
 
-        ResponseEntity<Page<CardDto>> response = cardController.getUserCards(null, pageable, userDto);
+        ResponseEntity<PageResponse<CardDto>> response = cardController.getUserCards(null, null, pageable, userDto, webRequest(null));
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
@@ -91,7 +114,7 @@ class CardControllerTest {
 
         when(cardService.getUserCardsByLastFourDigits("testuser", "1234")).thenReturn(cards);
 
-        ResponseEntity<List<CardDto>> response = cardController.searchCardsByLastFourDigits("1234", userDto);
+        ResponseEntity<List<CardDto>> response = cardController.searchCardsByLastFourDigits("1234", null, userDto);
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
@@ -99,6 +122,59 @@ class CardControllerTest {
         verify(cardService).getUserCardsByLastFourDigits("testuser", "1234");
     }
 
+    @Test
+    void getUserCards_MatchingETag_ShouldReturnNotModifiedWithoutLoadingCards() {
+        UserDto userDto = UserDto.builder()
+                .id(1L)
+                .login("testuser")
+                .build();
+        Pageable pageable = Pageable.ofSize(10);
+
+        when(cardService.getUserCardsETag(1L, null, pageable, null)).thenReturn("\"v1\"");
+
+        ResponseEntity<PageResponse<CardDto>> response = cardController.getUserCards(null, null, pageable, userDto,
+                webRequest("\"v1\""));
+
+        assertEquals(304, response.getStatusCodeValue());
+        assertNull(response.getBody());
+        verify(cardService, never()).getUserCards(any(), any(), any());
+    }
+
+    @Test
+    void getUserCards_WithFields_ShouldUseSparseProjection() {
+        UserDto userDto = UserDto.builder()
+                .id(1L)
+                .login("testuser")
+                .build();
+        Pageable pageable = Pageable.ofSize(10);
+        Set<CardField> fields = EnumSet.of(CardField.ID, CardField.BALANCE);
+        Page<CardDto> cardPage = new PageImpl<>(List.of(CardDto.builder().id(1L).balance(BigDecimal.TEN).build()));
+
+        when(cardService.getUserCardsETag(1L, null, pageable, fields)).thenReturn("\"v2\"");
+        when(cardService.getUserCards("testuser", null, pageable, fields)).thenReturn(cardPage);
+
+        ResponseEntity<PageResponse<CardDto>> response = cardController.getUserCards(null, "id, balance", pageable,
+                userDto, webRequest(null));
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(BigDecimal.TEN, response.getBody().getContent().get(0).getBalance());
+        verify(cardService, never()).getUserCards("testuser", null, pageable);
+    }
+
+    @Test
+    void getUserCards_UnknownField_ShouldThrowBadRequest() {
+        UserDto userDto = UserDto.builder()
+                .id(1L)
+                .login("testuser")
+                .build();
+
+        AppException exception = assertThrows(AppException.class, () -> cardController.getUserCards(null,
+                "id,cardNumber", Pageable.ofSize(10), userDto, webRequest(null)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(cardService);
+    }
+
     @Test
     void getBalance_ValidCard_ShouldReturnBalance() {
         UserDto userDto = UserDto.builder()
@@ -106,9 +182,10 @@ class CardControllerTest {
                 .login("testuser")
                 .build();
 
+        when(cardService.getBalanceETag(1L, userDto)).thenReturn("\"b1\"");
         when(cardService.getBalance(1L, "testuser")).thenReturn(BigDecimal.valueOf(1000));
 
-        ResponseEntity<BigDecimal> response = cardController.getBalance(1L, userDto);
+        ResponseEntity<BigDecimal> response = cardController.getBalance(1L, userDto, webRequest("\"b0\""));
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
@@ -116,6 +193,21 @@ class CardControllerTest {
         verify(cardService).getBalance(1L, "testuser");
     }
 
+    @Test
+    void getBalance_MatchingETag_ShouldReturnNotModified() {
+        UserDto userDto = UserDto.builder()
+                .id(1L)
+                .login("testuser")
+                .build();
+
+        when(cardService.getBalanceETag(1L, userDto)).thenReturn("\"b1\"");
+
+        ResponseEntity<BigDecimal> response = cardController.getBalance(1L, userDto, webRequest("\"b1\""));
+
+        assertEquals(304, response.getStatusCodeValue());
+        verify(cardService, never()).getBalance(any(), any());
+    }
+
     @Test
     void transferMoney_ValidRequest_ShouldReturnOk() {
         UserDto userDto = UserDto.builder()
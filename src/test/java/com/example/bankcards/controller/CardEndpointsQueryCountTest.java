@@ -0,0 +1,165 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.config.sql.SqlStatementCountFilter;
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CreateCardRequest;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.UserRole;
+import com.example.bankcards.repository.StatCounterRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.UserAuthenticationProvider;
+import com.example.bankcards.service.CardService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.bankcards.support.SqlStatementAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets per endpoint against an in-memory database. The budgets do not grow with the number of cards,
+ * so an N+1 regression fails here.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CardEndpointsQueryCountTest {
+    private static final int CARDS = 10;
+
+    @MockBean
+    private StatCounterRepository statCounterRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private UserAuthenticationProvider userAuthenticationProvider;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<CardDto> cards = new ArrayList<>();
+    private String userToken;
+    private String adminToken;
+
+    @BeforeAll
+    void setUp() {
+        User owner = userRepository.save(User.builder().login("owner").password("x").role(UserRole.USER).build());
+        userRepository.save(User.builder().login("root").password("x").role(UserRole.ADMIN).build());
+        for (int i = 0; i < CARDS; i++) {
+            cards.add(cardService.createCard(new CreateCardRequest(LocalDate.now().plusYears(3), BigDecimal.valueOf(100),
+                    owner.getId())));
+        }
+        userToken = "Bearer " + userAuthenticationProvider.createToken("owner");
+        adminToken = "Bearer " + userAuthenticationProvider.createToken("root");
+    }
+
+    @BeforeEach
+    void evictSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void getUserCards() {
+        assertWithinBudget(3, get("/api/v1/cards").header(HttpHeaders.AUTHORIZATION, userToken));
+    }
+
+    @Test
+    void getUserCardsSparse() {
+        assertWithinBudget(3, get("/api/v1/cards?fields=id,status").header(HttpHeaders.AUTHORIZATION, userToken));
+    }
+
+    @Test
+    void getUserCardsSparseMaskedNumber_ShouldFallBackToCardNumberWithoutLastFour() throws Exception {
+        jdbcTemplate.update("UPDATE cards SET last_four = NULL WHERE id = ?", cards.get(CARDS - 1).getId());
+
+        MvcResult result = assertWithinBudget(3, get("/api/v1/cards?fields=id,maskedCardNumber&size=" + CARDS)
+                .header(HttpHeaders.AUTHORIZATION, userToken));
+
+        JsonNode content = objectMapper.readTree(result.getResponse().getContentAsString()).get("content");
+        assertEquals(CARDS, content.size());
+        for (CardDto card : cards) {
+            String masked = null;
+            for (JsonNode node : content) {
+                if (node.get("id").asLong() == card.getId()) {
+                    masked = node.get("maskedCardNumber").asText();
+                }
+            }
+            assertEquals(card.getMaskedCardNumber(), masked);
+        }
+    }
+
+    @Test
+    void search() {
+        String lastFour = cards.get(0).getMaskedCardNumber().substring(15);
+        assertWithinBudget(3, get("/api/v1/cards/search?lastFourDigits=" + lastFour)
+                .header(HttpHeaders.AUTHORIZATION, userToken));
+    }
+
+    @Test
+    void getBalance() {
+        assertWithinBudget(3, get("/api/v1/cards/" + cards.get(0).getId() + "/balance")
+                .header(HttpHeaders.AUTHORIZATION, userToken));
+    }
+
+    @Test
+    void transfer() {
+        assertWithinBudget(5, post("/api/v1/cards/transfer")
+                .header(HttpHeaders.AUTHORIZATION, userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fromCardId\":" + cards.get(1).getId() + ",\"toCardId\":" + cards.get(2).getId()
+                        + ",\"amount\":1}"));
+    }
+
+    @Test
+    void adminCards() {
+        assertWithinBudget(3, get("/api/v1/admin/cards").header(HttpHeaders.AUTHORIZATION, adminToken));
+    }
+
+    private MvcResult assertWithinBudget(int budget, MockHttpServletRequestBuilder request) {
+        MvcResult result = assertMaxStatements(budget, () -> mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn());
+
+        String header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+        assertNotNull(header);
+        assertTrue(Integer.parseInt(header) <= budget, "X-SQL-Count " + header + " exceeds " + budget);
+        return result;
+    }
+}
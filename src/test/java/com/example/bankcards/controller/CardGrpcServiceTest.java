@@ -0,0 +1,208 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.controller.grpc.CardGrpcService;
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.exception.AppException;
+import com.example.bankcards.grpc.BalanceReply;
+import com.example.bankcards.grpc.BalancesRequest;
+import com.example.bankcards.grpc.CardMessage;
+import com.example.bankcards.grpc.CardOperationsGrpc;
+import com.example.bankcards.grpc.ListCardsRequest;
+import com.example.bankcards.grpc.TransferReply;
+import com.example.bankcards.grpc.TransferRequest;
+import com.example.bankcards.security.UserAuthenticationProvider;
+import com.example.bankcards.security.filter.GrpcAuthInterceptor;
+import com.example.bankcards.service.CardService;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardGrpcServiceTest {
+
+    @Mock
+    private CardService cardService;
+
+    @Mock
+    private UserAuthenticationProvider userAuthenticationProvider;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        CardGrpcService service = new CardGrpcService(cardService,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(service, new GrpcAuthInterceptor(userAuthenticationProvider)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    private CardOperationsGrpc.CardOperationsBlockingStub stub(String role) {
+        UserDto user = UserDto.builder().id(1L).login("testuser").build();
+        when(userAuthenticationProvider.validateToken("token")).thenReturn(new UsernamePasswordAuthenticationToken(
+                user, null, List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER), "Bearer token");
+        return CardOperationsGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+
+    @Test
+    void transfer_WithoutToken_ShouldBeUnauthenticated() {
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> CardOperationsGrpc.newBlockingStub(channel).transfer(TransferRequest.getDefaultInstance()));
+
+        assertEquals(Status.Code.UNAUTHENTICATED, exception.getStatus().getCode());
+        verifyNoInteractions(cardService);
+    }
+
+    @Test
+    void transfer_AsAdmin_ShouldBePermissionDenied() {
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> stub("ADMIN").transfer(TransferRequest.getDefaultInstance()));
+
+        assertEquals(Status.Code.PERMISSION_DENIED, exception.getStatus().getCode());
+        verifyNoInteractions(cardService);
+    }
+
+    @Test
+    void transfer_ShouldDelegateToCardService() {
+        TransferReply reply = stub("USER").transfer(TransferRequest.newBuilder()
+                .setFromCardId(1L).setToCardId(2L).setAmount("100.50").build());
+
+        assertTrue(reply.getSuccess());
+        verify(cardService).transferBetweenOwnCards(
+                new com.example.bankcards.dto.card.TransferRequest(1L, 2L, new BigDecimal("100.50")), "testuser");
+    }
+
+    @Test
+    void transfer_WithNegativeAmount_ShouldBeInvalidArgument() {
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> stub("USER").transfer(TransferRequest.newBuilder()
+                        .setFromCardId(1L).setToCardId(2L).setAmount("-5").build()));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        verifyNoInteractions(cardService);
+    }
+
+    @Test
+    void transfer_InsufficientFunds_ShouldMapStatus() {
+        doThrow(new AppException("Insufficient funds", HttpStatus.BAD_REQUEST))
+                .when(cardService).transferBetweenOwnCards(any(), eq("testuser"));
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> stub("USER").transfer(TransferRequest.newBuilder()
+                        .setFromCardId(1L).setToCardId(2L).setAmount("10").build()));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        assertEquals("Insufficient funds", exception.getStatus().getDescription());
+    }
+
+    @Test
+    void getBalances_ShouldReportErrorsPerCard() {
+        when(cardService.getBalance(1L, "testuser")).thenReturn(new BigDecimal("250.00"));
+        when(cardService.getBalance(2L, "testuser"))
+                .thenThrow(new AppException("Card does not belong to the user", HttpStatus.FORBIDDEN));
+
+        List<BalanceReply> replies = new ArrayList<>();
+        stub("USER").getBalances(BalancesRequest.newBuilder().addCardIds(1L).addCardIds(2L).build())
+                .forEachRemaining(replies::add);
+
+        assertEquals(2, replies.size());
+        assertEquals("250.00", replies.get(0).getBalance());
+        assertEquals(2L, replies.get(1).getCardId());
+        assertEquals("Card does not belong to the user", replies.get(1).getError());
+    }
+
+    @Test
+    void getBalances_TooManyCards_ShouldBeInvalidArgument() {
+        BalancesRequest.Builder request = BalancesRequest.newBuilder();
+        LongStream.rangeClosed(1, 101).forEach(request::addCardIds);
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> stub("USER").getBalances(request.build()).forEachRemaining(reply -> { }));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        verifyNoInteractions(cardService);
+    }
+
+    @Test
+    void getBalances_UnexpectedFailure_ShouldBeInternal() {
+        when(cardService.getBalance(1L, "testuser")).thenThrow(new IllegalStateException("connection lost"));
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> stub("USER").getBalances(BalancesRequest.newBuilder().addCardIds(1L).build())
+                        .forEachRemaining(reply -> { }));
+
+        assertEquals(Status.Code.INTERNAL, exception.getStatus().getCode());
+        assertEquals("Internal server error", exception.getStatus().getDescription());
+    }
+
+    @Test
+    void listCards_ShouldStreamRequestedPage() {
+        CardDto card = CardDto.builder()
+                .id(7L)
+                .maskedCardNumber("**** **** **** 1234")
+                .expiryDate(LocalDate.of(2030, 1, 31))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("10.00"))
+                .build();
+        when(cardService.getUserCards(eq("testuser"), eq(CardStatus.ACTIVE), eq(PageRequest.of(1, 20)), any()))
+                .thenReturn(new PageImpl<>(List.of(card)));
+
+        List<CardMessage> cards = new ArrayList<>();
+        stub("USER").listCards(ListCardsRequest.newBuilder()
+                        .setStatus(com.example.bankcards.grpc.CardStatus.ACTIVE).setPage(1).build())
+                .forEachRemaining(cards::add);
+
+        assertEquals(1, cards.size());
+        assertEquals(7L, cards.get(0).getId());
+        assertEquals("2030-01-31", cards.get(0).getExpiryDate());
+        assertEquals(com.example.bankcards.grpc.CardStatus.ACTIVE, cards.get(0).getStatus());
+        assertEquals("10.00", cards.get(0).getBalance());
+        verify(cardService, never()).getUserCards(anyString(), any(), any());
+    }
+}
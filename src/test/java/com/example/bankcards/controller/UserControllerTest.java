@@ -1,17 +1,24 @@
 package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.dto.UserSummaryDto;
+import com.example.bankcards.service.CardService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class UserControllerTest {
 
+    @Mock
+    private CardService cardService;
+
     @InjectMocks
     private UserController userController;
 
@@ -98,4 +105,24 @@ class UserControllerTest {
         assertEquals("testuser", userDto.getLogin());
         assertEquals("jwt-token", userDto.getToken());
     }
+
+    @Test
+    void getUserSummary_AuthenticatedUser_ShouldReturnSummary() {
+        UserDto userDto = UserDto.builder().id(1L).login("testuser").build();
+        UserSummaryDto summary = UserSummaryDto.builder().profile(userDto).build();
+        when(cardService.getUserSummary(userDto)).thenReturn(summary);
+
+        ResponseEntity<?> response = userController.getUserSummary(userDto);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(summary, response.getBody());
+    }
+
+    @Test
+    void getUserSummary_UnauthenticatedUser_ShouldReturnUnauthorized() {
+        ResponseEntity<?> response = userController.getUserSummary(null);
+
+        assertEquals(401, response.getStatusCodeValue());
+        verifyNoInteractions(cardService);
+    }
 }
@@ -0,0 +1,59 @@
+package com.example.bankcards.entity;
+
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.mapper.CardMapper;
+import com.example.bankcards.mapper.UserMapper;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityEnhancementTest {
+
+    @Test
+    void entities_ShouldBeEnhancedAtBuildTime() {
+        assertTrue(SelfDirtinessTracker.class.isAssignableFrom(Card.class));
+        assertTrue(SelfDirtinessTracker.class.isAssignableFrom(User.class));
+    }
+
+    @Test
+    void setters_ShouldTrackOnlyChangedAttributes() {
+        Card card = card();
+        SelfDirtinessTracker tracker = (SelfDirtinessTracker) card;
+        tracker.$$_hibernate_clearDirtyAttributes();
+
+        card.setBalance(new BigDecimal("90.00"));
+        card.setStatus(CardStatus.BLOCKED);
+
+        assertArrayEquals(new String[]{"balance", "status"}, tracker.$$_hibernate_getDirtyAttributes());
+    }
+
+    @Test
+    void mappers_ShouldReadEnhancedEntities() {
+        CardDto cardDto = Mappers.getMapper(CardMapper.class).toDto(card());
+        UserDto userDto = Mappers.getMapper(UserMapper.class).toUserDto(
+                User.builder().id(3L).login("testuser").phone("+70000000000").build());
+
+        assertEquals(7L, cardDto.getId());
+        assertEquals(CardStatus.ACTIVE, cardDto.getStatus());
+        assertEquals(new BigDecimal("100.00"), cardDto.getBalance());
+        assertEquals("testuser", userDto.getLogin());
+        assertEquals("+70000000000", userDto.getPhone());
+    }
+
+    private static Card card() {
+        return Card.builder()
+                .id(7L)
+                .expiryDate(LocalDate.of(2030, 1, 31))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("100.00"))
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.bankcards.entity;
+
+import com.example.bankcards.dto.card.TransferRequest;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.repository.StatCounterRepository;
+import com.example.bankcards.repository.jpa.CardsJpaRepository;
+import com.example.bankcards.repository.jpa.UserJpaRepository;
+import com.example.bankcards.service.CardService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Flush cost with and without bytecode enhancement, against the in-memory database. Skipped unless
+ * {@code -Dbenchmark=true}; the baseline is the same run on a build with {@code -Dhibernate.enhance.phase=none}.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FlushBenchmarkTest {
+    private static final int MANAGED_CARDS = 2000;
+    private static final int FLUSHES = 1000;
+    private static final int TRANSFERS = 10_000;
+    private static final int WARMUP = 1000;
+
+    @MockBean
+    private StatCounterRepository statCounterRepository;
+
+    @Autowired
+    private CardsJpaRepository cardsJpaRepository;
+
+    @Autowired
+    private UserJpaRepository userJpaRepository;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User owner;
+    private final List<Long> cardIds = new ArrayList<>();
+
+    @BeforeAll
+    void setUp() {
+        owner = userJpaRepository.save(User.builder().login("bench-owner").password("x").role(UserRole.USER).build());
+        List<Card> cards = new ArrayList<>(MANAGED_CARDS);
+        for (int i = 0; i < MANAGED_CARDS; i++) {
+            cards.add(Card.builder()
+                    .cardNumber("bench-number-" + i)
+                    .cardHash("bench-hash-" + i)
+                    .lastFour(String.format("%04d", i))
+                    .expiryDate(LocalDate.of(2031, 5, 31))
+                    .status(CardStatus.ACTIVE)
+                    .balance(new BigDecimal("1000000.00"))
+                    .owner(owner)
+                    .build());
+        }
+        cardsJpaRepository.saveAll(cards).forEach(card -> cardIds.add(card.getId()));
+    }
+
+    @Test
+    void flushWithTwoDirtyCards() {
+        double millis = measureFlush(2);
+        log.info("enhanced={} flush with {} managed cards, 2 dirty: {} ms", enhanced(), MANAGED_CARDS,
+                String.format("%.3f", millis));
+    }
+
+    @Test
+    void flushWithoutChanges() {
+        double millis = measureFlush(0);
+        log.info("enhanced={} flush with {} managed cards, none dirty: {} ms", enhanced(), MANAGED_CARDS,
+                String.format("%.3f", millis));
+    }
+
+    @Test
+    void transfers() {
+        for (int i = 0; i < WARMUP; i++) {
+            transfer(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < TRANSFERS; i++) {
+            transfer(i);
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / TRANSFERS;
+        log.info("enhanced={} transfer through CardService: {} ms/op", enhanced(), String.format("%.2f", millis));
+    }
+
+    private double measureFlush(int dirty) {
+        return transactionTemplate.execute(status -> {
+            List<Card> cards = cardsJpaRepository.findAllByOwnerId(owner.getId());
+            assertEquals(MANAGED_CARDS, cards.size());
+            for (int i = 0; i < WARMUP; i++) {
+                touch(cards, i, dirty);
+                entityManager.flush();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < FLUSHES; i++) {
+                touch(cards, i, dirty);
+                entityManager.flush();
+            }
+            status.setRollbackOnly();
+            return (System.nanoTime() - start) / 1e6 / FLUSHES;
+        });
+    }
+
+    private static void touch(List<Card> cards, int i, int dirty) {
+        for (int j = 0; j < dirty; j++) {
+            cards.get((i + j) % MANAGED_CARDS).setBalance(BigDecimal.valueOf(i + j));
+        }
+    }
+
+    private void transfer(int i) {
+        Long from = cardIds.get(i % 2);
+        Long to = cardIds.get(1 - i % 2);
+        cardService.transferBetweenOwnCards(new TransferRequest(from, to, BigDecimal.ONE), owner.getLogin());
+    }
+
+    private static boolean enhanced() {
+        return SelfDirtinessTracker.class.isAssignableFrom(Card.class);
+    }
+}
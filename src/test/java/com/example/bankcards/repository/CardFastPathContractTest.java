@@ -0,0 +1,217 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.UserRole;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.repository.jdbc.JdbcCardFastPath;
+import com.example.bankcards.repository.jpa.CardsJpaRepository;
+import com.example.bankcards.repository.jpa.JpaCardFastPath;
+import com.example.bankcards.repository.jpa.UserJpaRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The same expectations for every {@link CardFastPath}, so switching {@code app.card.fast-path} cannot change
+ * behavior.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CardFastPathContractTest {
+    private static final LocalDate EXPIRY = LocalDate.of(2031, 5, 31);
+
+    @MockBean
+    private StatCounterRepository statCounterRepository;
+
+    @Autowired
+    private CardsJpaRepository cardsJpaRepository;
+
+    @Autowired
+    private UserJpaRepository userJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CardLockTimeout cardLockTimeout;
+
+    private User owner;
+    private final List<Card> cards = new ArrayList<>();
+
+    @BeforeAll
+    void setUp() {
+        owner = userJpaRepository.save(User.builder().login("contract-owner").password("x").role(UserRole.USER).build());
+        User stranger = userJpaRepository.save(User.builder().login("contract-stranger").password("x")
+                .role(UserRole.USER).build());
+        CardStatus[] statuses = {CardStatus.ACTIVE, CardStatus.BLOCKED, CardStatus.ACTIVE, CardStatus.EXPIRED,
+                CardStatus.ACTIVE};
+        for (int i = 0; i < statuses.length; i++) {
+            cards.add(save(owner, i, statuses[i], BigDecimal.valueOf(100L * (i + 1)).setScale(2)));
+        }
+        save(stranger, 9, CardStatus.ACTIVE, BigDecimal.ONE.setScale(2));
+    }
+
+    Stream<CardFastPath> implementations() {
+        return Stream.of(new JpaCardFastPath(cardsJpaRepository, cardLockTimeout),
+                new JdbcCardFastPath(jdbcTemplate, cardLockTimeout));
+    }
+
+    @ParameterizedTest
+    @MethodSource("implementations")
+    void findBalanceById_ShouldReturnOwnerStatusAndBalance(CardFastPath fastPath) {
+        Card expected = cards.get(1);
+
+        Card card = transactionTemplate.execute(status -> fastPath.findBalanceById(expected.getId()).orElseThrow());
+
+        assertEquals(expected.getId(), card.getId());
+        assertEquals(owner.getId(), card.getOwner().getId());
+        assertEquals(CardStatus.BLOCKED, card.getStatus());
+        assertEquals(0, expected.getBalance().compareTo(card.getBalance()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("implementations")
+    void findById_Missing_ShouldBeEmpty(CardFastPath fastPath) {
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(fastPath.findBalanceById(-1L).isEmpty());
+            assertTrue(fastPath.findByIdWithLock(-1L).isEmpty());
+        });
+    }
+
+    @ParameterizedTest
+    @MethodSource("implementations")
+    void updateBalances_ShouldWriteLockedCards(CardFastPath fastPath) {
+        Card first = cards.get(2);
+        Card second = cards.get(3);
+        Timestamp before = updatedAt(first);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Card from = fastPath.findByIdWithLock(first.getId()).orElseThrow();
+            Card to = fastPath.findByIdWithLock(second.getId()).orElseThrow();
+            assertEquals(owner.getId(), from.getOwner().getId());
+
+            from.setBalance(from.getBalance().subtract(BigDecimal.TEN));
+            to.setBalance(to.getBalance().add(BigDecimal.TEN));
+            fastPath.updateBalances(List.of(from, to));
+        });
+
+        assertEquals(0, first.getBalance().subtract(BigDecimal.TEN).compareTo(balance(first)));
+        assertEquals(0, second.getBalance().add(BigDecimal.TEN).compareTo(balance(second)));
+        assertFalse(updatedAt(first).before(before));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Card from = fastPath.findByIdWithLock(first.getId()).orElseThrow();
+            Card to = fastPath.findByIdWithLock(second.getId()).orElseThrow();
+            from.setBalance(first.getBalance());
+            to.setBalance(second.getBalance());
+            fastPath.updateBalances(List.of(from, to));
+        });
+    }
+
+    @ParameterizedTest
+    @MethodSource("implementations")
+    void findByIdWithLock_LockedElsewhere_ShouldFailAfterLockTimeout(CardFastPath fastPath) throws Exception {
+        Long id = cards.get(4).getId();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT id FROM cards WHERE id = ? FOR UPDATE", Long.class, id);
+            locked.countDown();
+            awaitQuietly(release);
+        }));
+        holder.start();
+        try {
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+            assertThrows(PessimisticLockingFailureException.class, () -> transactionTemplate.executeWithoutResult(
+                    status -> fastPath.findByIdWithLock(id)));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("implementations")
+    void findPageByOwnerId_ShouldPageSortAndCount(CardFastPath fastPath) {
+        Page<Card> page = transactionTemplate.execute(status -> fastPath.findPageByOwnerId(owner.getId(), null,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "balance"))));
+
+        assertEquals(5, page.getTotalElements());
+        assertEquals(List.of(cards.get(2).getId(), cards.get(1).getId()),
+                page.getContent().stream().map(Card::getId).toList());
+
+        Card card = page.getContent().get(0);
+        assertEquals(cards.get(2).getCardNumber(), card.getCardNumber());
+        assertEquals("0002", card.getLastFour());
+        assertEquals(EXPIRY, card.getExpiryDate());
+        assertEquals(CardStatus.ACTIVE, card.getStatus());
+        assertEquals(owner.getId(), card.getOwner().getId());
+    }
+
+    @ParameterizedTest
+    @MethodSource("implementations")
+    void findPageByOwnerId_WithStatus_ShouldFilter(CardFastPath fastPath) {
+        Page<Card> page = transactionTemplate.execute(status -> fastPath.findPageByOwnerId(owner.getId(),
+                CardStatus.ACTIVE, PageRequest.of(0, 10, Sort.by("id"))));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of(cards.get(0).getId(), cards.get(2).getId(), cards.get(4).getId()),
+                page.getContent().stream().map(Card::getId).toList());
+    }
+
+    private Card save(User user, int i, CardStatus status, BigDecimal balance) {
+        return cardsJpaRepository.save(Card.builder()
+                .cardNumber("contract-number-" + user.getLogin() + i)
+                .cardHash("contract-hash-" + user.getLogin() + i)
+                .lastFour("000" + i)
+                .expiryDate(EXPIRY)
+                .status(status)
+                .balance(balance)
+                .owner(user)
+                .build());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BigDecimal balance(Card card) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM cards WHERE id = ?", BigDecimal.class, card.getId());
+    }
+
+    private Timestamp updatedAt(Card card) {
+        return jdbcTemplate.queryForObject("SELECT updated_at FROM cards WHERE id = ?", Timestamp.class, card.getId());
+    }
+}
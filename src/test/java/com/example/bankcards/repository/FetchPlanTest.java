@@ -0,0 +1,188 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.config.datasource.SqlStatementCounter;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.UserRole;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.repository.jpa.CardsJpaRepository;
+import com.example.bankcards.repository.jpa.UserJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.bankcards.support.SqlStatementAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the fetch plan of each entity query: what is initialized, in how many statements, and that equality and
+ * {@code toString} never reach into lazy associations.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FetchPlanTest {
+    private static final int CARDS = 5;
+
+    @MockBean
+    private StatCounterRepository statCounterRepository;
+
+    @Autowired
+    private CardsJpaRepository cardsJpaRepository;
+
+    @Autowired
+    private UserJpaRepository userJpaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private PersistenceUnitUtil persistenceUnitUtil;
+    private User owner;
+    private final List<Card> cards = new ArrayList<>();
+
+    @BeforeAll
+    void setUp() {
+        persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+        owner = userJpaRepository.save(User.builder().login("fetch-owner").password("fetch-secret").role(UserRole.USER).build());
+        for (int i = 0; i < CARDS; i++) {
+            cards.add(cardsJpaRepository.save(Card.builder()
+                    .cardNumber("fetch-number-" + i)
+                    .cardHash("fetch-hash-" + i)
+                    .lastFour("000" + i)
+                    .expiryDate(LocalDate.now().plusYears(2))
+                    .status(CardStatus.ACTIVE)
+                    .balance(BigDecimal.TEN)
+                    .owner(owner)
+                    .build()));
+        }
+    }
+
+    @BeforeEach
+    void evictSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void cardQueries_ShouldNotLoadOwner() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Card> loaded = new ArrayList<>(cardsJpaRepository.findAllByOwnerId(owner.getId(), PageRequest.of(0, 20))
+                    .getContent());
+            loaded.add(cardsJpaRepository.findByIdWithLock(cards.get(0).getId()).orElseThrow());
+            entityManager.clear();
+            loaded.add(cardsJpaRepository.findById(cards.get(1).getId()).orElseThrow());
+
+            for (Card card : loaded) {
+                assertEquals(owner.getId(), card.getOwner().getId());
+                assertFalse(persistenceUnitUtil.isLoaded(card, "owner"));
+            }
+        });
+    }
+
+    @Test
+    void cardPage_ShouldNotJoinOwner() {
+        try (SqlStatementCounter.Recording recording = SqlStatementCounter.start(true)) {
+            cardsJpaRepository.findAllByOwnerId(owner.getId(), PageRequest.of(0, 2));
+
+            assertEquals(2, recording.count());
+            recording.statements().forEach(sql -> assertFalse(sql.toLowerCase().contains("join"), sql));
+        }
+    }
+
+    @Test
+    void userQueries_ShouldNotLoadCards() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User byLogin = userJpaRepository.findByLogin("FETCH-OWNER").orElseThrow();
+            assertFalse(persistenceUnitUtil.isLoaded(byLogin, "cards"));
+
+            entityManager.clear();
+            User byId = userJpaRepository.findById(owner.getId()).orElseThrow();
+            assertFalse(persistenceUnitUtil.isLoaded(byId, "cards"));
+        });
+    }
+
+    @Test
+    void findWithCardsById_ShouldLoadCardsInOneStatement() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = assertMaxStatements(1, () -> userJpaRepository.findWithCardsById(owner.getId()).orElseThrow());
+
+            assertTrue(persistenceUnitUtil.isLoaded(user, "cards"));
+            assertEquals(CARDS, user.getCards().size());
+        });
+    }
+
+    @Test
+    void deleteById_ShouldRemoveUserWithCards() {
+        User user = userJpaRepository.save(User.builder().login("fetch-deleted").password("x").role(UserRole.USER).build());
+        Card card = cardsJpaRepository.save(Card.builder()
+                .cardNumber("fetch-deleted-number")
+                .cardHash("fetch-deleted-hash")
+                .expiryDate(LocalDate.now().plusYears(2))
+                .status(CardStatus.ACTIVE)
+                .balance(BigDecimal.ZERO)
+                .owner(user)
+                .build());
+
+        transactionTemplate.executeWithoutResult(status -> userRepository.deleteById(user.getId()));
+
+        assertFalse(userJpaRepository.existsById(user.getId()));
+        assertFalse(cardsJpaRepository.existsById(card.getId()));
+    }
+
+    @Test
+    void detachedEntities_ShouldNotTouchLazyAssociations() {
+        Card card = cardsJpaRepository.findById(cards.get(0).getId()).orElseThrow();
+        User user = userJpaRepository.findById(owner.getId()).orElseThrow();
+
+        assertDoesNotThrow(card::toString);
+        assertDoesNotThrow(user::toString);
+        assertDoesNotThrow(card::hashCode);
+        assertDoesNotThrow(user::hashCode);
+        assertFalse(user.toString().contains(user.getPassword()));
+    }
+
+    @Test
+    void equality_ShouldBeBasedOnIdentity() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User reference = entityManager.getReference(User.class, owner.getId());
+            Card card = cardsJpaRepository.findById(cards.get(0).getId()).orElseThrow();
+
+            assertEquals(owner, reference);
+            assertEquals(reference, owner);
+            assertEquals(owner.hashCode(), reference.hashCode());
+            assertEquals(cards.get(0), card);
+            assertNotEquals(cards.get(1), card);
+        });
+
+        Card transientCard = Card.builder().balance(BigDecimal.ONE).build();
+        Set<Card> set = new HashSet<>(Set.of(transientCard));
+        transientCard.setBalance(BigDecimal.TEN);
+        assertTrue(set.contains(transientCard));
+        assertNotEquals(transientCard, Card.builder().balance(BigDecimal.TEN).build());
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.bankcards.repository.shard;
+
+import com.example.bankcards.exception.AppException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerHashShardRouterTest {
+    private static final Comparator<Item> BY_ID = Comparator.comparing(Item::getId);
+    private static final Map<String, Comparator<Item>> SORTABLE = Map.of(
+            "id", BY_ID,
+            "name", SortComparators.nullsLast(Item::getName));
+
+    @Mock
+    private DataSource firstShard;
+
+    @Mock
+    private DataSource secondShard;
+
+    @Mock
+    private ShardDirectory directory;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OwnerHashShardRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new OwnerHashShardRouter(new ShardDataSources(List.of(firstShard, secondShard)),
+                directory, transactionManager, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ShardContext.clear();
+    }
+
+    @Test
+    void placeLogin_ShouldBeStableAndCaseInsensitive() {
+        assertEquals(router.placeLogin("Alice"), router.placeLogin("alice"));
+        assertEquals(router.placeLogin("alice"), router.placeLogin("alice"));
+    }
+
+    @Test
+    void jumpConsistentHash_GrowingBuckets_ShouldMoveOnlyToNewBucket() {
+        for (long key = 0; key < 1000; key++) {
+            int before = JumpConsistentHash.bucket(key, 4);
+            int after = JumpConsistentHash.bucket(key, 5);
+            assertTrue(after == before || after == 4);
+        }
+    }
+
+    @Test
+    void onOwner_ShouldRouteToDirectoryShard() {
+        when(directory.findShardByUserId(7L)).thenReturn(Optional.of(1));
+
+        Integer shard = router.onOwner(7L, ShardContext::current);
+
+        assertEquals(1, shard);
+        assertNull(ShardContext.current());
+    }
+
+    @Test
+    void onOwner_TransactionBoundToOtherShard_ShouldThrowException() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(directory.findShardByUserId(1L)).thenReturn(Optional.of(0));
+        when(directory.findShardByUserId(2L)).thenReturn(Optional.of(1));
+
+        router.onOwner(1L, () -> null);
+
+        assertThrows(IllegalStateException.class, () -> router.onOwner(2L, () -> null));
+    }
+
+    @Test
+    void fanOutPage_ShouldMergeShardPagesInSortOrder() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        List<Item> firstShardItems = List.of(new Item(1L, "a"), new Item(3L, "c"), new Item(5L, "e"));
+        List<Item> secondShardItems = List.of(new Item(2L, "b"), new Item(4L, "d"));
+
+        PageRequest request = PageRequest.of(1, 2, Sort.by("name"));
+        Page<Item> page = router.fanOutPage(request, SortComparators.of(request.getSort(), SORTABLE, BY_ID), pageable -> {
+            List<Item> items = ShardContext.current() == 0 ? firstShardItems : secondShardItems;
+            List<Item> slice = items.subList(0, Math.min(items.size(), pageable.getPageSize()));
+            return new PageImpl<>(slice, pageable, items.size());
+        });
+
+        assertEquals(5, page.getTotalElements());
+        assertEquals(List.of("c", "d"), page.getContent().stream().map(Item::getName).toList());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void mergeSorted_DescendingSort_ShouldKeepOrderAndTieBreakById() {
+        Comparator<Item> comparator = SortComparators.of(Sort.by(Sort.Order.desc("name"), Sort.Order.asc("id")), SORTABLE, BY_ID);
+        List<List<Item>> shardRows = List.of(
+                List.of(new Item(3L, "b"), new Item(1L, "a")),
+                List.of(new Item(2L, "b"), new Item(4L, "a")));
+
+        List<Long> ids = OwnerHashShardRouter.mergeSorted(shardRows, comparator).stream().map(Item::getId).toList();
+
+        assertEquals(List.of(2L, 3L, 1L, 4L), ids);
+    }
+
+    @Test
+    void sortComparators_UnknownProperty_ShouldThrowException() {
+        assertThrows(AppException.class, () -> SortComparators.of(Sort.by("password"), SORTABLE, BY_ID));
+    }
+
+    @Test
+    void fanOutFirst_ShouldMergeShardKeysetsUpToLimit() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        List<Item> items = router.fanOutFirst(3, BY_ID, () -> ShardContext.current() == 0
+                ? List.of(new Item(1L, "a"), new Item(3L, "c"), new Item(5L, "e"))
+                : List.of(new Item(2L, "b"), new Item(4L, "d"), new Item(6L, "f")));
+
+        assertEquals(List.of(1L, 2L, 3L), items.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void firstIdAbove_ShouldAlignIdWithShardSlot() {
+        IntStream.range(0, 4).forEach(shard -> {
+            long id = ShardProvisioner.firstIdAbove(130, shard);
+            assertTrue(id > 130);
+            assertEquals(shard, (id - 1) % OwnerHashShardRouter.ID_SLOTS);
+        });
+    }
+
+    public static class Item {
+        private final Long id;
+        private final String name;
+
+        Item(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.bankcards.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BusinessMetrics businessMetrics = new BusinessMetrics(registry);
+
+    @Test
+    void outcomes_ShouldBeCountedPerTag() {
+        businessMetrics.insufficientFunds();
+        businessMetrics.insufficientFunds();
+        businessMetrics.cardNotFound();
+
+        assertEquals(2, count("insufficient_funds"));
+        assertEquals(1, count("card_not_found"));
+        assertEquals(0, count("lock_timeout"));
+        assertEquals(0, count("user_not_found"));
+    }
+
+    private double count(String outcome) {
+        return registry.get(BusinessMetrics.OUTCOMES).tag("outcome", outcome).counter().count();
+    }
+}
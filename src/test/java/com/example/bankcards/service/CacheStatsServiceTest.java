@@ -0,0 +1,55 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CacheStatsDto;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheStatsServiceTest {
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    @Mock
+    private CacheRegionStatistics userRegionStatistics;
+
+    @InjectMocks
+    private CacheStatsService cacheStatsService;
+
+    @Test
+    void getCacheStats_ShouldCollectTotalsAndRegions() {
+        when(sessionFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.getSecondLevelCacheRegionNames())
+                .thenReturn(new String[]{"user-by-login", "com.example.bankcards.entity.User"});
+        when(statistics.getCacheRegionStatistics("com.example.bankcards.entity.User")).thenReturn(userRegionStatistics);
+        when(statistics.getCacheRegionStatistics("user-by-login")).thenReturn(null);
+        when(statistics.getSecondLevelCacheHitCount()).thenReturn(7L);
+        when(statistics.getQueryCacheMissCount()).thenReturn(2L);
+        when(userRegionStatistics.getHitCount()).thenReturn(7L);
+        when(userRegionStatistics.getPutCount()).thenReturn(1L);
+
+        CacheStatsDto result = cacheStatsService.getCacheStats();
+
+        assertEquals(7L, result.getSecondLevelCacheHitCount());
+        assertEquals(2L, result.getQueryCacheMissCount());
+        assertEquals(2, result.getRegions().size());
+        assertEquals("com.example.bankcards.entity.User", result.getRegions().get(0).getRegion());
+        assertEquals(7L, result.getRegions().get(0).getHitCount());
+        assertEquals(1L, result.getRegions().get(0).getPutCount());
+        assertEquals("user-by-login", result.getRegions().get(1).getRegion());
+        assertEquals(0L, result.getRegions().get(1).getHitCount());
+    }
+}
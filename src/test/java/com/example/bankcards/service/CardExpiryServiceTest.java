@@ -0,0 +1,114 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.card.CardExpiryReport;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.repository.CardsRepository;
+import com.example.bankcards.repository.JobLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardExpiryServiceTest {
+
+    @Mock
+    private CardsRepository cardsRepository;
+
+    @Mock
+    private JobLockRepository jobLockRepository;
+
+    @Mock
+    private StatisticsService statisticsService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private CardExpiryService cardExpiryService;
+
+    private final LocalDate today = LocalDate.of(2025, 1, 1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cardExpiryService, "chunkSize", 100);
+        ReflectionTestUtils.setField(cardExpiryService, "lockTimeout", Duration.ofMinutes(10));
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void expireCards_LockHeldByAnotherNode_ShouldSkip() {
+        when(jobLockRepository.tryAcquire(eq(CardExpiryService.JOB_NAME), anyString(), any(Duration.class)))
+                .thenReturn(false);
+
+        CardExpiryReport report = cardExpiryService.expireCards(today);
+
+        assertFalse(report.isLockAcquired());
+        assertEquals(0, report.getExpiredCards());
+        verify(cardsRepository, never()).expireCardsBefore(any(), any(), anyInt());
+        verify(jobLockRepository, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void expireCards_SeveralChunks_ShouldExpireUntilLastPartialChunk() {
+        when(jobLockRepository.tryAcquire(eq(CardExpiryService.JOB_NAME), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        when(jobLockRepository.extend(eq(CardExpiryService.JOB_NAME), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        when(cardsRepository.expireCardsBefore(today, CardStatus.ACTIVE, 100)).thenReturn(100, 100, 42);
+        when(cardsRepository.expireCardsBefore(today, CardStatus.BLOCKED, 100)).thenReturn(7);
+
+        CardExpiryReport report = cardExpiryService.expireCards(today);
+
+        assertTrue(report.isLockAcquired());
+        assertEquals(249, report.getExpiredCards());
+        assertEquals(4, report.getChunks());
+        verify(cardsRepository, times(3)).expireCardsBefore(today, CardStatus.ACTIVE, 100);
+        verify(statisticsService).cardStatusChanged(CardStatus.ACTIVE, CardStatus.EXPIRED, 42);
+        verify(statisticsService).cardStatusChanged(CardStatus.BLOCKED, CardStatus.EXPIRED, 7);
+        verify(jobLockRepository).release(eq(CardExpiryService.JOB_NAME), anyString());
+    }
+
+    @Test
+    void expireCards_LockLost_ShouldStopAndRelease() {
+        when(jobLockRepository.tryAcquire(eq(CardExpiryService.JOB_NAME), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        when(jobLockRepository.extend(eq(CardExpiryService.JOB_NAME), anyString(), any(Duration.class)))
+                .thenReturn(false);
+        when(cardsRepository.expireCardsBefore(today, CardStatus.ACTIVE, 100)).thenReturn(100);
+
+        CardExpiryReport report = cardExpiryService.expireCards(today);
+
+        assertEquals(100, report.getExpiredCards());
+        assertEquals(1, report.getChunks());
+        verify(cardsRepository, times(1)).expireCardsBefore(today, CardStatus.ACTIVE, 100);
+        verify(cardsRepository, never()).expireCardsBefore(today, CardStatus.BLOCKED, 100);
+        verify(jobLockRepository).release(eq(CardExpiryService.JOB_NAME), anyString());
+    }
+
+    @Test
+    void expireCards_RepositoryFailure_ShouldReleaseLock() {
+        when(jobLockRepository.tryAcquire(eq(CardExpiryService.JOB_NAME), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        when(cardsRepository.expireCardsBefore(today, CardStatus.ACTIVE, 100)).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class, () -> cardExpiryService.expireCards(today));
+
+        verify(jobLockRepository).release(eq(CardExpiryService.JOB_NAME), anyString());
+    }
+}
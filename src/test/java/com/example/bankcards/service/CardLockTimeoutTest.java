@@ -0,0 +1,92 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CreateCardRequest;
+import com.example.bankcards.dto.card.TransferRequest;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.UserRole;
+import com.example.bankcards.repository.StatCounterRepository;
+import com.example.bankcards.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A transfer that waits on a card row locked by another transaction gives up after the lock timeout and is counted,
+ * rather than waiting until the other transaction ends.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CardLockTimeoutTest {
+
+    @MockBean
+    private StatCounterRepository statCounterRepository;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void transfer_CardLockedElsewhere_ShouldCountLockTimeout() throws Exception {
+        User owner = userRepository.save(User.builder().login("lock-owner").password("x").role(UserRole.USER).build());
+        CardDto from = createCard(owner);
+        CardDto to = createCard(owner);
+        double before = lockTimeouts();
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT id FROM cards WHERE id = ? FOR UPDATE", Long.class, to.getId());
+            locked.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        holder.start();
+        try {
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+            assertThrows(PessimisticLockingFailureException.class, () -> cardService.transferBetweenOwnCards(
+                    new TransferRequest(from.getId(), to.getId(), BigDecimal.ONE), owner.getLogin()));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+
+        assertEquals(before + 1, lockTimeouts());
+    }
+
+    private CardDto createCard(User owner) {
+        return cardService.createCard(new CreateCardRequest(LocalDate.now().plusYears(3), BigDecimal.TEN, owner.getId()));
+    }
+
+    private double lockTimeouts() {
+        return meterRegistry.get("bankcards.outcomes").tag("outcome", "lock_timeout").counter().count();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.CardsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardOwnershipIndexTest {
+
+    @Mock
+    private CardsRepository cardsRepository;
+
+    @Test
+    void load_ShouldIndexAllCardsBeyondExpectedSize() {
+        CardOwnershipIndex index = new CardOwnershipIndex(cardsRepository, true, 4);
+        when(cardsRepository.forEachOwner(any())).thenAnswer(invocation -> {
+            BiConsumer<Long, Long> consumer = invocation.getArgument(0);
+            for (long cardId = 1; cardId <= 10_000; cardId++) {
+                consumer.accept(cardId, cardId % 7 + 1);
+            }
+            return 10_000;
+        });
+
+        index.load();
+
+        for (long cardId = 1; cardId <= 10_000; cardId++) {
+            assertEquals(cardId % 7 + 1, index.ownerOf(cardId));
+        }
+        assertEquals(0, index.ownerOf(10_001));
+    }
+
+    @Test
+    void remove_ShouldKeepOtherEntriesReachable() {
+        CardOwnershipIndex index = new CardOwnershipIndex(cardsRepository, true, 16);
+        for (long cardId = 1; cardId <= 1_000; cardId++) {
+            index.put(cardId * 64, cardId);
+        }
+
+        for (long cardId = 1; cardId <= 1_000; cardId += 2) {
+            index.remove(cardId * 64);
+        }
+
+        for (long cardId = 1; cardId <= 1_000; cardId++) {
+            assertEquals(cardId % 2 == 0 ? cardId : 0, index.ownerOf(cardId * 64));
+        }
+    }
+
+    @Test
+    void disabled_ShouldNotLoadOrAnswer() {
+        CardOwnershipIndex index = new CardOwnershipIndex(cardsRepository, false, 100);
+
+        index.load();
+        index.put(1L, 2L);
+
+        assertEquals(0, index.ownerOf(1L));
+        verifyNoInteractions(cardsRepository);
+    }
+}
@@ -1,6 +1,13 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.BulkUpdateResult;
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.dto.UserSummaryDto;
+import com.example.bankcards.dto.card.BulkCardStatusRequest;
 import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CardField;
+import com.example.bankcards.dto.card.CardListVersion;
+import com.example.bankcards.dto.card.CardVersion;
 import com.example.bankcards.dto.card.CreateCardRequest;
 import com.example.bankcards.dto.card.TransferRequest;
 import com.example.bankcards.entity.User;
@@ -9,6 +16,8 @@ import com.example.bankcards.entity.card.CardStatus;
 import com.example.bankcards.exception.AppException;
 import com.example.bankcards.mapper.CardMapper;
 import com.example.bankcards.repository.CardsRepository;
+import com.example.bankcards.service.cache.CacheInvalidationBus;
+import com.example.bankcards.service.outbox.OutboxService;
 import com.example.bankcards.util.CardNumberCryptoUtil;
 import com.example.bankcards.util.DebitCardGenerator;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,17 +26,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,6 +66,24 @@ class CardServiceTest {
     @Mock
     private CardNumberCryptoUtil cryptoUtil;
 
+    @Mock
+    private StatisticsService statisticsService;
+
+    @Mock
+    private CardOwnershipIndex cardOwnershipIndex;
+
+    @Mock
+    private BusinessMetrics businessMetrics;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private CardService cardService;
 
@@ -57,6 +93,9 @@ class CardServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(cardService, "bulkChunkSize", 1000);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         testUser = new User();
         testUser.setId(1L);
         testUser.setLogin("testuser");
@@ -100,6 +139,7 @@ class CardServiceTest {
         verify(debitCardGenerator).generateUniqueCardNumber();
         verify(cryptoUtil).encrypt(generatedCardNumber);
         verify(cardsRepository).save(any(Card.class));
+        verify(outboxService).cardCreated(testCard);
     }
 
     @Test
@@ -127,7 +167,7 @@ class CardServiceTest {
     @Test
     void activateCard_ActiveCard_ShouldThrowException() {
         testCard.setStatus(CardStatus.ACTIVE);
-        when(cardsRepository.findById(1L)).thenReturn(testCard);
+        when(cardsRepository.findByIdForUpdate(1L)).thenReturn(testCard);
 
         AppException exception = assertThrows(AppException.class, () ->
                 cardService.activateCard(1L));
@@ -138,7 +178,7 @@ class CardServiceTest {
     @Test
     void activateCard_ExpiredCard_ShouldThrowException() {
         testCard.setStatus(CardStatus.EXPIRED);
-        when(cardsRepository.findById(1L)).thenReturn(testCard);
+        when(cardsRepository.findByIdForUpdate(1L)).thenReturn(testCard);
 
         AppException exception = assertThrows(AppException.class, () ->
                 cardService.activateCard(1L));
@@ -149,18 +189,19 @@ class CardServiceTest {
     @Test
     void activateCard_BlockedCard_ShouldActivateSuccessfully() {
         testCard.setStatus(CardStatus.BLOCKED);
-        when(cardsRepository.findById(1L)).thenReturn(testCard);
+        when(cardsRepository.findByIdForUpdate(1L)).thenReturn(testCard);
 
         cardService.activateCard(1L);
 
         assertEquals(CardStatus.ACTIVE, testCard.getStatus());
         verify(cardsRepository).save(testCard);
+        verify(outboxService).cardStatusChanged(testCard, CardStatus.BLOCKED);
     }
 
     @Test
     void blockCard_AlreadyBlocked_ShouldThrowException() {
         testCard.setStatus(CardStatus.BLOCKED);
-        when(cardsRepository.findById(1L)).thenReturn(testCard);
+        when(cardsRepository.findByIdForUpdate(1L)).thenReturn(testCard);
 
         AppException exception = assertThrows(AppException.class, () ->
                 cardService.blockCard(1L));
@@ -171,21 +212,24 @@ class CardServiceTest {
     @Test
     void blockCard_ActiveCard_ShouldBlockSuccessfully() {
         testCard.setStatus(CardStatus.ACTIVE);
-        when(cardsRepository.findById(1L)).thenReturn(testCard);
+        when(cardsRepository.findByIdForUpdate(1L)).thenReturn(testCard);
 
         cardService.blockCard(1L);
 
         assertEquals(CardStatus.BLOCKED, testCard.getStatus());
         verify(cardsRepository).save(testCard);
+        verify(outboxService).cardStatusChanged(testCard, CardStatus.ACTIVE);
     }
 
     @Test
     void deleteCard_ExistingCard_ShouldDeleteSuccessfully() {
-        when(cardsRepository.findById(1L)).thenReturn(testCard);
+        when(cardsRepository.findByIdForUpdate(1L)).thenReturn(testCard);
 
         cardService.deleteCard(1L);
 
         verify(cardsRepository).deleteById(1L);
+        verify(outboxService).cardDeleted(testCard);
+        verify(cacheInvalidationBus).cardsDeleted(List.of(1L));
     }
 
     @Test
@@ -218,6 +262,19 @@ class CardServiceTest {
         verify(cardsRepository).findAll(pageable);
     }
 
+    @Test
+    void getAllCardsAfter_ShouldReadKeysetPageAndTotal() {
+        when(cardsRepository.findAllAfter(CardStatus.ACTIVE, 10L, 20)).thenReturn(List.of(testCard));
+        when(cardsRepository.count(CardStatus.ACTIVE)).thenReturn(21L);
+        when(cardMapper.toDto(any(Card.class))).thenReturn(new CardDto());
+        when(cryptoUtil.decrypt(anyString())).thenReturn("1234567890123456");
+
+        Page<CardDto> result = cardService.getAllCardsAfter(CardStatus.ACTIVE, 10L, 20);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(21L, result.getTotalElements());
+    }
+
     @Test
     void getUserCards_WithStatus_ShouldReturnUserCards() {
         Pageable pageable = Pageable.ofSize(10);
@@ -271,7 +328,7 @@ class CardServiceTest {
         otherUser.setId(2L);
         otherUser.setLogin("otheruser");
 
-        when(cardsRepository.findById(1L)).thenReturn(testCard);
+        when(cardsRepository.findByIdForUpdate(1L)).thenReturn(testCard);
         when(userService.getUserByLogin("otheruser")).thenReturn(otherUser);
 
         AppException exception = assertThrows(AppException.class, () ->
@@ -304,8 +361,8 @@ class CardServiceTest {
 
         assertEquals(BigDecimal.valueOf(700), fromCard.getBalance());
         assertEquals(BigDecimal.valueOf(800), toCard.getBalance());
-        verify(cardsRepository).save(fromCard);
-        verify(cardsRepository).save(toCard);
+        verify(cardsRepository).updateBalances(List.of(fromCard, toCard));
+        verify(outboxService).transferred(fromCard, toCard, BigDecimal.valueOf(300));
     }
 
     @Test
@@ -332,11 +389,105 @@ class CardServiceTest {
 
         assertEquals("Insufficient funds", exception.getMessage());
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verify(businessMetrics).insufficientFunds();
+        verify(cardsRepository, never()).updateBalances(any());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void blockCard_LockNotAcquired_ShouldCountLockTimeout() {
+        when(cardsRepository.findByIdForUpdate(1L)).thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        assertThrows(CannotAcquireLockException.class, () -> cardService.blockCard(1L));
+
+        verify(businessMetrics).lockTimeout();
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void transferBetweenOwnCards_LockNotAcquired_ShouldCountLockTimeout() {
+        TransferRequest request = new TransferRequest(1L, 2L, BigDecimal.TEN);
+        when(userService.getUserByLogin("testuser")).thenReturn(testUser);
+        when(cardsRepository.findByIdWithLock(1L)).thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        assertThrows(CannotAcquireLockException.class, () ->
+                cardService.transferBetweenOwnCards(request, "testuser"));
+
+        verify(businessMetrics).lockTimeout();
+        verify(cardsRepository, never()).updateBalances(any());
+    }
+
+    @Test
+    void getUserSummary_ShouldAggregateCardsWithoutDecryption() {
+        UserDto user = UserDto.builder().id(1L).login("testuser").build();
+        List<CardDto> cards = List.of(
+                CardDto.builder().id(1L).maskedCardNumber("**** **** **** 1111")
+                        .status(CardStatus.ACTIVE).balance(new BigDecimal("100.00")).build(),
+                CardDto.builder().id(2L).maskedCardNumber("**** **** **** 2222")
+                        .status(CardStatus.BLOCKED).balance(new BigDecimal("25.50")).build());
+        when(cardsRepository.findMaskedByOwnerId(1L)).thenReturn(cards);
+
+        UserSummaryDto summary = cardService.getUserSummary(user);
+
+        assertSame(user, summary.getProfile());
+        assertEquals(cards, summary.getCards());
+        assertEquals(1L, summary.getCardsByStatus().get(CardStatus.ACTIVE));
+        assertEquals(1L, summary.getCardsByStatus().get(CardStatus.BLOCKED));
+        assertEquals(0L, summary.getCardsByStatus().get(CardStatus.EXPIRED));
+        assertEquals(new BigDecimal("125.50"), summary.getTotalBalance());
+        verifyNoInteractions(cryptoUtil, userService);
+    }
+
+    @Test
+    void getUserCardsETag_ShouldChangeWithListVersion() {
+        Pageable pageable = Pageable.ofSize(10);
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(cardsRepository.findListVersion(1L, null))
+                .thenReturn(new CardListVersion(2L, updatedAt))
+                .thenReturn(new CardListVersion(2L, updatedAt))
+                .thenReturn(new CardListVersion(2L, updatedAt.plusNanos(1000)));
+
+        String first = cardService.getUserCardsETag(1L, null, pageable, null);
+
+        assertEquals(first, cardService.getUserCardsETag(1L, null, pageable, null));
+        assertNotEquals(first, cardService.getUserCardsETag(1L, null, pageable, null));
+        verifyNoInteractions(cryptoUtil);
+    }
+
+    @Test
+    void getUserCards_WithFields_ShouldOnlyFillRequestedFieldsAndDecryptMissingLastFour() {
+        Pageable pageable = Pageable.ofSize(10);
+        Set<CardField> fields = EnumSet.of(CardField.ID, CardField.MASKED_CARD_NUMBER);
+        Card indexed = Card.builder().id(1L).lastFour("1111").build();
+        Card notBackfilled = Card.builder().id(2L).cardNumber("encrypted2").build();
+        when(userService.getUserByLogin("testuser")).thenReturn(testUser);
+        when(cardsRepository.findProjectedByOwnerId(1L, null, fields, pageable))
+                .thenReturn(new PageImpl<>(List.of(indexed, notBackfilled)));
+        when(cryptoUtil.decrypt("encrypted2")).thenReturn("4444333322221234");
+
+        List<CardDto> cards = cardService.getUserCards("testuser", null, pageable, fields).getContent();
+
+        assertEquals("**** **** **** 1111", cards.get(0).getMaskedCardNumber());
+        assertEquals("**** **** **** 1234", cards.get(1).getMaskedCardNumber());
+        assertNull(cards.get(0).getBalance());
+        assertNull(cards.get(0).getStatus());
+        verify(cryptoUtil, times(1)).decrypt(any());
+        verifyNoInteractions(cardMapper);
+    }
+
+    @Test
+    void getBalanceETag_ForeignCard_ShouldThrowForbidden() {
+        UserDto user = UserDto.builder().id(1L).login("testuser").build();
+        when(cardsRepository.findVersionById(5L)).thenReturn(new CardVersion(5L, 2L, LocalDateTime.now()));
+
+        AppException exception = assertThrows(AppException.class, () -> cardService.getBalanceETag(5L, user));
+
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
     }
 
     @Test
     void getBalance_ValidCard_ShouldReturnBalance() {
-        when(cardsRepository.findById(1L)).thenReturn(testCard);
+        when(cardsRepository.findBalanceById(1L)).thenReturn(testCard);
         when(userService.getUserByLogin("testuser")).thenReturn(testUser);
 
         BigDecimal result = cardService.getBalance(1L, "testuser");
@@ -350,7 +501,7 @@ class CardServiceTest {
         otherUser.setId(2L);
         otherUser.setLogin("otheruser");
 
-        when(cardsRepository.findById(1L)).thenReturn(testCard);
+        when(cardsRepository.findBalanceById(1L)).thenReturn(testCard);
         when(userService.getUserByLogin("otheruser")).thenReturn(otherUser);
 
         AppException exception = assertThrows(AppException.class, () ->
@@ -359,4 +510,130 @@ class CardServiceTest {
         assertEquals("Card does not belong to the user", exception.getMessage());
         assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
     }
+
+    @Test
+    void getBalance_IndexedForeignCard_ShouldThrowWithoutLoadingCard() {
+        User otherUser = new User();
+        otherUser.setId(2L);
+
+        when(userService.getUserByLogin("otheruser")).thenReturn(otherUser);
+        when(cardOwnershipIndex.ownerOf(1L)).thenReturn(1L);
+
+        AppException exception = assertThrows(AppException.class, () ->
+                cardService.getBalance(1L, "otheruser"));
+
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+        verify(cardsRepository, never()).findBalanceById(any());
+    }
+
+    @Test
+    void blockCards_ByCardIds_ShouldUpdateNonBlockedCards() {
+        BulkCardStatusRequest request = BulkCardStatusRequest.builder()
+                .cardIds(List.of(1L, 2L, 2L))
+                .build();
+
+        when(cardsRepository.updateStatusByIds(List.of(1L, 2L),
+                EnumSet.of(CardStatus.ACTIVE), CardStatus.BLOCKED, null, null))
+                .thenReturn(2);
+        when(cardsRepository.updateStatusByIds(List.of(1L, 2L),
+                EnumSet.of(CardStatus.EXPIRED), CardStatus.BLOCKED, null, null))
+                .thenReturn(1);
+
+        BulkUpdateResult result = cardService.blockCards(request);
+
+        assertEquals(3, result.getAffected());
+        verify(statisticsService).cardStatusChanged(CardStatus.ACTIVE, CardStatus.BLOCKED, 2);
+        verify(statisticsService).cardStatusChanged(CardStatus.EXPIRED, CardStatus.BLOCKED, 1);
+    }
+
+    @Test
+    void activateCards_ByOwnerIds_ShouldUpdateOnlyBlockedCards() {
+        LocalDate expiryFrom = LocalDate.now();
+        BulkCardStatusRequest request = BulkCardStatusRequest.builder()
+                .ownerIds(List.of(1L))
+                .expiryFrom(expiryFrom)
+                .build();
+
+        when(cardsRepository.updateStatusByOwnerIds(List.of(1L),
+                EnumSet.of(CardStatus.BLOCKED), CardStatus.ACTIVE, expiryFrom, null))
+                .thenReturn(5);
+
+        BulkUpdateResult result = cardService.activateCards(request);
+
+        assertEquals(5, result.getAffected());
+    }
+
+    @Test
+    void blockCards_ByStatusFilter_ShouldUpdateMatchingCards() {
+        BulkCardStatusRequest request = BulkCardStatusRequest.builder()
+                .status(CardStatus.EXPIRED)
+                .build();
+
+        when(cardsRepository.findMinId()).thenReturn(1L);
+        when(cardsRepository.findMaxId()).thenReturn(10L);
+        when(cardsRepository.updateStatusInIdRange(1L, 1000L, EnumSet.of(CardStatus.EXPIRED), CardStatus.BLOCKED,
+                null, null))
+                .thenReturn(3);
+
+        BulkUpdateResult result = cardService.blockCards(request);
+
+        assertEquals(3, result.getAffected());
+    }
+
+    @Test
+    void blockCards_ChunkFails_ShouldKeepCommittedChunksAndReportPartialProgress() {
+        ReflectionTestUtils.setField(cardService, "bulkChunkSize", 2);
+        BulkCardStatusRequest request = BulkCardStatusRequest.builder()
+                .cardIds(List.of(1L, 2L, 3L, 4L, 5L))
+                .status(CardStatus.ACTIVE)
+                .build();
+        when(cardsRepository.updateStatusByIds(List.of(1L, 2L), EnumSet.of(CardStatus.ACTIVE), CardStatus.BLOCKED,
+                null, null)).thenReturn(2);
+        when(cardsRepository.updateStatusByIds(List.of(3L, 4L), EnumSet.of(CardStatus.ACTIVE), CardStatus.BLOCKED,
+                null, null)).thenThrow(new PessimisticLockingFailureException("lock timeout"));
+
+        BulkUpdateResult result = cardService.blockCards(request);
+
+        assertEquals(2, result.getAffected());
+        assertEquals(1, result.getCommittedChunks());
+        assertFalse(result.isCompleted());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(cardsRepository, never()).updateStatusByIds(eq(List.of(5L)), any(), any(), any(), any());
+    }
+
+    @Test
+    void activateCards_ExpiredStatusFilter_ShouldNotTouchRepository() {
+        BulkCardStatusRequest request = BulkCardStatusRequest.builder()
+                .status(CardStatus.EXPIRED)
+                .build();
+
+        BulkUpdateResult result = cardService.activateCards(request);
+
+        assertEquals(0, result.getAffected());
+        verify(cardsRepository, never()).updateStatusInIdRange(anyLong(), anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void blockCards_CardIdsAndOwnerIds_ShouldThrowException() {
+        BulkCardStatusRequest request = BulkCardStatusRequest.builder()
+                .cardIds(List.of(1L))
+                .ownerIds(List.of(1L))
+                .build();
+
+        AppException exception = assertThrows(AppException.class, () ->
+                cardService.blockCards(request));
+
+        assertEquals("Specify either card ids or owner ids, not both", exception.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void blockCards_WithoutFilter_ShouldThrowException() {
+        AppException exception = assertThrows(AppException.class, () ->
+                cardService.blockCards(new BulkCardStatusRequest()));
+
+        assertEquals("At least one filter must be specified", exception.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verify(cardsRepository, never()).updateStatusInIdRange(anyLong(), anyLong(), any(), eq(CardStatus.BLOCKED), any(), any());
+    }
 }
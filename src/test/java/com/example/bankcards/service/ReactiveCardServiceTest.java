@@ -0,0 +1,119 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.exception.AppException;
+import com.example.bankcards.mapper.CardMapper;
+import com.example.bankcards.repository.reactive.ReactiveCardsRepository;
+import com.example.bankcards.util.CardNumberCryptoUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCardServiceTest {
+
+    @Mock
+    private ReactiveCardsRepository cardsRepository;
+
+    @Mock
+    private CardMapper cardMapper;
+
+    @Mock
+    private CardNumberCryptoUtil cryptoUtil;
+
+    @InjectMocks
+    private ReactiveCardService cardService;
+
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        user = UserDto.builder().id(1L).login("testuser").build();
+    }
+
+    private Card card(Long id, String lastFour, Long ownerId) {
+        return Card.builder()
+                .id(id)
+                .cardNumber("encrypted" + id)
+                .lastFour(lastFour)
+                .status(CardStatus.ACTIVE)
+                .balance(BigDecimal.TEN)
+                .owner(User.builder().id(ownerId).build())
+                .build();
+    }
+
+    @Test
+    void getUserCards_ShouldMaskFromLastFourAndDecryptOnlyMissing() {
+        when(cardsRepository.findByOwnerId(1L, null, 20L, 10))
+                .thenReturn(Flux.just(card(1L, "4444", 1L), card(2L, null, 1L)));
+        when(cardMapper.toDto(any(Card.class))).thenAnswer(invocation -> CardDto.builder()
+                .id(invocation.<Card>getArgument(0).getId())
+                .build());
+        when(cryptoUtil.decrypt("encrypted2")).thenReturn("1111222233335555");
+
+        List<CardDto> cards = cardService.getUserCards(user, null, 2, 10).collectList().block();
+
+        assertEquals(List.of("**** **** **** 4444", "**** **** **** 5555"),
+                cards.stream().map(CardDto::getMaskedCardNumber).toList());
+        verify(cryptoUtil, never()).decrypt("encrypted1");
+    }
+
+    @Test
+    void searchByLastFourDigits_ShouldDropDecryptedMismatches() {
+        when(cardsRepository.findByOwnerIdAndLastFour(1L, "5555"))
+                .thenReturn(Flux.just(card(1L, "5555", 1L), card(2L, null, 1L)));
+        when(cardMapper.toDto(any(Card.class))).thenAnswer(invocation -> CardDto.builder()
+                .id(invocation.<Card>getArgument(0).getId())
+                .build());
+        when(cryptoUtil.decrypt("encrypted2")).thenReturn("1111222233334444");
+
+        List<CardDto> cards = cardService.getUserCardsByLastFourDigits(user, "5555").collectList().block();
+
+        assertEquals(1, cards.size());
+        assertEquals(1L, cards.get(0).getId());
+    }
+
+    @Test
+    void searchByLastFourDigits_ShouldRejectInvalidDigitsBeforeQuerying() {
+        AppException exception = assertThrows(AppException.class,
+                () -> cardService.getUserCardsByLastFourDigits(user, "12a4"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(cardsRepository);
+    }
+
+    @Test
+    void getBalance_ShouldRejectForeignCard() {
+        when(cardsRepository.findById(5L)).thenReturn(Mono.just(card(5L, "1234", 2L)));
+
+        AppException exception = assertThrows(AppException.class, () -> cardService.getBalance(5L, user).block());
+
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+    }
+
+    @Test
+    void getBalance_ShouldReturnNotFoundForMissingCard() {
+        when(cardsRepository.findById(5L)).thenReturn(Mono.empty());
+
+        AppException exception = assertThrows(AppException.class, () -> cardService.getBalance(5L, user).block());
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.AdminStatisticsDto;
+import com.example.bankcards.dto.card.CardStatusTotals;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.repository.CardsRepository;
+import com.example.bankcards.repository.StatCounterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticsServiceTest {
+
+    @Mock
+    private StatCounterRepository statCounterRepository;
+
+    @Mock
+    private CardsRepository cardsRepository;
+
+    @InjectMocks
+    private StatisticsService statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statisticsService, "counterStripes", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(statisticsService);
+    }
+
+    @Test
+    void getStatistics_ShouldMapCounterTotals() {
+        when(statCounterRepository.findTotals()).thenReturn(Map.of(
+                "cards.count.ACTIVE", new BigDecimal("3"),
+                "cards.count.BLOCKED", BigDecimal.ONE,
+                "cards.balance", new BigDecimal("150.50"),
+                "users.active", new BigDecimal("5"),
+                "users.banned", new BigDecimal("2")));
+
+        AdminStatisticsDto statistics = statisticsService.getStatistics();
+
+        assertEquals(3L, statistics.getCardsByStatus().get(CardStatus.ACTIVE));
+        assertEquals(0L, statistics.getCardsByStatus().get(CardStatus.EXPIRED));
+        assertEquals(4, statistics.getTotalCards());
+        assertEquals(new BigDecimal("150.50"), statistics.getTotalBalance());
+        assertEquals(5, statistics.getActiveUsers());
+        assertEquals(2, statistics.getBannedUsers());
+    }
+
+    @Test
+    void cardStatusChanged_WithoutTransaction_ShouldIncrementImmediately() {
+        statisticsService.cardStatusChanged(CardStatus.ACTIVE, CardStatus.BLOCKED, 2);
+
+        verify(statCounterRepository).increment(eq(Map.of("cards.count.ACTIVE", BigDecimal.valueOf(-2))), anyShort());
+        verify(statCounterRepository).increment(eq(Map.of("cards.count.BLOCKED", BigDecimal.valueOf(2))), anyShort());
+    }
+
+    @Test
+    void record_InTransaction_ShouldMergeDeltasAndFlushBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        Card card = Card.builder().status(CardStatus.ACTIVE).balance(new BigDecimal("10.00")).build();
+
+        statisticsService.cardCreated(card);
+        statisticsService.cardStatusChanged(CardStatus.ACTIVE, CardStatus.BLOCKED, 1);
+        verify(statCounterRepository, never()).increment(anyMap(), anyShort());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+
+        verify(statCounterRepository).increment(eq(Map.of(
+                "cards.balance", new BigDecimal("10.00"),
+                "cards.count.BLOCKED", BigDecimal.ONE)), anyShort());
+    }
+
+    @Test
+    void userDeleted_ShouldSubtractUserAndCardTotals() {
+        User user = new User();
+        user.setId(1L);
+        user.setBanned(true);
+        when(cardsRepository.findStatusTotalsByOwnerId(1L))
+                .thenReturn(List.of(new CardStatusTotals(CardStatus.ACTIVE, 2L, new BigDecimal("30.00"))));
+
+        statisticsService.userDeleted(user);
+
+        verify(statCounterRepository).increment(eq(Map.of("users.banned", BigDecimal.ONE.negate())), anyShort());
+        verify(statCounterRepository).increment(eq(Map.of("cards.count.ACTIVE", BigDecimal.valueOf(-2))), anyShort());
+        verify(statCounterRepository).increment(eq(Map.of("cards.balance", new BigDecimal("-30.00"))), anyShort());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.BulkUpdateResult;
 import com.example.bankcards.dto.UserDto;
 import com.example.bankcards.dto.auth.CredentialsDto;
 import com.example.bankcards.dto.auth.SignUpDto;
@@ -7,7 +8,9 @@ import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.UserRole;
 import com.example.bankcards.exception.AppException;
 import com.example.bankcards.mapper.UserMapper;
+import com.example.bankcards.repository.CardsRepository;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.cache.CacheInvalidationBus;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -39,6 +42,18 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private StatisticsService statisticsService;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private CardsRepository cardsRepository;
+
+    @Mock
+    private CardOwnershipIndex cardOwnershipIndex;
+
     @InjectMocks
     private UserService userService;
 
@@ -202,16 +217,48 @@ class UserServiceTest {
 
     @Test
     void deleteUser_ExistingUser_ShouldDeleteUser() {
+        User user = new User();
+        user.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(user);
+        when(cardsRepository.findIdsByOwnerId(1L)).thenReturn(List.of(10L, 11L));
+
         userService.deleteUser(1L);
 
+        verify(statisticsService).userDeleted(user);
         verify(userRepository).deleteById(1L);
+        verify(cardOwnershipIndex).remove(10L);
+        verify(cardOwnershipIndex).remove(11L);
+        verify(cacheInvalidationBus).usersChanged(List.of(1L));
+        verify(cacheInvalidationBus).cardsDeleted(List.of(10L, 11L));
     }
 
     @Test
     void setBanned_ShouldUpdateBannedStatus() {
+        when(userRepository.updateBannedStatus(1L, true)).thenReturn(true);
+
         userService.setBanned(1L, true);
 
         verify(userRepository).updateBannedStatus(1L, true);
+        verify(cacheInvalidationBus).usersChanged(List.of(1L));
+    }
+
+    @Test
+    void setBanned_Unchanged_ShouldNotInvalidate() {
+        userService.setBanned(1L, true);
+
+        verifyNoInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    void setBanned_BulkIds_ShouldReturnAffectedCount() {
+        when(userRepository.updateBannedStatusByIds(List.of(1L, 2L), true)).thenReturn(2);
+
+        BulkUpdateResult result = userService.setBanned(List.of(1L, 2L, 1L), true);
+
+        assertEquals(2, result.getAffected());
+        verify(userRepository).updateBannedStatusByIds(List.of(1L, 2L), true);
+        verify(statisticsService).userBanChanged(true, 2);
+        verify(cacheInvalidationBus).usersChanged(List.of(1L, 2L));
     }
 
     @Test
@@ -0,0 +1,92 @@
+package com.example.bankcards.service.audit;
+
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.exception.AppException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditAspectTest {
+
+    @Mock
+    private AuditLog auditLog;
+
+    private AuditedTarget target;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new AuditedTarget());
+        factory.addAspect(new AuditAspect(auditLog));
+        target = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void audited_Success_ShouldPublishOkWithPrincipalAndArguments() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                UserDto.builder().login("admin").build(), null, List.of()));
+
+        target.block(42L, true);
+
+        verify(auditLog).publish("admin", "card.block", "42, true", "OK");
+    }
+
+    @Test
+    void audited_AppException_ShouldPublishRejectionAndRethrow() {
+        AppException exception = assertThrows(AppException.class, () -> target.reject(7L));
+
+        assertEquals("Insufficient funds", exception.getMessage());
+        verify(auditLog).publish("system", "card.transfer", "7", "REJECTED 400: Insufficient funds");
+    }
+
+    @Test
+    void audited_UnexpectedException_ShouldPublishFailure() {
+        assertThrows(IllegalStateException.class, () -> target.fail());
+
+        verify(auditLog).publish("system", "user.delete", "", "FAILED IllegalStateException");
+    }
+
+    @Test
+    void notAudited_ShouldNotPublish() {
+        target.read();
+
+        verifyNoInteractions(auditLog);
+    }
+
+    static class AuditedTarget {
+
+        @Audited("card.block")
+        public void block(Long id, boolean flag) {
+        }
+
+        @Audited("card.transfer")
+        public void reject(Long id) {
+            throw new AppException("Insufficient funds", HttpStatus.BAD_REQUEST);
+        }
+
+        @Audited("user.delete")
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+
+        public void read() {
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.bankcards.service.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void offer_WhenFull_ShouldRejectUntilDrained() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(event("a" + i)));
+        }
+
+        assertFalse(buffer.offer(event("overflow")));
+
+        List<AuditEvent> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertEquals(List.of("a0", "a1"), drained.stream().map(AuditEvent::actor).toList());
+        assertTrue(buffer.offer(event("a4")));
+        assertEquals(3, buffer.drainTo(drained, 10));
+        assertEquals(List.of("a0", "a1", "a2", "a3", "a4"), drained.stream().map(AuditEvent::actor).toList());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void constructor_NotPowerOfTwo_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(1000));
+    }
+
+    @Test
+    void offer_ManyProducers_ShouldDeliverEveryEventOnce() throws Exception {
+        int producers = 8;
+        int perProducer = 20_000;
+        AuditRingBuffer buffer = new AuditRingBuffer(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            String actor = "producer-" + p;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(new AuditEvent(0, i, actor, "test", null, "OK"))) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        Set<String> seen = new HashSet<>();
+        long[] lastTimestamp = new long[producers];
+        Arrays.fill(lastTimestamp, -1);
+        List<AuditEvent> batch = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+            buffer.drainTo(batch, 256);
+            for (AuditEvent event : batch) {
+                assertTrue(seen.add(event.actor() + "/" + event.timestamp()));
+                int producer = Integer.parseInt(event.actor().substring("producer-".length()));
+                assertTrue(event.timestamp() > lastTimestamp[producer], "per-producer order");
+                lastTimestamp[producer] = event.timestamp();
+            }
+            batch.clear();
+        }
+        executor.shutdown();
+
+        assertEquals(producers * perProducer, seen.size());
+        assertTrue(buffer.isEmpty());
+    }
+
+    private static AuditEvent event(String actor) {
+        return new AuditEvent(0, 0, actor, "test", null, "OK");
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.bankcards.service.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditSegmentWriterTest {
+    private static final int SEGMENT_SIZE = 32 * 1024;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void append_ShouldAssignSequencesAndReadBack() throws IOException {
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(dir, SEGMENT_SIZE, 10)) {
+            List<AuditEvent> written = writer.append(events(0, 3));
+
+            assertEquals(List.of(1L, 2L, 3L), written.stream().map(AuditEvent::sequence).toList());
+            assertEquals(3, writer.lastSequence());
+        }
+
+        List<AuditEvent> read = readAll();
+        assertEquals(3, read.size());
+        assertEquals(new AuditEvent(2, 1001, "user-1", "card.transfer", "target-1", "OK"), read.get(1));
+    }
+
+    @Test
+    void append_ShouldRollSegmentsAndPruneOldest() throws IOException {
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(dir, SEGMENT_SIZE, 3)) {
+            for (int i = 0; i < 20; i++) {
+                writer.append(events(i * 100, 100));
+            }
+        }
+
+        List<Path> segments = AuditRecords.segments(dir);
+        assertEquals(3, segments.size());
+        List<AuditEvent> read = readAll();
+        assertEquals(2000, read.get(read.size() - 1).sequence());
+        for (int i = 1; i < read.size(); i++) {
+            assertEquals(read.get(i - 1).sequence() + 1, read.get(i).sequence());
+        }
+        assertEquals(AuditRecords.segmentName(read.get(0).sequence()), segments.get(0).getFileName().toString());
+    }
+
+    @Test
+    void reopen_ShouldContinueSequenceInSameSegment() throws IOException {
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(dir, SEGMENT_SIZE, 10)) {
+            writer.append(events(0, 5));
+        }
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(dir, SEGMENT_SIZE, 10)) {
+            assertEquals(5, writer.lastSequence());
+            writer.append(events(5, 2));
+        }
+
+        assertEquals(1, AuditRecords.segments(dir).size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), readAll().stream().map(AuditEvent::sequence).toList());
+    }
+
+    @Test
+    void corruptRecord_ShouldBeDetectedAndWritingContinueInNewSegment() throws IOException {
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(dir, SEGMENT_SIZE, 10)) {
+            writer.append(events(0, 3));
+        }
+        Path segment = AuditRecords.segments(dir).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            channel.read(header, 0);
+            int secondRecord = AuditRecords.HEADER_SIZE + header.flip().getInt();
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), secondRecord + AuditRecords.HEADER_SIZE + 3);
+        }
+
+        List<AuditEvent> read = new ArrayList<>();
+        AuditLogReader.Result result = AuditLogReader.read(dir, event -> true, read::add);
+        assertEquals(1, result.corruptSegments());
+        assertEquals(List.of(1L), read.stream().map(AuditEvent::sequence).toList());
+
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(dir, SEGMENT_SIZE, 10)) {
+            assertEquals(1, writer.lastSequence());
+            writer.append(events(3, 1));
+        }
+        assertEquals(2, AuditRecords.segments(dir).size());
+        assertEquals(List.of(1L, 2L), readAll().stream().map(AuditEvent::sequence).toList());
+    }
+
+    @Test
+    void longValues_ShouldBeCappedPerField() throws IOException {
+        String longTarget = "x".repeat(AuditRecords.MAX_STRING_BYTES + 100);
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(dir, SEGMENT_SIZE, 10)) {
+            writer.append(List.of(new AuditEvent(0, 1, "admin", "user.bulk-ban", longTarget, "OK")));
+        }
+
+        assertEquals(AuditRecords.MAX_STRING_BYTES, readAll().get(0).target().length());
+    }
+
+    @Test
+    void read_EmptyDirectory_ShouldFindNothing() throws IOException {
+        Files.delete(dir);
+
+        AuditLogReader.Result result = AuditLogReader.read(dir, event -> true, event -> fail());
+
+        assertEquals(new AuditLogReader.Result(0, 0, 0), result);
+    }
+
+    private List<AuditEvent> readAll() throws IOException {
+        List<AuditEvent> events = new ArrayList<>();
+        AuditLogReader.read(dir, event -> true, events::add);
+        return events;
+    }
+
+    private static List<AuditEvent> events(int from, int count) {
+        return IntStream.range(from, from + count)
+                .mapToObj(i -> new AuditEvent(0, 1000 + i, "user-" + i, "card.transfer", "target-" + i, "OK"))
+                .toList();
+    }
+}
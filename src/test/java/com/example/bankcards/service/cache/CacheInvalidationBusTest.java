@@ -0,0 +1,73 @@
+package com.example.bankcards.service.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private CacheInvalidationChannel channel;
+
+    @Mock
+    private ObjectProvider<CacheInvalidationChannel> channelProvider;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void usersChanged_WithoutTransaction_ShouldSendImmediately() {
+        when(channelProvider.getIfAvailable()).thenReturn(channel);
+
+        new CacheInvalidationBus(channelProvider).usersChanged(List.of(1L));
+
+        verify(channel).send(CacheInvalidation.Kind.USERS, List.of(1L));
+    }
+
+    @Test
+    void cardsDeleted_InTransaction_ShouldSendOnlyAfterCommit() {
+        when(channelProvider.getIfAvailable()).thenReturn(channel);
+        CacheInvalidationBus bus = new CacheInvalidationBus(channelProvider);
+        TransactionSynchronizationManager.initSynchronization();
+
+        bus.cardsDeleted(List.of(1L, 2L));
+
+        verifyNoInteractions(channel);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(channel).send(CacheInvalidation.Kind.CARDS_DELETED, List.of(1L, 2L));
+    }
+
+    @Test
+    void cardsDeleted_RolledBack_ShouldNotSend() {
+        when(channelProvider.getIfAvailable()).thenReturn(channel);
+        CacheInvalidationBus bus = new CacheInvalidationBus(channelProvider);
+        TransactionSynchronizationManager.initSynchronization();
+
+        bus.cardsDeleted(List.of(1L));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(channel);
+    }
+
+    @Test
+    void usersChanged_WithoutChannel_ShouldDoNothing() {
+        new CacheInvalidationBus(channelProvider).usersChanged(List.of(1L));
+
+        verify(channelProvider).getIfAvailable();
+    }
+}
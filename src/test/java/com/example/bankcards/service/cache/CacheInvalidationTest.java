@@ -0,0 +1,66 @@
+package com.example.bankcards.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheInvalidationTest {
+
+    @Test
+    void encode_ShouldMergeBatchPerKindAndRoundTrip() {
+        List<CacheInvalidation> batch = List.of(
+                new CacheInvalidation("node-a", 200, CacheInvalidation.Kind.USERS, List.of(1L, 2L)),
+                new CacheInvalidation("node-a", 100, CacheInvalidation.Kind.CARDS_DELETED, List.of(7L)),
+                new CacheInvalidation("node-a", 300, CacheInvalidation.Kind.USERS, List.of(2L, 3L)));
+
+        List<String> payloads = CacheInvalidation.encode("node-a", batch, 7900);
+
+        assertEquals(List.of("node-a|100|u|1,2,3", "node-a|100|d|7"), payloads);
+        CacheInvalidation users = CacheInvalidation.decode(payloads.get(0));
+        assertEquals("node-a", users.origin());
+        assertEquals(100, users.sentAt());
+        assertEquals(CacheInvalidation.Kind.USERS, users.kind());
+        assertEquals(List.of(1L, 2L, 3L), users.ids());
+    }
+
+    @Test
+    void encode_WithFlush_ShouldSendOnlyFlush() {
+        List<CacheInvalidation> batch = List.of(
+                new CacheInvalidation("node-a", 100, CacheInvalidation.Kind.CARDS_DELETED, List.of(7L)),
+                CacheInvalidation.flush("node-a", 150));
+
+        List<String> payloads = CacheInvalidation.encode("node-a", batch, 7900);
+
+        assertEquals(List.of("node-a|100|*|"), payloads);
+        CacheInvalidation flush = CacheInvalidation.decode(payloads.get(0));
+        assertEquals(CacheInvalidation.Kind.FLUSH, flush.kind());
+        assertTrue(flush.ids().isEmpty());
+    }
+
+    @Test
+    void encode_ManyIds_ShouldSplitUnderLimit() {
+        List<Long> ids = LongStream.rangeClosed(1_000_000, 1_002_000).boxed().toList();
+
+        List<String> payloads = CacheInvalidation.encode("node-a",
+                List.of(new CacheInvalidation("node-a", 1, CacheInvalidation.Kind.CARDS_DELETED, ids)), 200);
+
+        assertTrue(payloads.size() > 1);
+        List<Long> decoded = new ArrayList<>();
+        for (String payload : payloads) {
+            assertTrue(payload.length() <= 200, payload);
+            decoded.addAll(CacheInvalidation.decode(payload).ids());
+        }
+        assertEquals(ids, decoded);
+    }
+
+    @Test
+    void decode_Malformed_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> CacheInvalidation.decode("garbage"));
+        assertThrows(IllegalArgumentException.class, () -> CacheInvalidation.decode("node|1|x|1"));
+        assertThrows(NumberFormatException.class, () -> CacheInvalidation.decode("node|1|u|a,b"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.bankcards.service.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tryAcquire_ShouldReserveCapacityForCriticalRequests() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 5; i++) {
+            assertNotEquals(AdaptiveConcurrencyLimiter.REJECTED, limiter.tryAcquire(RequestPriority.SHEDDABLE));
+        }
+        assertEquals(AdaptiveConcurrencyLimiter.REJECTED, limiter.tryAcquire(RequestPriority.SHEDDABLE));
+        for (int i = 0; i < 3; i++) {
+            assertNotEquals(AdaptiveConcurrencyLimiter.REJECTED, limiter.tryAcquire(RequestPriority.NORMAL));
+        }
+        assertEquals(AdaptiveConcurrencyLimiter.REJECTED, limiter.tryAcquire(RequestPriority.NORMAL));
+        assertEquals(9, limiter.tryAcquire(RequestPriority.CRITICAL));
+        assertEquals(10, limiter.tryAcquire(RequestPriority.CRITICAL));
+        assertEquals(AdaptiveConcurrencyLimiter.REJECTED, limiter.tryAcquire(RequestPriority.CRITICAL));
+
+        assertEquals(1, meterRegistry.counter("bankcards.concurrency.rejected", "priority", "sheddable").count());
+        assertEquals(1, meterRegistry.counter("bankcards.concurrency.rejected", "priority", "critical").count());
+    }
+
+    @Test
+    void release_ShouldFreeTheSlot() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+        int inFlight = limiter.tryAcquire(RequestPriority.SHEDDABLE);
+        limiter.tryAcquire(RequestPriority.SHEDDABLE);
+        assertEquals(AdaptiveConcurrencyLimiter.REJECTED, limiter.tryAcquire(RequestPriority.SHEDDABLE));
+
+        limiter.release(RequestPriority.SHEDDABLE, inFlight, FAST);
+
+        assertEquals(1, limiter.getInFlight());
+        assertNotEquals(AdaptiveConcurrencyLimiter.REJECTED, limiter.tryAcquire(RequestPriority.SHEDDABLE));
+    }
+
+    @Test
+    void limit_ShouldGrowUnderSteadyLatencyWhenSaturated() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        for (int i = 0; i < 50; i++) {
+            sample(limiter, 20, FAST);
+        }
+
+        assertTrue(limiter.getLimit() > 20, "limit " + limiter.getLimit());
+        assertTrue(limiter.getLimit() <= 200);
+    }
+
+    @Test
+    void limit_ShouldNotGrowWhenMostlyIdle() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        for (int i = 0; i < 50; i++) {
+            sample(limiter, 1, FAST);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void limit_ShouldShrinkWhenLatencyRisesAndRecoverAfterwards() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50);
+        for (int i = 0; i < 100; i++) {
+            sample(limiter, 50, FAST);
+        }
+        int before = limiter.getLimit();
+
+        for (int i = 0; i < 30; i++) {
+            sample(limiter, limiter.getLimit(), SLOW);
+        }
+        int overloaded = limiter.getLimit();
+        assertTrue(overloaded < before / 2, before + " -> " + overloaded);
+        assertTrue(overloaded >= 4);
+
+        for (int i = 0; i < 100; i++) {
+            sample(limiter, limiter.getLimit(), FAST);
+        }
+        assertTrue(limiter.getLimit() > overloaded, overloaded + " -> " + limiter.getLimit());
+    }
+
+    @Test
+    void limit_SlowSheddableRequests_ShouldNotShrinkTheCriticalShare() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50);
+        AdaptiveConcurrencyLimiter untouched = limiter(50);
+        for (int i = 0; i < 100; i++) {
+            sample(limiter, 50, FAST);
+            sample(untouched, 50, FAST);
+        }
+        int before = limiter.getLimit();
+
+        for (int i = 0; i < 30; i++) {
+            sample(limiter, RequestPriority.SHEDDABLE, limiter.getLimit(), SLOW);
+        }
+        assertEquals(before, limiter.getLimit());
+
+        sample(limiter, limiter.getLimit(), FAST);
+        sample(untouched, untouched.getLimit(), FAST);
+        assertEquals(untouched.getLimit(), limiter.getLimit());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, Math.min(4, initialLimit), 200, 1.5, 0.2, 0.8, 0.5,
+                meterRegistry);
+    }
+
+    private static void sample(AdaptiveConcurrencyLimiter limiter, int inFlightAtStart, long latencyNanos) {
+        sample(limiter, RequestPriority.CRITICAL, inFlightAtStart, latencyNanos);
+    }
+
+    private static void sample(AdaptiveConcurrencyLimiter limiter, RequestPriority priority, int inFlightAtStart,
+                               long latencyNanos) {
+        limiter.tryAcquire(priority);
+        limiter.release(priority, inFlightAtStart, latencyNanos);
+    }
+}
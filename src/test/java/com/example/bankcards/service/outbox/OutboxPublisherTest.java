@@ -0,0 +1,202 @@
+package com.example.bankcards.service.outbox;
+
+import com.example.bankcards.dto.card.CardDto;
+import com.example.bankcards.dto.card.CreateCardRequest;
+import com.example.bankcards.dto.card.TransferRequest;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.UserRole;
+import com.example.bankcards.exception.AppException;
+import com.example.bankcards.repository.OutboxRepository;
+import com.example.bankcards.repository.StatCounterRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.repository.shard.ShardRouter;
+import com.example.bankcards.service.CardService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.outbox.enabled=true",
+        "app.outbox.sink.type=test",
+        "app.outbox.poll-interval-ms=3600000"})
+@ActiveProfiles("test")
+class OutboxPublisherTest {
+
+    @MockBean
+    private StatCounterRepository statCounterRepository;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private CapturingSink sink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        outboxPublisher.publishPending();
+        sink.messages.clear();
+        sink.failing = false;
+        owner = userRepository.save(User.builder().login("outbox-" + System.nanoTime()).password("x")
+                .role(UserRole.USER).build());
+    }
+
+    @Test
+    void publishPending_ShouldDeliverEventsPerCardInCommitOrderAndDeleteThem() {
+        CardDto first = createCard();
+        CardDto second = createCard();
+        cardService.transferBetweenOwnCards(new TransferRequest(first.getId(), second.getId(), BigDecimal.TEN),
+                owner.getLogin());
+        cardService.blockCard(first.getId());
+
+        assertEquals(5, outboxPublisher.publishPending());
+
+        assertEquals(List.of(OutboxService.CARD_CREATED, OutboxService.CARD_DEBITED, OutboxService.CARD_BLOCKED),
+                typesOf(first.getId()));
+        assertEquals(List.of(OutboxService.CARD_CREATED, OutboxService.CARD_CREDITED), typesOf(second.getId()));
+        OutboxMessage debit = sink.messages.stream()
+                .filter(message -> message.type().equals(OutboxService.CARD_DEBITED))
+                .findFirst().orElseThrow();
+        assertTrue(debit.payload().contains("\"amount\":10"), debit.payload());
+        assertTrue(debit.payload().contains("\"counterpartCardId\":" + second.getId()), debit.payload());
+        assertEquals(0, pendingEvents());
+    }
+
+    @Test
+    void rolledBackTransfer_ShouldNotRecordEvents() {
+        CardDto first = createCard();
+        CardDto second = createCard();
+        outboxPublisher.publishPending();
+        sink.messages.clear();
+
+        assertThrows(AppException.class, () -> cardService.transferBetweenOwnCards(
+                new TransferRequest(first.getId(), second.getId(), BigDecimal.valueOf(1000)), owner.getLogin()));
+
+        assertEquals(0, pendingEvents());
+    }
+
+    @Test
+    void failingSink_ShouldKeepEventsForNextRun() {
+        CardDto card = createCard();
+        sink.failing = true;
+
+        assertEquals(0, outboxPublisher.publishPending());
+        assertEquals(1, pendingEvents());
+
+        sink.failing = false;
+        assertEquals(1, outboxPublisher.publishPending());
+        assertEquals(List.of(OutboxService.CARD_CREATED), typesOf(card.getId()));
+    }
+
+    @Test
+    void publishBatch_PartitionHeldByAnotherPublisher_ShouldSkipWithoutWaiting() throws Exception {
+        CardDto card = createCard();
+        int partition = (int) (card.getId() % 16);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(outboxRepository.tryLockPartition(partition));
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        long startedAt = System.nanoTime();
+        assertEquals(0, outboxPublisher.publishBatch(partition));
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt) < 2);
+
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+        assertEquals(1, outboxPublisher.publishBatch(partition));
+    }
+
+    @Test
+    void publishPending_EventsFromOtherPartitionCount_ShouldBeRepartitionedOnStart() {
+        CardDto card = createCard();
+        jdbcTemplate.update("UPDATE outbox_events SET partition_id = 99 WHERE aggregate_id = ?", card.getId());
+        OutboxPublisher restarted = new OutboxPublisher(outboxRepository, shardRouter, transactionTemplate, sink,
+                new SimpleMeterRegistry(), 16, 200);
+
+        assertEquals(1, restarted.publishPending());
+        assertEquals(List.of(OutboxService.CARD_CREATED), typesOf(card.getId()));
+    }
+
+    private CardDto createCard() {
+        return cardService.createCard(new CreateCardRequest(LocalDate.now().plusYears(3), BigDecimal.valueOf(100),
+                owner.getId()));
+    }
+
+    private List<String> typesOf(Long cardId) {
+        return sink.messages.stream()
+                .filter(message -> message.cardId().equals(cardId))
+                .map(OutboxMessage::type)
+                .toList();
+    }
+
+    private long pendingEvents() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Long.class);
+    }
+
+    static class CapturingSink implements OutboxSink {
+        final List<OutboxMessage> messages = new ArrayList<>();
+        volatile boolean failing;
+
+        @Override
+        public synchronized void publish(List<OutboxMessage> batch) {
+            if (failing) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            messages.addAll(batch);
+        }
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        CapturingSink capturingSink() {
+            return new CapturingSink();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.bankcards.service.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RateLimiterTest {
+    private static final Map<RateLimitClass, BucketSpec> SPECS = Map.of(
+            RateLimitClass.LOGIN, new BucketSpec(3, Duration.ofSeconds(1)),
+            RateLimitClass.LOGIN_ACCOUNT, new BucketSpec(2, Duration.ofMinutes(1)),
+            RateLimitClass.TRANSFER, new BucketSpec(1, Duration.ofMillis(100)),
+            RateLimitClass.SEARCH, new BucketSpec(1, Duration.ofSeconds(2)));
+
+    private final AtomicLong clock = new AtomicLong(-5_000_000_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new RateLimiter(SPECS, 100, null, meterRegistry, clock::get);
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenRejectUntilRefill() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.LOGIN, "10.0.0.1"));
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(RateLimitClass.LOGIN, "10.0.0.1");
+
+        assertEquals(TimeUnit.SECONDS.toNanos(1), waitNanos);
+        advance(Duration.ofMillis(999));
+        assertNotEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.LOGIN, "10.0.0.1"));
+        advance(Duration.ofMillis(1));
+        assertEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.LOGIN, "10.0.0.1"));
+        assertEquals(2, meterRegistry.counter("bankcards.ratelimit.rejected", "class", "login").count());
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepKeysAndClassesApart() {
+        assertEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.SEARCH, "alice"));
+        assertNotEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.SEARCH, "alice"));
+
+        assertEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.SEARCH, "bob"));
+        assertEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.TRANSFER, "alice"));
+    }
+
+    @Test
+    void evictIdle_ShouldDropOnlyRefilledBuckets() {
+        rateLimiter.tryAcquire(RateLimitClass.TRANSFER, "alice");
+        rateLimiter.tryAcquire(RateLimitClass.SEARCH, "alice");
+        advance(Duration.ofMillis(100));
+
+        assertEquals(1, rateLimiter.evictIdle());
+        assertEquals(1, rateLimiter.size());
+        assertNotEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.SEARCH, "alice"));
+    }
+
+    @Test
+    void tryAcquire_OverMaxKeys_ShouldShareOverflowBucket() {
+        rateLimiter = new RateLimiter(SPECS, 1, null, meterRegistry, clock::get);
+        assertEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.SEARCH, "alice"));
+
+        assertEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.SEARCH, "bob"));
+        assertNotEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.SEARCH, "carol"));
+        assertEquals(2, rateLimiter.size());
+    }
+
+    @Test
+    void tryAcquire_WithSharedStore_ShouldCheckItAfterLocalBucket() {
+        SharedRateLimitStore store = mock(SharedRateLimitStore.class);
+        when(store.tryAcquire(eq("login:alice"), any())).thenReturn(RateLimiter.ALLOWED, 42L);
+        rateLimiter = new RateLimiter(SPECS, 100, store, meterRegistry, clock::get);
+
+        assertEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.LOGIN, "alice"));
+        assertEquals(42L, rateLimiter.tryAcquire(RateLimitClass.LOGIN, "alice"));
+        rateLimiter.tryAcquire(RateLimitClass.LOGIN, "alice");
+        assertNotEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.LOGIN, "alice"));
+
+        verify(store, times(3)).tryAcquire(eq("login:alice"), any());
+    }
+
+    @Test
+    void tryAcquire_SharedStoreDown_ShouldFallBackToLocalDecision() {
+        SharedRateLimitStore store = mock(SharedRateLimitStore.class);
+        when(store.tryAcquire(any(), any())).thenThrow(new DataAccessResourceFailureException("down"));
+        rateLimiter = new RateLimiter(SPECS, 100, store, meterRegistry, clock::get);
+
+        assertEquals(RateLimiter.ALLOWED, rateLimiter.tryAcquire(RateLimitClass.SEARCH, "alice"));
+        assertEquals(1, meterRegistry.counter("bankcards.ratelimit.shared.errors").count());
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.bankcards.support;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+
+import java.sql.SQLException;
+
+/**
+ * H2 reports a row lock timeout as {@code SQLTimeoutException}, which Hikari treats as a broken connection and
+ * evicts before the transaction can roll back. PostgreSQL's {@code lock_not_available} keeps the connection, so the
+ * test database is made to do the same.
+ */
+public class H2LockTimeoutOverride implements SQLExceptionOverride {
+    private static final int LOCK_TIMEOUT = 50200;
+
+    @java.lang.Override
+    public Override adjudicate(SQLException e) {
+        return e.getErrorCode() == LOCK_TIMEOUT ? Override.DO_NOT_EVICT : Override.CONTINUE_EVICT;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.bankcards.support;
+
+import com.example.bankcards.config.datasource.SqlStatementCounter;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Query budgets for tests running against a real datasource with {@code app.sql.statement-count.enabled}: the action
+ * fails the test when it executes more statements than allowed, listing what ran so N+1 patterns are easy to spot.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {}
+
+    public static void assertMaxStatements(int max, Executable action) {
+        assertMaxStatements(max, () -> {
+            action.execute();
+            return null;
+        });
+    }
+
+    public static <T> T assertMaxStatements(int max, ThrowingSupplier<T> action) {
+        try (SqlStatementCounter.Recording recording = SqlStatementCounter.start(true)) {
+            T result;
+            try {
+                result = action.get();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                return fail(t);
+            }
+            if (recording.count() > max) {
+                fail("Expected at most " + max + " SQL statements, but " + recording.count() + " were executed:\n  "
+                        + String.join("\n  ", recording.statements()));
+            }
+            return result;
+        }
+    }
+}